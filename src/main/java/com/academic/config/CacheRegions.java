@@ -0,0 +1,21 @@
+package com.academic.config;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Hibernate second-level cache region names.
+ * Each region is sized and given a TTL in application.conf (Caffeine JCache configuration).
+ */
+@UtilityClass
+public class CacheRegions {
+
+    public static final String SUBJECT = "subject";
+
+    public static final String SUBJECT_QUERIES = "subject-queries";
+
+    public static final String COMMON_MASTER = "common-master";
+
+    public static final String[] ENTITY_REGIONS = {SUBJECT, COMMON_MASTER};
+
+    public static final String[] QUERY_REGIONS = {SUBJECT_QUERIES};
+}
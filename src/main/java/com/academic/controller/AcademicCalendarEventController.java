@@ -1,27 +1,38 @@
 package com.academic.controller;
 
+import com.academic.dto.ResourceVersion;
 import com.academic.request.AcademicCalendarEventRequest;
 import com.academic.response.AcademicCalendarEventResponse;
+import com.academic.response.CalendarViewResponse;
+import com.academic.response.EventHeatmapResponse;
+import com.academic.response.WorkingDayOffsetResponse;
+import com.academic.response.WorkingDaysResponse;
 import com.academic.response.StandardResponse;
 import com.academic.service.AcademicCalendarEventService;
+import com.academic.service.RequestCoalescer;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/academic-module")
 public class AcademicCalendarEventController {
 
     private final AcademicCalendarEventService service;
+    private final RequestCoalescer coalescer;
 
-    public AcademicCalendarEventController(AcademicCalendarEventService service) {
+    public AcademicCalendarEventController(AcademicCalendarEventService service, RequestCoalescer coalescer) {
         this.service = service;
+        this.coalescer = coalescer;
     }
 
     // --- C - CREATE: POST /api/v1/academic-calendar/events ---
@@ -39,20 +50,96 @@ public class AcademicCalendarEventController {
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ) {
-        Page<AcademicCalendarEventResponse> response = service.findAll(search, type, status, date, page, size);
+        Page<AcademicCalendarEventResponse> response = coalescer.execute(
+                RequestCoalescer.key("events", search, type, status, date, from, to, page, size),
+                () -> service.findAll(search, type, status, date, from, to, page, size));
         return ResponseEntity.ok(
                 StandardResponse.success(response, "Academic events fetched successfully")
         );
     }
 
 
+    // Month (default) or week (Monday to Sunday) containing the date, every day with its events
+    @GetMapping("/getCalendarView")
+    public ResponseEntity<StandardResponse<CalendarViewResponse>> getCalendarView(
+            @RequestParam(defaultValue = "MONTH") String view,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long classId
+    ) {
+        CalendarViewResponse response = coalescer.execute(
+                RequestCoalescer.key("calendarView", view, date, classId),
+                () -> service.getCalendarView(view, date, classId));
+        return ResponseEntity.ok(
+                StandardResponse.success(response, "Calendar view fetched successfully")
+        );
+    }
+
+    @GetMapping("/getEventHeatmap")
+    public ResponseEntity<StandardResponse<EventHeatmapResponse>> getHeatmap(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long classId
+    ) {
+        EventHeatmapResponse response = coalescer.execute(
+                RequestCoalescer.key("eventHeatmap", from, to, classId),
+                () -> service.getHeatmap(from, to, classId));
+        return ResponseEntity.ok(
+                StandardResponse.success(response, "Event heatmap fetched successfully")
+        );
+    }
+
+    @GetMapping("/getWorkingDays")
+    public ResponseEntity<StandardResponse<WorkingDaysResponse>> countWorkingDays(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        WorkingDaysResponse response = service.countWorkingDays(from, to);
+        return ResponseEntity.ok(
+                StandardResponse.success(response, "Working days fetched successfully")
+        );
+    }
+
+    @GetMapping("/getWorkingDayOffset")
+    public ResponseEntity<StandardResponse<WorkingDayOffsetResponse>> addWorkingDays(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "0") int offset
+    ) {
+        WorkingDayOffsetResponse response = service.addWorkingDays(date, offset);
+        return ResponseEntity.ok(
+                StandardResponse.success(response, "Working day fetched successfully")
+        );
+    }
+
+    @GetMapping("/getClassEvents")
+    public ResponseEntity<StandardResponse<List<AcademicCalendarEventResponse>>> findByClass(
+            @RequestParam Long classId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        List<AcademicCalendarEventResponse> response = service.findByClass(classId, from, to);
+        return ResponseEntity.ok(
+                StandardResponse.success(response, "Class academic events fetched successfully")
+        );
+    }
+
+
     // --- R - READ BY ID: GET /api/v1/academic-calendar/events/{id} ---
     @GetMapping("/getEventById/{id}")
-    public ResponseEntity<StandardResponse<AcademicCalendarEventResponse>> findById(@PathVariable Long id) {
-        AcademicCalendarEventResponse response = service.findById(id);
+    public ResponseEntity<StandardResponse<AcademicCalendarEventResponse>> findById(@PathVariable Long id, WebRequest webRequest) {
+        Optional<ResourceVersion> version = coalescer.execute(
+                RequestCoalescer.key("eventVersion", id), () -> service.getVersion(id));
+        if (version.isPresent() && version.get().checkNotModified(webRequest)) {
+            return null;
+        }
+
+        // Keyed by ETag, so the body always belongs to the version whose ETag was just set
+        AcademicCalendarEventResponse response = coalescer.execute(
+                RequestCoalescer.key("event", id, version.map(ResourceVersion::eTag).orElse(null)), () -> service.findById(id));
         return ResponseEntity.ok(StandardResponse.success(response, "Academic event fetched successfully"));
     }
 
@@ -0,0 +1,34 @@
+package com.academic.controller;
+
+import com.academic.request.AcademicYearRolloverRequest;
+import com.academic.response.AcademicYearRolloverResponse;
+import com.academic.response.LogContext;
+import com.academic.response.StandardResponse;
+import com.academic.service.AcademicYearRolloverService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/academic-module")
+@RequiredArgsConstructor
+@Slf4j
+public class AcademicYearRolloverController {
+
+    private final AcademicYearRolloverService service;
+
+    /**
+     * Copy a year's timetables, teacher assignments and exam setups to a new year (dryRun=true to preview)
+     */
+    @PostMapping("/rolloverAcademicYear")
+    public ResponseEntity<StandardResponse<AcademicYearRolloverResponse>> rollover(
+            @Validated @RequestBody AcademicYearRolloverRequest request) {
+        log.info("[{}][{}] API - Rollover academic year: {} -> {}, dryRun={}", LogContext.getRequestId(),
+                LogContext.getLogId(), request.getFromAcademicYearId(), request.getToAcademicYearId(), request.getDryRun());
+        AcademicYearRolloverResponse response = service.rollover(request);
+        return ResponseEntity.ok(StandardResponse.success(response, Boolean.TRUE.equals(response.getDryRun())
+                ? "Academic year rollover preview" : "Academic year rolled over successfully"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.academic.controller;
+
+import com.academic.request.BellPeriodRequest;
+import com.academic.response.BellPeriodResponse;
+import com.academic.response.StandardResponse;
+import com.academic.service.BellPeriodService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/academic-module")
+@RequiredArgsConstructor
+@Slf4j
+public class BellPeriodController {
+
+    private final BellPeriodService service;
+
+    @PostMapping("/createBellPeriod")
+    public ResponseEntity<StandardResponse<BellPeriodResponse>> create(@Validated @RequestBody BellPeriodRequest request) {
+        BellPeriodResponse response = service.create(request);
+        return ResponseEntity.ok(StandardResponse.success(response, "Bell period created successfully"));
+    }
+
+    @PutMapping("/updateBellPeriod/{id}")
+    public ResponseEntity<StandardResponse<BellPeriodResponse>> update(@PathVariable Long id, @Validated @RequestBody BellPeriodRequest request) {
+        BellPeriodResponse response = service.update(id, request);
+        return ResponseEntity.ok(StandardResponse.success(response, "Bell period updated successfully"));
+    }
+
+    @DeleteMapping("/deleteBellPeriod/{id}")
+    public ResponseEntity<StandardResponse<Void>> delete(@PathVariable Long id) {
+        service.delete(id);
+        return ResponseEntity.ok(StandardResponse.success("Bell period deleted successfully"));
+    }
+
+    @GetMapping("/getBellPeriodById/{id}")
+    public ResponseEntity<StandardResponse<BellPeriodResponse>> getById(@PathVariable Long id) {
+        BellPeriodResponse response = service.getById(id);
+        return ResponseEntity.ok(StandardResponse.success(response, "Bell period fetched successfully"));
+    }
+
+    /**
+     * The bell schedule: all active periods ordered by start time
+     */
+    @GetMapping("/getAllBellPeriods")
+    public ResponseEntity<StandardResponse<List<BellPeriodResponse>>> getAll() {
+        List<BellPeriodResponse> response = service.getAll();
+        return ResponseEntity.ok(StandardResponse.success(response, "Bell periods fetched successfully"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.academic.controller;
+
+import com.academic.response.StandardResponse;
+import com.academic.service.CommonMasterCache;
+import com.academic.service.ListResponseCache;
+import com.academic.service.RequestCoalescer;
+import com.academic.service.SecondLevelCacheStats;
+import com.academic.service.TimetableSnapshotCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/academic-module")
+@RequiredArgsConstructor
+@Slf4j
+public class CacheStatsController {
+
+    private final CommonMasterCache commonMasterCache;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+    private final ListResponseCache listResponseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final TimetableSnapshotCache timetableSnapshotCache;
+
+    /**
+     * Hit/miss and load counters of the in-process, list-response and Hibernate second-level caches,
+     * plus executed/coalesced counts of single-flight reads
+     */
+    @GetMapping("/getCacheStats")
+    public ResponseEntity<StandardResponse<Map<String, Object>>> getCacheStats() {
+        log.info("API - Get cache stats");
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("commonMaster", commonMasterCache.stats());
+        stats.put("hibernate", secondLevelCacheStats.stats());
+        stats.put("listResponses", listResponseCache.stats());
+        stats.put("timetableSnapshots", timetableSnapshotCache.stats());
+        stats.put("coalescing", requestCoalescer.stats());
+
+        return ResponseEntity.ok(StandardResponse.success(stats, "Cache stats fetched successfully"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.academic.controller;
+
+import com.academic.dto.ResourceVersion;
+import com.academic.response.LogContext;
+import com.academic.service.CalendarFeedService;
+import com.academic.service.RequestCoalescer;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/v1/academic-module")
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarFeedController {
+
+    private static final String TEXT_CALENDAR = "text/calendar";
+
+    private final CalendarFeedService service;
+    private final RequestCoalescer coalescer;
+
+    /**
+     * iCalendar feed of a class (optionally one section) for calendar app subscriptions
+     */
+    @GetMapping("/exportClassCalendar")
+    public void exportClassCalendar(@RequestParam("classId") Long classId,
+                                    @RequestParam(value = "sectionId", required = false) Long sectionId,
+                                    @RequestParam(value = "academicYearId", required = false) Integer academicYearId,
+                                    WebRequest webRequest, HttpServletResponse httpResponse) throws IOException {
+        log.info("[{}][{}] API - Export class calendar: classId={}, sectionId={}, year={}",
+                LogContext.getRequestId(), LogContext.getLogId(), classId, sectionId, academicYearId);
+
+        // Subscribed clients poll often; an unchanged feed costs two aggregate queries and a 304
+        ResourceVersion version = coalescer.execute(
+                RequestCoalescer.key("classCalendarVersion", classId, sectionId, academicYearId),
+                () -> service.getClassCalendarVersion(classId, sectionId, academicYearId));
+        if (version.checkNotModified(webRequest)) {
+            return;
+        }
+        Writer out = calendarWriter(httpResponse, "class-" + classId + (sectionId != null ? "-" + sectionId : "") + ".ics");
+        service.writeClassCalendar(classId, sectionId, academicYearId, version, out);
+    }
+
+    /**
+     * iCalendar feed of a teacher (by name or employee id) for calendar app subscriptions
+     */
+    @GetMapping("/exportTeacherCalendar")
+    public void exportTeacherCalendar(@RequestParam("teacher") String teacher,
+                                      @RequestParam(value = "academicYearId", required = false) Integer academicYearId,
+                                      WebRequest webRequest, HttpServletResponse httpResponse) throws IOException {
+        log.info("[{}][{}] API - Export teacher calendar: {}, year={}",
+                LogContext.getRequestId(), LogContext.getLogId(), teacher, academicYearId);
+
+        ResourceVersion version = coalescer.execute(
+                RequestCoalescer.key("teacherCalendarVersion", teacher, academicYearId),
+                () -> service.getTeacherCalendarVersion(teacher, academicYearId));
+        if (version.checkNotModified(webRequest)) {
+            return;
+        }
+        service.writeTeacherCalendar(teacher, academicYearId, version, calendarWriter(httpResponse, "teacher.ics"));
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    // Events are written straight to the response as they are read; clients must revalidate before reuse
+    private static Writer calendarWriter(HttpServletResponse response, String fileName) throws IOException {
+        response.setContentType(TEXT_CALENDAR);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(fileName).build().toString());
+        return new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+    }
+}
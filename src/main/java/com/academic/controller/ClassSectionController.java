@@ -1,5 +1,6 @@
 package com.academic.controller;
 
+import com.academic.dto.ResourceVersion;
 import com.academic.request.ClassSectionRequest;
 import com.academic.response.ClassSectionResponse;
 import com.academic.response.StandardResponse;
@@ -9,8 +10,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/academic-module")
@@ -48,8 +51,14 @@ public class ClassSectionController {
 
 
     @GetMapping("/getClassConfigDetailById/{id}")
-    public ResponseEntity<StandardResponse<ClassSectionResponse>> getById(@PathVariable Long id) {
+    public ResponseEntity<StandardResponse<ClassSectionResponse>> getById(@PathVariable Long id, WebRequest webRequest) {
         log.info("API - Get ClassSection by id: {}", id);
+
+        Optional<ResourceVersion> version = service.getVersion(id);
+        if (version.isPresent() && version.get().checkNotModified(webRequest)) {
+            return null;
+        }
+
         ClassSectionResponse response = service.getById(id);
         return ResponseEntity.ok(StandardResponse.success(response, "Class section fetched successfully"));
     }
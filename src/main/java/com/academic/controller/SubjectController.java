@@ -1,6 +1,7 @@
 package com.academic.controller;
 
 
+import com.academic.dto.ResourceVersion;
 import com.academic.request.SubjectRequest;
 import com.academic.response.StandardResponse;
 import com.academic.response.SubjectResponse;
@@ -10,8 +11,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/academic-module")
@@ -43,7 +46,12 @@ public class SubjectController {
 
 
     @GetMapping("/getSubjectById/{id}")
-    public ResponseEntity<StandardResponse<SubjectResponse>> getById(@PathVariable Long id) {
+    public ResponseEntity<StandardResponse<SubjectResponse>> getById(@PathVariable Long id, WebRequest webRequest) {
+        Optional<ResourceVersion> version = service.getVersion(id);
+        if (version.isPresent() && version.get().checkNotModified(webRequest)) {
+            return null;
+        }
+
         SubjectResponse response = service.getById(id);
         return ResponseEntity.ok(StandardResponse.success(response, "Subject fetched successfully"));
     }
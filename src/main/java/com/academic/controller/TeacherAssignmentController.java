@@ -2,14 +2,21 @@ package com.academic.controller;
 
 import com.academic.request.TeacherAssignmentRequest;
 import com.academic.response.StandardResponse;
+import com.academic.response.SubstituteSlotResponse;
 import com.academic.response.TeacherAssignmentResponse;
+import com.academic.response.TeacherWorkloadResponse;
+import com.academic.service.SubstituteService;
 import com.academic.service.TeacherAssignmentService;
+import com.academic.service.TeacherWorkloadService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -19,6 +26,8 @@ import java.util.Map;
 public class TeacherAssignmentController {
 
     private final TeacherAssignmentService service;
+    private final SubstituteService substituteService;
+    private final TeacherWorkloadService teacherWorkloadService;
 
     @PostMapping("/assignTeacherAllocation")
     public ResponseEntity<StandardResponse<TeacherAssignmentResponse>> create(@RequestBody TeacherAssignmentRequest request) {
@@ -61,5 +70,33 @@ public class TeacherAssignmentController {
         );
     }
 
+    /**
+     * Free teachers of the same subject for each slot the teacher has on the date, lowest load first
+     */
+    @GetMapping("/findSubstituteTeachers")
+    public ResponseEntity<StandardResponse<List<SubstituteSlotResponse>>> findSubstitutes(
+            @RequestParam String teacher,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Integer academicYearId,
+            @RequestParam(defaultValue = "5") int limit) {
 
+        List<SubstituteSlotResponse> response = substituteService.findSubstitutes(teacher, academicYearId, date, limit);
+        return ResponseEntity.ok(
+                StandardResponse.success(response, "Substitutes fetched successfully")
+        );
+    }
+
+    /**
+     * Scheduled weekly hours per teacher and academic year against the assigned load, most loaded first
+     */
+    @GetMapping("/getTeacherWorkload")
+    public ResponseEntity<StandardResponse<List<TeacherWorkloadResponse>>> getWorkload(
+            @RequestParam(required = false) String teacher,
+            @RequestParam(required = false) Integer academicYearId) {
+
+        List<TeacherWorkloadResponse> response = teacherWorkloadService.getWorkloads(teacher, academicYearId);
+        return ResponseEntity.ok(
+                StandardResponse.success(response, "Teacher workload fetched successfully")
+        );
+    }
 }
@@ -1,18 +1,33 @@
 package com.academic.controller;
 
+import com.academic.dto.ResourceVersion;
+import com.academic.request.TimeSlotPatchRequest;
 import com.academic.request.TimeTableRequest;
+import com.academic.response.AvailabilityMatrixResponse;
+import com.academic.response.FreeRoomResponse;
 import com.academic.response.LogContext;
+import com.academic.response.SlotConflictResponse;
 import com.academic.response.StandardResponse;
+import com.academic.response.TeacherScheduleResponse;
 import com.academic.response.TimeTableResponse;
+import com.academic.service.RequestCoalescer;
+import com.academic.service.AvailabilityMatrixIndex;
 import com.academic.service.TimeTableService;
+import com.academic.service.TimetableSnapshotCache;
+import com.academic.utility.RawJsonEnvelope;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/academic-module")
@@ -21,6 +36,8 @@ import java.util.Map;
 public class TimeTableController {
 
     private final TimeTableService service;
+    private final RequestCoalescer coalescer;
+    private final TimetableSnapshotCache snapshotCache;
 
     /**
      * Create a new timetable
@@ -36,12 +53,91 @@ public class TimeTableController {
      * Get a single timetable by ID
      */
     @GetMapping("/getTimetableById/{id}")
-    public ResponseEntity<StandardResponse<TimeTableResponse>> get(@PathVariable Long id) {
+    public ResponseEntity<StandardResponse<TimeTableResponse>> get(@PathVariable Long id, WebRequest webRequest,
+                                                                   HttpServletResponse httpResponse) throws IOException {
         log.info("[{}][{}] API - Fetch Timetable by ID: {}", LogContext.getRequestId(), LogContext.getLogId(), id);
-        TimeTableResponse response = service.get(id);
+
+        // 304 when the client copy is current; no load, mapping or serialization
+        Optional<ResourceVersion> version = coalescer.execute(
+                RequestCoalescer.key("timetableVersion", id), () -> service.getVersion(id));
+        if (version.isPresent() && version.get().checkNotModified(webRequest)) {
+            return null;
+        }
+
+        // Pre-serialized data bytes; only the envelope (logId, requestId, timestamp) is written per request.
+        // Keyed by ETag as well, so a request that saw a newer version never joins a build of an older one
+        if (snapshotCache.isEnabled() && version.isPresent()) {
+            byte[] data = coalescer.execute(RequestCoalescer.key("timetableSnapshot", id, version.get().eTag()),
+                    () -> snapshotCache.get(id, version.get(), () -> service.get(id)));
+            RawJsonEnvelope.writeSuccess(httpResponse, data, "Timetable fetched successfully");
+            return null;
+        }
+
+        // Concurrent requests for the same timetable version share one load (the ETag just sent must match the body)
+        TimeTableResponse response = coalescer.execute(
+                RequestCoalescer.key("timetable", id, version.map(ResourceVersion::eTag).orElse(null)), () -> service.get(id));
         return ResponseEntity.ok(StandardResponse.success(response, "Timetable fetched successfully"));
     }
 
+    /**
+     * Check a timetable's slots for teacher/room double bookings without saving it
+     *
+     * @param timetableId the timetable being edited (its own slots are ignored), omit for a new one
+     */
+    @PostMapping("/validateTimetable")
+    public ResponseEntity<StandardResponse<List<SlotConflictResponse>>> validate(
+            @RequestParam(value = "timetableId", required = false) Long timetableId,
+            @RequestBody TimeTableRequest request) {
+        log.info("[{}][{}] API - Validate Timetable: {}", LogContext.getRequestId(), LogContext.getLogId(), timetableId);
+        List<SlotConflictResponse> conflicts = service.findConflicts(timetableId, request);
+        String message = conflicts.isEmpty() ? "No conflicts found" : conflicts.size() + " conflict(s) found";
+        return ResponseEntity.ok(StandardResponse.success(conflicts, message));
+    }
+
+    /**
+     * Rooms free on a day for a time range, given as startTime/endTime ("HH:mm") or a bell periodId
+     */
+    @GetMapping("/findFreeRooms")
+    public ResponseEntity<StandardResponse<FreeRoomResponse>> findFreeRooms(
+            @RequestParam("day") Integer day,
+            @RequestParam(value = "startTime", required = false) String startTime,
+            @RequestParam(value = "endTime", required = false) String endTime,
+            @RequestParam(value = "periodId", required = false) Long periodId,
+            @RequestParam(value = "academicYearId", required = false) Integer academicYearId) {
+        log.info("[{}][{}] API - Find free rooms: day={}, {}-{}, periodId={}, year={}",
+                LogContext.getRequestId(), LogContext.getLogId(), day, startTime, endTime, periodId, academicYearId);
+        FreeRoomResponse response = service.findFreeRooms(academicYearId, day, startTime, endTime, periodId);
+        return ResponseEntity.ok(StandardResponse.success(response,
+                response.getFreeRooms().size() + " free room(s) found"));
+    }
+
+    /**
+     * Busy bitsets of every teacher, room and class per (day, bell period), for tools that only need yes/no availability
+     */
+    @GetMapping("/getAvailabilityMatrix")
+    public ResponseEntity<StandardResponse<AvailabilityMatrixResponse>> getAvailabilityMatrix(
+            @RequestParam(value = "days", required = false) List<Integer> days,
+            @RequestParam(value = "types", required = false) Set<AvailabilityMatrixIndex.ResourceType> types,
+            @RequestParam(value = "academicYearId", required = false) Integer academicYearId) {
+        log.info("[{}][{}] API - Get availability matrix: days={}, types={}, year={}",
+                LogContext.getRequestId(), LogContext.getLogId(), days, types, academicYearId);
+        AvailabilityMatrixResponse response = service.getAvailabilityMatrix(days, types, academicYearId);
+        return ResponseEntity.ok(StandardResponse.success(response, "Availability matrix fetched successfully"));
+    }
+
+    /**
+     * One teacher's week across all live timetables (by name or employee id)
+     */
+    @GetMapping("/getTeacherSchedule")
+    public ResponseEntity<StandardResponse<TeacherScheduleResponse>> getTeacherSchedule(
+            @RequestParam("teacher") String teacher,
+            @RequestParam(value = "academicYearId", required = false) Integer academicYearId) {
+        log.info("[{}][{}] API - Get teacher schedule: {}, year={}",
+                LogContext.getRequestId(), LogContext.getLogId(), teacher, academicYearId);
+        TeacherScheduleResponse response = service.getTeacherSchedule(teacher, academicYearId);
+        return ResponseEntity.ok(StandardResponse.success(response, "Teacher schedule fetched successfully"));
+    }
+
     /**
      * Update an existing timetable
      */
@@ -52,6 +148,16 @@ public class TimeTableController {
         return ResponseEntity.ok(StandardResponse.success(response, "Timetable updated successfully"));
     }
 
+    /**
+     * Change only some slots of a timetable: send the changed/new slots and the ids of slots to remove
+     */
+    @PatchMapping("/patchTimetableSlots/{id}")
+    public ResponseEntity<StandardResponse<TimeTableResponse>> patchSlots(@PathVariable Long id, @RequestBody TimeSlotPatchRequest request) {
+        log.info("[{}][{}] API - Patch Timetable slots ID: {}", LogContext.getRequestId(), LogContext.getLogId(), id);
+        TimeTableResponse response = service.patchSlots(id, request);
+        return ResponseEntity.ok(StandardResponse.success(response, "Timetable slots updated successfully"));
+    }
+
     /**
      * Soft delete a timetable by ID
      */
@@ -83,10 +189,12 @@ public class TimeTableController {
                 LogContext.getRequestId(), LogContext.getLogId(),
                 page, size, classId, section, search);
 
-        // Call service which returns StandardResponse<Map<String, Object>>
-        StandardResponse<Map<String, Object>> response = service.listAll(page, size, classId, section, search);
+        // Only the page data is shared; each request gets its own envelope (logId, requestId, timestamp)
+        Map<String, Object> data = coalescer.execute(
+                RequestCoalescer.key("timetables", page, size, classId, section, search),
+                () -> service.listAll(page, size, classId, section, search).getData());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(StandardResponse.success(data, "Fetched timetables successfully"));
     }
 
 }
@@ -0,0 +1,42 @@
+package com.academic.controller;
+
+import com.academic.request.TimetableGenerationRequest;
+import com.academic.response.LogContext;
+import com.academic.response.StandardResponse;
+import com.academic.response.TimetableGenerationJobResponse;
+import com.academic.service.TimetableGenerationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/academic-module")
+@RequiredArgsConstructor
+@Slf4j
+public class TimetableGenerationController {
+
+    private final TimetableGenerationService service;
+
+    /**
+     * Start generating clash-free timetables in the background; poll the returned job for progress
+     */
+    @PostMapping("/generateTimetables")
+    public ResponseEntity<StandardResponse<TimetableGenerationJobResponse>> generate(
+            @Validated @RequestBody TimetableGenerationRequest request) {
+        log.info("[{}][{}] API - Generate Timetables: sections={}, days={}",
+                LogContext.getRequestId(), LogContext.getLogId(), request.getClassSectionIds(), request.getDays());
+        TimetableGenerationJobResponse response = service.start(request);
+        return ResponseEntity.ok(StandardResponse.success(response, "Timetable generation started"));
+    }
+
+    /**
+     * Status, search progress and score of a generation job
+     */
+    @GetMapping("/getTimetableGenerationJob/{jobId}")
+    public ResponseEntity<StandardResponse<TimetableGenerationJobResponse>> getJob(@PathVariable String jobId) {
+        TimetableGenerationJobResponse response = service.getJob(jobId);
+        return ResponseEntity.ok(StandardResponse.success(response, "Timetable generation job fetched successfully"));
+    }
+}
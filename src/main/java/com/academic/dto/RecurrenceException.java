@@ -0,0 +1,22 @@
+package com.academic.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * A change to one occurrence of a recurring event, stored with the event
+ *
+ * @param date      the occurrence's scheduled date in the series
+ * @param cancelled the occurrence does not take place
+ * @param movedTo   the occurrence takes place on this date instead, or null
+ * @param eventName name for this occurrence only, or null to keep the series name
+ * @param status    status for this occurrence only, or null to keep the series status
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RecurrenceException(LocalDate date,
+                                  boolean cancelled,
+                                  LocalDate movedTo,
+                                  String eventName,
+                                  String status) {
+}
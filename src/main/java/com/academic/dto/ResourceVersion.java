@@ -0,0 +1,43 @@
+package com.academic.dto;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Cheap fingerprint of a single resource, used for conditional GET (ETag / Last-Modified)
+ * without loading or mapping the resource itself.
+ *
+ * @param eTag         strong ETag (quoted) built from the version parts
+ * @param lastModified epoch millis of the latest change, or 0 when unknown
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+    public static ResourceVersion of(LocalDateTime lastModified, Object... parts) {
+        String joined = Arrays.stream(parts)
+                .map(part -> Objects.toString(part, "-"))
+                .collect(Collectors.joining("|"));
+        String eTag = "\"" + DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        long millis = lastModified != null
+                ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+        return new ResourceVersion(eTag, millis);
+    }
+
+    /**
+     * Sets ETag / Last-Modified on the response and reports whether the client copy is still current
+     * (in which case the response status has already been set to 304)
+     */
+    public boolean checkNotModified(WebRequest request) {
+        return lastModified > 0
+                ? request.checkNotModified(eTag, lastModified)
+                : request.checkNotModified(eTag);
+    }
+}
@@ -0,0 +1,36 @@
+package com.academic.dto;
+
+import java.util.Objects;
+
+/**
+ * Compact, immutable view of one timetable slot with numeric times, as held by the in-memory slot indexes
+ *
+ * Slots only ever clash with slots of the same academic year (null for timetables without a year).
+ *
+ * @param slotId      slot id, null for slots of a request that are not saved yet
+ * @param startMinute minute of day the slot starts (inclusive)
+ * @param endMinute   minute of day the slot ends (exclusive)
+ */
+public record SlotEntry(Long slotId,
+                        Long timetableId,
+                        String timetableName,
+                        Integer academicYearId,
+                        int day,
+                        int startMinute,
+                        int endMinute,
+                        Long subjectId,
+                        String teacher,
+                        String room) {
+
+    public boolean overlaps(SlotEntry other) {
+        return day == other.day && startMinute < other.endMinute && other.startMinute < endMinute
+                && Objects.equals(academicYearId, other.academicYearId);
+    }
+
+    /**
+     * Whether the slot belongs to the academic year; a null year matches every slot
+     */
+    public boolean inYear(Integer year) {
+        return year == null || Objects.equals(academicYearId, year);
+    }
+}
@@ -1,16 +1,27 @@
 package com.academic.entity;
 
+import com.academic.dto.RecurrenceException;
 import com.academic.utility.LongListToJsonConverter;
+import com.academic.utility.RecurrenceExceptionListConverter;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "academic_calendar_events")
+@Table(name = "academic_calendar_events", indexes = {
+        @Index(name = "idx_event_live_date", columnList = "is_deleted, date"),
+        @Index(name = "idx_event_live_recurrence_end", columnList = "is_deleted, recurrence_end")
+})
 @Data
 public class AcademicCalendarEvent {
 
+    // recurrenceEnd of a series without UNTIL or COUNT
+    public static final LocalDate OPEN_ENDED = LocalDate.of(9999, 12, 31);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,5 +43,18 @@ public class AcademicCalendarEvent {
 
     private String status;
 
+    // RRULE (see RecurrenceRule); null for a one-off event on {@code date}, which then starts the series
+    private String recurrenceRule;
+
+    // Last day the series has an occurrence (OPEN_ENDED when it never ends), null for one-off events
+    private LocalDate recurrenceEnd;
+
+    @Column(name = "recurrence_exceptions", columnDefinition = "json")
+    @Convert(converter = RecurrenceExceptionListConverter.class)
+    private List<RecurrenceException> recurrenceExceptions;
+
     private boolean isDeleted = false;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
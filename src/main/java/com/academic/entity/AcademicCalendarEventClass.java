@@ -0,0 +1,64 @@
+package com.academic.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * One class taking part in a calendar event: the indexable copy of the event's classesInvolved JSON.
+ * The event date is repeated here so "events of class X between two dates" is a single range scan
+ * of idx_event_class_date. Rows exist only for live events.
+ */
+@Entity
+@Table(name = "academic_calendar_event_classes", indexes = {
+        @Index(name = "idx_event_class_date", columnList = "class_id, event_date, event_id")
+})
+@Data
+@NoArgsConstructor
+public class AcademicCalendarEventClass implements Persistable<AcademicCalendarEventClass.Key> {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDate date;
+
+    // Rows are always written fresh, so save() inserts without first selecting by id
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
+
+    public AcademicCalendarEventClass(Long eventId, Long classId, LocalDate date) {
+        this.id = new Key(eventId, classId);
+        this.date = date;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "event_id", nullable = false)
+        private Long eventId;
+
+        @Column(name = "class_id", nullable = false)
+        private Long classId;
+    }
+}
@@ -0,0 +1,49 @@
+package com.academic.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One period of the school bell schedule, with minute-of-day bounds (e.g. 540-600 for 09:00-10:00)
+ */
+@Entity
+@Table(name = "bell_period", indexes = {
+        @Index(name = "idx_bell_period_bounds", columnList = "start_minute, end_minute")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BellPeriod {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String periodName; // "Period 1", "Lunch"
+
+    private Integer sequenceNo;
+
+    @Column(nullable = false)
+    private Integer startMinute;
+
+    @Column(nullable = false)
+    private Integer endMinute;
+
+    @Builder.Default
+    private Boolean isDeleted = false;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
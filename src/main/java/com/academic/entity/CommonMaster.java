@@ -1,12 +1,19 @@
 package com.academic.entity;
 
+import com.academic.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "common_master")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COMMON_MASTER)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -25,6 +32,14 @@ public class CommonMaster {
     @Column(nullable = false)
     private Boolean status;
 
+    // Maintained by the database on every insert and update, whichever service writes the row
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt;
+
+    public CommonMaster(Integer id, String commonMasterKey, String data, Boolean status) {
+        this(id, commonMasterKey, data, status, null);
+    }
 
 }
 
@@ -1,11 +1,19 @@
 package com.academic.entity;
 
 
+import com.academic.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "subjects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SUBJECT)
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,4 +39,7 @@ public class Subject {
     private String status; // Active / Draft / Inactive
 
     private Boolean isDeleted = false;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
@@ -8,7 +8,9 @@ import lombok.*;
 import java.util.List;
 
 @Entity
-@Table(name = "teacher_assignments")
+@Table(name = "teacher_assignments", indexes = {
+        @Index(name = "idx_teacher_assignment_year", columnList = "academic_year_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -37,5 +39,7 @@ public class TeacherAssignment {
 
     private String status; // e.g., Active, Scheduled
 
+    private Integer academicYearId; // from CommonMaster; null for assignments created before years were tracked
+
     private Boolean isDeleted = false;
 }
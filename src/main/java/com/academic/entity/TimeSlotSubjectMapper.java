@@ -1,5 +1,6 @@
 package com.academic.entity;
 
+import com.academic.utility.SlotTimes;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -12,15 +13,25 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "time_slot_subject_mapper")
+@Table(name = "time_slot_subject_mapper", indexes = {
+        @Index(name = "idx_slot_day_start", columnList = "day, start_minute, end_minute"),
+        @Index(name = "idx_slot_day_period", columnList = "day, period_id"),
+        @Index(name = "idx_slot_teacher_day", columnList = "teacher_name, day, start_minute")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class TimeSlotSubjectMapper {
 
+    public static final String ID_SEQUENCE = "time_slot_subject_mapper_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled ids (one sequence/table round trip per 50 slots) so slot inserts can be JDBC-batched;
+    // IDENTITY would force one INSERT round trip per slot
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_slot_seq")
+    @SequenceGenerator(name = "time_slot_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,6 +45,13 @@ public class TimeSlotSubjectMapper {
     @Column(nullable = false)
     private String endTime;   // "10:00"
 
+    // Numeric copies of startTime/endTime (minute of day), kept in sync on every write
+    private Integer startMinute;
+
+    private Integer endMinute;
+
+    private Long periodId; // bell_period this slot occupies, if any
+
     @Column(nullable = false)
     private Long subjectId; // from common_master (commonMasterKey="SUBJECT")
 
@@ -53,5 +71,12 @@ public class TimeSlotSubjectMapper {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void syncMinutes() {
+        startMinute = SlotTimes.parseOrNull(startTime);
+        endMinute = SlotTimes.parseOrNull(endTime);
+    }
 }
 
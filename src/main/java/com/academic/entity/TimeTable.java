@@ -13,7 +13,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "time_table")
+@Table(name = "time_table", indexes = {
+        @Index(name = "idx_timetable_year", columnList = "academic_year_id"),
+        @Index(name = "idx_timetable_class", columnList = "class_id, section_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +38,8 @@ public class TimeTable {
     @Column(nullable = false)
     private Long daysCoveredId; // e.g., “Mon-Fri” from CommonMaster
 
+    private Integer academicYearId; // from CommonMaster; null for timetables created before years were tracked
+
     @OneToMany(mappedBy = "timeTable", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<TimeSlotSubjectMapper> slots = new ArrayList<>();
 
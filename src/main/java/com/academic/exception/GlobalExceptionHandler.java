@@ -1,6 +1,7 @@
 package com.academic.exception;
 
 import com.academic.response.LogContext;
+import com.academic.response.SlotConflictResponse;
 import com.academic.response.StandardResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestControllerAdvice
@@ -75,6 +77,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 
+    @ExceptionHandler(ScheduleConflictException.class)
+    public ResponseEntity<StandardResponse<List<SlotConflictResponse>>> handleScheduleConflictException(ScheduleConflictException ex) {
+        String logId = LogContext.getLogId();
+        log.error("logId: {} - Schedule conflict: {}", logId, ex.getMessage());
+
+        StandardResponse<List<SlotConflictResponse>> response = StandardResponse.<List<SlotConflictResponse>>builder()
+            .success(false)
+            .message(ex.getMessage())
+            .data(ex.getConflicts())
+            .logId(logId)
+            .requestId(LogContext.getRequestId())
+            .timestamp(LocalDateTime.now())
+            .error(StandardResponse.ErrorDetails.builder()
+                .code(ex.getErrorCode())
+                .message(ex.getMessage())
+                .details(ex.getDetails())
+                .build())
+            .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<StandardResponse<Void>> handleCustomException(CustomException ex) {
         String logId = LogContext.getLogId();
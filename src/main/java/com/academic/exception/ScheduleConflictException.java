@@ -0,0 +1,26 @@
+package com.academic.exception;
+
+import com.academic.response.SlotConflictResponse;
+
+import java.util.List;
+
+/**
+ * Thrown when a timetable's slots double-book a teacher or room; mapped to 409 with the conflict list as data
+ */
+public class ScheduleConflictException extends CustomException {
+
+    private final List<SlotConflictResponse> conflicts;
+
+    public ScheduleConflictException(List<SlotConflictResponse> conflicts) {
+        super(
+                "Timetable has " + conflicts.size() + " teacher/room conflict(s)",
+                "SCHEDULE_CONFLICT",
+                "A teacher or room is already booked at the same day and time"
+        );
+        this.conflicts = conflicts;
+    }
+
+    public List<SlotConflictResponse> getConflicts() {
+        return conflicts;
+    }
+}
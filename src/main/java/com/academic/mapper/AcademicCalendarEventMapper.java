@@ -1,10 +1,12 @@
 package com.academic.mapper;
 
 
+import com.academic.dto.RecurrenceException;
 import com.academic.entity.AcademicCalendarEvent;
 import com.academic.request.AcademicCalendarEventRequest;
 import com.academic.response.AcademicCalendarEventResponse;
 
+import java.time.LocalDate;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -34,29 +36,56 @@ public class AcademicCalendarEventMapper {
                 "", // no names, only IDs
                 entity.getClassesInvolved(),
                 entity.getDuration(),
-                entity.getStatus()
+                entity.getStatus(),
+                entity.getRecurrenceRule(),
+                null,
+                entity.getRecurrenceExceptions()
         );
     }
 
     // For list (resolve names from common master)
     public static AcademicCalendarEventResponse toResponse(AcademicCalendarEvent entity, Map<Long, String> classIdToNameMap) {
-        String classNames = entity.getClassesInvolved().stream()
-                .map(classIdToNameMap::get)
-                .filter(Objects::nonNull)
-                .collect(Collectors.joining(", "));
-
         return new AcademicCalendarEventResponse(
                 entity.getId(),
                 entity.getEventName(),
                 entity.getDate(),
                 entity.getType(),
-                classNames,
+                classNames(entity, classIdToNameMap),
                 entity.getClassesInvolved(), // original IDs
                 entity.getDuration(),
-                entity.getStatus()
+                entity.getStatus(),
+                entity.getRecurrenceRule(),
+                null,
+                entity.getRecurrenceExceptions()
         );
     }
 
+    // One occurrence of a recurring event, with that occurrence's changes applied
+    public static AcademicCalendarEventResponse toOccurrenceResponse(AcademicCalendarEvent entity, LocalDate date,
+                                                                     LocalDate occurrenceOf, RecurrenceException change,
+                                                                     Map<Long, String> classIdToNameMap) {
+        return new AcademicCalendarEventResponse(
+                entity.getId(),
+                change != null && change.eventName() != null ? change.eventName() : entity.getEventName(),
+                date,
+                entity.getType(),
+                classNames(entity, classIdToNameMap),
+                entity.getClassesInvolved(),
+                entity.getDuration(),
+                change != null && change.status() != null ? change.status() : entity.getStatus(),
+                entity.getRecurrenceRule(),
+                occurrenceOf,
+                null
+        );
+    }
+
+    private static String classNames(AcademicCalendarEvent entity, Map<Long, String> classIdToNameMap) {
+        return entity.getClassesInvolved().stream()
+                .map(classIdToNameMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(", "));
+    }
+
 
 
 
@@ -0,0 +1,36 @@
+package com.academic.mapper;
+
+import com.academic.entity.BellPeriod;
+import com.academic.request.BellPeriodRequest;
+import com.academic.response.BellPeriodResponse;
+import com.academic.utility.SlotTimes;
+
+public class BellPeriodMapper {
+
+    public static BellPeriod toEntity(BellPeriodRequest request) {
+        BellPeriod entity = BellPeriod.builder()
+                .isDeleted(false)
+                .build();
+        updateEntity(entity, request);
+        return entity;
+    }
+
+    public static void updateEntity(BellPeriod entity, BellPeriodRequest request) {
+        entity.setPeriodName(request.getPeriodName());
+        entity.setSequenceNo(request.getSequenceNo());
+        entity.setStartMinute(SlotTimes.toMinuteOfDay(request.getStartTime()));
+        entity.setEndMinute(SlotTimes.toMinuteOfDay(request.getEndTime()));
+    }
+
+    public static BellPeriodResponse toResponse(BellPeriod entity) {
+        return BellPeriodResponse.builder()
+                .id(entity.getId())
+                .periodName(entity.getPeriodName())
+                .sequenceNo(entity.getSequenceNo())
+                .startTime(SlotTimes.format(entity.getStartMinute()))
+                .endTime(SlotTimes.format(entity.getEndMinute()))
+                .startMinute(entity.getStartMinute())
+                .endMinute(entity.getEndMinute())
+                .build();
+    }
+}
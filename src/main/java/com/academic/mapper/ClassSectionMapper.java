@@ -1,10 +1,9 @@
 package com.academic.mapper;
 
 import com.academic.entity.ClassSection;
-import com.academic.entity.CommonMaster;
-import com.academic.repository.CommonMasterRepository;
 import com.academic.request.ClassSectionRequest;
 import com.academic.response.ClassSectionResponse;
+import com.academic.service.CommonMasterBatchResolver;
 
 public class ClassSectionMapper {
 
@@ -27,15 +26,13 @@ public class ClassSectionMapper {
         entity.setRoomNo(request.getRoomNo());
     }
 
-    public static ClassSectionResponse toResponse(ClassSection entity, CommonMasterRepository commonMasterRepository) {
+    public static ClassSectionResponse toResponse(ClassSection entity, CommonMasterBatchResolver resolver) {
         // Fetch class name from CommonMaster
-        String className = commonMasterRepository.findByIdAndStatusTrue(entity.getClassId())
-                .map(CommonMaster::getData)
+        String className = resolver.getActiveData(entity.getClassId())
                 .orElse("Unknown Class");
 
         // Fetch section name from CommonMaster
-        String sectionName = commonMasterRepository.findByIdAndStatusTrue(entity.getSection())
-                .map(CommonMaster::getData)
+        String sectionName = resolver.getActiveData(entity.getSection())
                 .orElse("Unknown Section");
 
         return ClassSectionResponse.builder()
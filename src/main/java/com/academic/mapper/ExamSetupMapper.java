@@ -1,10 +1,10 @@
 package com.academic.mapper;
 
 import com.academic.entity.ExamSetup;
-import com.academic.entity.CommonMaster;
-import com.academic.repository.CommonMasterRepository;
 import com.academic.request.ExamSetupRequest;
 import com.academic.response.ExamSetupResponse;
+import com.academic.service.CommonMasterBatchResolver;
+import com.academic.service.CommonMasterCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -12,7 +12,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class ExamSetupMapper {
 
-    private final CommonMasterRepository commonMasterRepository;
+    private final CommonMasterCache commonMasterCache;
 
     public ExamSetup toEntity(ExamSetupRequest request) {
         if (request == null) return null;
@@ -27,10 +27,21 @@ public class ExamSetupMapper {
     }
 
     public ExamSetupResponse toResponse(ExamSetup entity) {
+        return toResponse(entity, commonMasterCache.newBatchResolver());
+    }
+
+    // Register class and subject ids so a whole page resolves in one batch
+    public void registerReferences(ExamSetup entity, CommonMasterBatchResolver resolver) {
+        if (entity == null) return;
+        resolver.register(entity.getClassId())
+                .register(entity.getSubjectId());
+    }
+
+    public ExamSetupResponse toResponse(ExamSetup entity, CommonMasterBatchResolver resolver) {
         if (entity == null) return null;
 
-        String className = getCommonMasterName(entity.getClassId());
-        String subjectName = getCommonMasterName(entity.getSubjectId());
+        String className = getCommonMasterName(entity.getClassId(), resolver);
+        String subjectName = getCommonMasterName(entity.getSubjectId(), resolver);
 
         return ExamSetupResponse.builder()
                 .id(entity.getId())
@@ -44,10 +55,9 @@ public class ExamSetupMapper {
                 .build();
     }
 
-    private String getCommonMasterName(Integer id) {
+    private String getCommonMasterName(Integer id, CommonMasterBatchResolver resolver) {
         if (id == null) return null;
-        return commonMasterRepository.findById(id)
-                .map(CommonMaster::getData)
+        return resolver.getData(id)
                 .orElse("Unknown");
     }
 }
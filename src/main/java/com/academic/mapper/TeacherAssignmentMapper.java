@@ -1,10 +1,9 @@
 package com.academic.mapper;
 
-import com.academic.entity.CommonMaster;
 import com.academic.entity.TeacherAssignment;
-import com.academic.repository.CommonMasterRepository;
 import com.academic.request.TeacherAssignmentRequest;
 import com.academic.response.TeacherAssignmentResponse;
+import com.academic.service.CommonMasterBatchResolver;
 
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -22,6 +21,7 @@ public class TeacherAssignmentMapper {
                 .subject(request.getSubject())
                 .loadHours(request.getLoadHours())
                 .status(request.getStatus())
+                .academicYearId(request.getAcademicYearId())
                 .isDeleted(false)
                 .build();
 
@@ -40,21 +40,26 @@ public class TeacherAssignmentMapper {
         entity.setSubject(request.getSubject());
         entity.setLoadHours(request.getLoadHours());
         entity.setStatus(request.getStatus());
+        entity.setAcademicYearId(request.getAcademicYearId());
 
         if (request.getClassIds() != null && !request.getClassIds().isEmpty()) {
             entity.setClassesInvolved(request.getClassIds());
         }
     }
 
+    // Register class ids so a whole page resolves in one batch
+    public static void registerReferences(TeacherAssignment entity, CommonMasterBatchResolver resolver) {
+        resolver.registerAll(entity.getClassesInvolved());
+    }
+
     // Convert Entity → Response DTO
     public static TeacherAssignmentResponse toResponse(TeacherAssignment entity,
-                                                       CommonMasterRepository commonMasterRepository) {
+                                                       CommonMasterBatchResolver resolver) {
         List<Long> classIds = entity.getClassesInvolved(); // Already stored as List<Long>
 
         // Fetch human-readable names from CommonMaster
         String classNames = classIds.stream()
-                .map(id -> commonMasterRepository.findById(Math.toIntExact(id))
-                        .map(CommonMaster::getData)
+                .map(id -> resolver.getData(id)
                         .orElse("Unknown"))
                 .collect(Collectors.joining(", "));
 
@@ -67,6 +72,7 @@ public class TeacherAssignmentMapper {
                 .classNames(classNames)
                 .loadHours(entity.getLoadHours())
                 .status(entity.getStatus())
+                .academicYearId(entity.getAcademicYearId())
                 .build();
     }
 }
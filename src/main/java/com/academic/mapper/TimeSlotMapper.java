@@ -1,33 +1,30 @@
 package com.academic.mapper;
 
 import com.academic.entity.TimeSlotSubjectMapper;
-import com.academic.entity.TimeTable;
-import com.academic.repository.CommonMasterRepository;
 import com.academic.response.TimeSlotResponse;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.academic.service.CommonMasterBatchResolver;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Component
 public class TimeSlotMapper {
 
-    @Autowired
-    private  CommonMasterRepository commonMasterRepository;
+    // Register the CommonMaster ids this slot needs so they can be resolved in one batch
+    public void registerReferences(TimeSlotSubjectMapper slot, CommonMasterBatchResolver resolver) {
+        resolver.register(slot.getSubjectId());
+    }
 
-    public TimeSlotResponse toResponse(TimeSlotSubjectMapper slot) {
+    public TimeSlotResponse toResponse(TimeSlotSubjectMapper slot, CommonMasterBatchResolver resolver) {
         return TimeSlotResponse.builder()
                 .id(slot.getId())
                 .startTime(slot.getStartTime())
                 .endTime(slot.getEndTime())
                 .subjectId(slot.getSubjectId())
-                .subjectName(commonMasterRepository.findById(Math.toIntExact(slot.getSubjectId()))
-                        .orElseThrow(() -> new RuntimeException("Subject not found"))
-                        .getData())
+                .subjectName(resolver.getData(slot.getSubjectId())
+                        .orElseThrow(() -> new RuntimeException("Subject not found")))
                 .teacherId(slot.getTeacherName())
                 .roomId(slot.getRoom())
                 .day(slot.getDay())
+                .periodId(slot.getPeriodId())
                 .build();
     }
 
@@ -2,28 +2,41 @@ package com.academic.mapper;
 
 import com.academic.entity.TimeSlotSubjectMapper;
 import com.academic.entity.TimeTable;
-import com.academic.repository.CommonMasterRepository;
 import com.academic.request.TimeSlotDTO;
 import com.academic.response.TimeTableResponse;
+import com.academic.service.CommonMasterBatchResolver;
+import com.academic.service.CommonMasterCache;
+import com.academic.utility.SlotTimes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
 public class TimeTableMapper {
 
     @Autowired
-    private CommonMasterRepository commonMasterRepository;
+    private CommonMasterCache commonMasterCache;
 
     @Autowired
     private TimeSlotMapper timeSlotMapper;
 
+    // Register class, section and slot subject ids so a whole page resolves in one batch
+    public void registerReferences(TimeTable entity, CommonMasterBatchResolver resolver) {
+        if (entity == null) return;
+
+        resolver.register(entity.getClassId())
+                .register(entity.getSectionId());
+
+        if (entity.getSlots() != null) {
+            entity.getSlots().forEach(slot -> timeSlotMapper.registerReferences(slot, resolver));
+        }
+    }
+
     // Convert TimeTable entity → TimeTableResponse DTO
-    public TimeTableResponse toResponse(TimeTable entity, Map<Integer, String> commonMasterMap) {
+    public TimeTableResponse toResponse(TimeTable entity, CommonMasterBatchResolver resolver) {
         if (entity == null) {
             return null;
         }
@@ -36,13 +49,14 @@ public class TimeTableMapper {
                 .id(entity.getId())
                 .timetableName(entity.getTimetableName())
                 .classId(classId)
-                .className(classId != null ? commonMasterMap.get(classId) : null)
+                .className(classId != null ? resolver.getActiveKey(classId).orElse(null) : null)
                 .sectionId(sectionId)
-                .sectionName(sectionId != null ? commonMasterMap.get(sectionId) : null)
+                .sectionName(sectionId != null ? resolver.getActiveKey(sectionId).orElse(null) : null)
                 .daysCoveredId(daysCoveredId)
+                .academicYearId(entity.getAcademicYearId())
                 .slots(entity.getSlots() != null
                         ? entity.getSlots().stream()
-                        .map(timeSlotMapper::toResponse)              // FIXED: non-static usage
+                        .map(slot -> timeSlotMapper.toResponse(slot, resolver))
                         .collect(Collectors.toList())
                         : Collections.emptyList())
                 .build();
@@ -54,12 +68,12 @@ public class TimeTableMapper {
 
         String subjectName = null;
         if (slot.getSubjectId() != null) {
-            subjectName = commonMasterRepository.findById(Math.toIntExact(slot.getSubjectId()))
-                    .map(cm -> cm.getData())
+            subjectName = commonMasterCache.getData(Math.toIntExact(slot.getSubjectId()))
                     .orElse(null);
         }
 
         return TimeSlotDTO.builder()
+                .id(slot.getId())
                 .startTime(slot.getStartTime())
                 .endTime(slot.getEndTime())
                 .subjectId(slot.getSubjectId())
@@ -67,6 +81,7 @@ public class TimeTableMapper {
                 .teacherId(slot.getTeacherName())
                 .roomId(slot.getRoom())
                 .day(slot.getDay())
+                .periodId(slot.getPeriodId())
                 .build();
     }
 
@@ -83,14 +98,28 @@ public class TimeTableMapper {
     public TimeSlotSubjectMapper toEntity(TimeSlotDTO dto, TimeTable parent) {
         if (dto == null) return null;
 
-        return TimeSlotSubjectMapper.builder()
-                .startTime(dto.getStartTime())
-                .endTime(dto.getEndTime())
-                .subjectId(dto.getSubjectId())
-                .teacherName(dto.getTeacherId())
-                .room(dto.getRoomId())
-                .day(dto.getDay())
+        TimeSlotSubjectMapper slot = TimeSlotSubjectMapper.builder()
                 .timeTable(parent)
+                .active(true)
                 .build();
+        applySlot(slot, dto);
+        return slot;
+    }
+
+    // Copy TimeSlotDTO values onto a new or existing slot; unchanged values leave the row clean (no UPDATE)
+    public void applySlot(TimeSlotSubjectMapper slot, TimeSlotDTO dto) {
+        int startMinute = SlotTimes.toMinuteOfDay(dto.getStartTime());
+        int endMinute = SlotTimes.toMinuteOfDay(dto.getEndTime());
+        SlotTimes.requireRange(startMinute, endMinute);
+
+        slot.setStartTime(dto.getStartTime());
+        slot.setEndTime(dto.getEndTime());
+        slot.setStartMinute(startMinute);
+        slot.setEndMinute(endMinute);
+        slot.setSubjectId(dto.getSubjectId());
+        slot.setTeacherName(dto.getTeacherId());
+        slot.setRoom(dto.getRoomId());
+        slot.setDay(dto.getDay());
+        slot.setPeriodId(dto.getPeriodId());
     }
 }
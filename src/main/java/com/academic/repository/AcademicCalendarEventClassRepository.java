@@ -0,0 +1,19 @@
+package com.academic.repository;
+
+import com.academic.entity.AcademicCalendarEventClass;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AcademicCalendarEventClassRepository
+        extends JpaRepository<AcademicCalendarEventClass, AcademicCalendarEventClass.Key> {
+
+    List<AcademicCalendarEventClass> findByIdEventId(Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM AcademicCalendarEventClass c WHERE c.id.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
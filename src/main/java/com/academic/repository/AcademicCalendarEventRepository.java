@@ -1,11 +1,21 @@
 package com.academic.repository;
 
+import com.academic.dto.RecurrenceException;
 import com.academic.entity.AcademicCalendarEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 // Spring Data JPA Repository for AcademicCalendarEvent
 public interface AcademicCalendarEventRepository extends JpaRepository<AcademicCalendarEvent, Long>, JpaSpecificationExecutor<AcademicCalendarEvent> {
@@ -18,4 +28,153 @@ public interface AcademicCalendarEventRepository extends JpaRepository<AcademicC
 
     // Example custom query for business logic (e.g., check for duplicates on same date)
     boolean existsByEventNameAndDateAndIsDeletedFalse(String eventName, java.time.LocalDate date);
+
+    @Query("SELECT e.id AS id, e.updatedAt AS updatedAt FROM AcademicCalendarEvent e WHERE e.id = :id AND e.isDeleted = false")
+    Optional<UpdatedAtView> findUpdatedAtById(@Param("id") Long id);
+
+    // Live one-off events in a date range: a range scan of idx_event_live_date
+    @Query("""
+            SELECT e FROM AcademicCalendarEvent e
+            WHERE e.isDeleted = false AND e.date BETWEEN :from AND :to AND e.recurrenceEnd IS NULL
+            ORDER BY e.date, e.id
+            """)
+    List<AcademicCalendarEvent> findLiveInRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Live one-off events in a date range counted per day, type and status (one pass over idx_event_live_date)
+    @Query("""
+            SELECT e.date AS date, e.type AS type, e.status AS status, COUNT(e) AS eventCount
+            FROM AcademicCalendarEvent e
+            WHERE e.isDeleted = false AND e.date BETWEEN :from AND :to AND e.recurrenceEnd IS NULL
+            GROUP BY e.date, e.type, e.status
+            """)
+    List<DayCountRow> countLiveByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // As countLiveByDay for the events of one class (one pass over idx_event_class_date)
+    @Query("""
+            SELECT c.date AS date, e.type AS type, e.status AS status, COUNT(e) AS eventCount
+            FROM AcademicCalendarEventClass c JOIN AcademicCalendarEvent e ON e.id = c.id.eventId
+            WHERE c.id.classId = :classId AND c.date BETWEEN :from AND :to AND e.isDeleted = false
+              AND e.recurrenceEnd IS NULL
+            GROUP BY c.date, e.type, e.status
+            """)
+    List<DayCountRow> countByClassAndDay(@Param("classId") Long classId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    // Live recurring events with occurrences possibly in the range: a range scan of idx_event_live_recurrence_end
+    @Query("""
+            SELECT e FROM AcademicCalendarEvent e
+            WHERE e.isDeleted = false AND e.recurrenceEnd >= :from AND e.date <= :to
+            ORDER BY e.date, e.id
+            """)
+    List<AcademicCalendarEvent> findLiveRecurringOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Live one-off events of one class in a date range: a range scan of idx_event_class_date, then lookups by primary key
+    @Query("""
+            SELECT e FROM AcademicCalendarEventClass c JOIN AcademicCalendarEvent e ON e.id = c.id.eventId
+            WHERE c.id.classId = :classId AND c.date BETWEEN :from AND :to AND e.isDeleted = false
+              AND e.recurrenceEnd IS NULL
+            ORDER BY c.date, c.id.eventId
+            """)
+    List<AcademicCalendarEvent> findByClassAndDateRange(@Param("classId") Long classId,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+
+    // Live recurring events of one class possibly in the range (membership checked by primary key)
+    @Query("""
+            SELECT e FROM AcademicCalendarEvent e
+            WHERE e.isDeleted = false AND e.recurrenceEnd >= :from AND e.date <= :to
+              AND EXISTS (SELECT 1 FROM AcademicCalendarEventClass c WHERE c.id.eventId = e.id AND c.id.classId = :classId)
+            ORDER BY e.date, e.id
+            """)
+    List<AcademicCalendarEvent> findRecurringByClassOverlapping(@Param("classId") Long classId,
+                                                                @Param("from") LocalDate from,
+                                                                @Param("to") LocalDate to);
+
+    // Live events whose class rows have not been written yet (events saved before the membership table).
+    // Undated events and those without classes never get rows, so they are left out rather than read on every start
+    @Query("""
+            SELECT e FROM AcademicCalendarEvent e
+            WHERE e.isDeleted = false AND e.date IS NOT NULL
+              AND e.classesInvolved IS NOT NULL AND str(e.classesInvolved) NOT IN ('[]', 'null')
+              AND NOT EXISTS (SELECT 1 FROM AcademicCalendarEventClass c WHERE c.id.eventId = e.id)
+            """)
+    List<AcademicCalendarEvent> findLiveEventsWithoutClassRows();
+
+    // Live events of the given (lower-case) types, for the working day calendar
+    @Query("""
+            SELECT e.id AS id, e.date AS date, e.duration AS duration, e.recurrenceRule AS recurrenceRule,
+                   e.recurrenceEnd AS recurrenceEnd, e.recurrenceExceptions AS recurrenceExceptions
+            FROM AcademicCalendarEvent e WHERE e.isDeleted = false AND LOWER(e.type) IN :types
+            """)
+    List<ClosureRow> findLiveClosures(@Param("types") Collection<String> types);
+
+    // Live school-wide events (no class rows) plus the events of one class (idx_event_class_date), in date
+    // order, streamed for calendar export (consume inside a transaction)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TimeSlotSubjectMapperRepository.STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT e.id AS id, e.eventName AS eventName, e.date AS date, e.type AS type,
+                   e.classesInvolved AS classesInvolved, e.duration AS duration, e.status AS status,
+                   e.recurrenceRule AS recurrenceRule, e.recurrenceExceptions AS recurrenceExceptions
+            FROM AcademicCalendarEvent e
+            WHERE e.isDeleted = false
+              AND (e.id IN (SELECT c.id.eventId FROM AcademicCalendarEventClass c WHERE c.id.classId = :classId)
+                   OR NOT EXISTS (SELECT 1 FROM AcademicCalendarEventClass c WHERE c.id.eventId = e.id))
+            ORDER BY e.date, e.id
+            """)
+    Stream<EventRow> streamLiveEventsOfClass(@Param("classId") Long classId);
+
+    // Live school-wide events (no class rows) in date order, streamed for calendar export
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TimeSlotSubjectMapperRepository.STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT e.id AS id, e.eventName AS eventName, e.date AS date, e.type AS type,
+                   e.classesInvolved AS classesInvolved, e.duration AS duration, e.status AS status,
+                   e.recurrenceRule AS recurrenceRule, e.recurrenceExceptions AS recurrenceExceptions
+            FROM AcademicCalendarEvent e
+            WHERE e.isDeleted = false
+              AND NOT EXISTS (SELECT 1 FROM AcademicCalendarEventClass c WHERE c.id.eventId = e.id)
+            ORDER BY e.date, e.id
+            """)
+    Stream<EventRow> streamLiveSchoolWideEvents();
+
+    // Version fingerprint of all live events (soft deletes bump updatedAt too), for conditional GET
+    @Query("""
+            SELECT COUNT(e) AS eventCount, MAX(e.id) AS maxEventId, MAX(e.updatedAt) AS eventsUpdatedAt
+            FROM AcademicCalendarEvent e WHERE e.isDeleted = false
+            """)
+    EventsVersionView findLiveEventsVersion();
+
+    interface EventRow {
+        Long getId();
+        String getEventName();
+        LocalDate getDate();
+        String getType();
+        List<Long> getClassesInvolved();
+        String getDuration();
+        String getStatus();
+        String getRecurrenceRule();
+        List<RecurrenceException> getRecurrenceExceptions();
+    }
+
+    interface ClosureRow {
+        Long getId();
+        LocalDate getDate();
+        String getDuration();
+        String getRecurrenceRule();
+        LocalDate getRecurrenceEnd();
+        List<RecurrenceException> getRecurrenceExceptions();
+    }
+
+    interface DayCountRow {
+        LocalDate getDate();
+        String getType();
+        String getStatus();
+        Long getEventCount();
+    }
+
+    interface EventsVersionView {
+        Long getEventCount();
+        Long getMaxEventId();
+        LocalDateTime getEventsUpdatedAt();
+    }
 }
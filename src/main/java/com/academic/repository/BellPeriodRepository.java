@@ -0,0 +1,18 @@
+package com.academic.repository;
+
+import com.academic.entity.BellPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BellPeriodRepository extends JpaRepository<BellPeriod, Long> {
+
+    Optional<BellPeriod> findByIdAndIsDeletedFalse(Long id);
+
+    List<BellPeriod> findByIsDeletedFalseOrderByStartMinuteAsc();
+
+    boolean existsByStartMinuteAndEndMinuteAndIsDeletedFalse(Integer startMinute, Integer endMinute);
+
+    boolean existsByStartMinuteAndEndMinuteAndIsDeletedFalseAndIdNot(Integer startMinute, Integer endMinute, Long id);
+}
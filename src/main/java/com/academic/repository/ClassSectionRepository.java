@@ -4,6 +4,8 @@ import com.academic.entity.ClassSection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,5 +16,10 @@ public interface ClassSectionRepository extends JpaRepository<ClassSection, Long
 
     Page<ClassSection> findByIsDeletedFalse(Pageable pageable);
 
+    List<ClassSection> findByIsDeletedFalseOrderByIdAsc();
+
     Optional<ClassSection> findByIdAndIsDeletedFalse(Long id);
+
+    @Query("SELECT c.id AS id, c.updatedAt AS updatedAt FROM ClassSection c WHERE c.id = :id AND c.isDeleted = false")
+    Optional<UpdatedAtView> findUpdatedAtById(@Param("id") Long id);
 }
@@ -4,13 +4,29 @@ package com.academic.repository;
 import com.academic.entity.CommonMaster;
 import org.springframework.data.domain.Range;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 public interface CommonMasterRepository extends JpaRepository<CommonMaster, Integer> {
     List<CommonMaster> findByIdInAndStatusTrue(List<Integer> ids);
 
-    Optional<CommonMaster> findByIdAndStatusTrue(Integer id);
+    // Single-row fingerprint of the table, used by CommonMasterCache to detect changes without reloading;
+    // edits show up in the latest updatedAt, deletes in the row count
+    @Query("SELECT COUNT(c) AS rowCount, MAX(c.id) AS maxId, " +
+            "SUM(CASE WHEN c.status = true THEN 1 ELSE 0 END) AS activeCount, " +
+            "MAX(c.updatedAt) AS lastUpdatedAt " +
+            "FROM CommonMaster c")
+    VersionFingerprint fetchVersionFingerprint();
+
+    interface VersionFingerprint {
+        Long getRowCount();
+
+        Integer getMaxId();
+
+        Long getActiveCount();
 
-    boolean existsByIdAndStatusTrue(Integer classId);
+        LocalDateTime getLastUpdatedAt();
+    }
 }
@@ -1,13 +1,18 @@
 package com.academic.repository;
 
 
+import com.academic.config.CacheRegions;
 import com.academic.entity.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -25,7 +30,14 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
             "AND (:credits IS NULL OR s.credits = :credits)")
     Page<Subject> searchAndFilter(String search, String type, String status, Integer credits, Pageable pageable);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SUBJECT_QUERIES)
+    })
     Optional<Subject> findByIdAndIsDeletedFalse(Long id);
 
     boolean existsBySubjectCodeAndIsDeletedFalse(java.lang.String subjectCode);
+
+    @Query("SELECT s.id AS id, s.updatedAt AS updatedAt FROM Subject s WHERE s.id = :id AND s.isDeleted = false")
+    Optional<UpdatedAtView> findUpdatedAtById(@Param("id") Long id);
 }
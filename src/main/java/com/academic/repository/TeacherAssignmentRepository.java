@@ -5,11 +5,43 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TeacherAssignmentRepository extends JpaRepository<TeacherAssignment, Long> {
     Optional<TeacherAssignment> findByIdAndIsDeletedFalse(Long id);
     Page<TeacherAssignment> findByIsDeletedFalse(Pageable pageable);
     Page<TeacherAssignment> findAll(Specification<TeacherAssignment> spec, Pageable pageable);
+
+    /**
+     * Live assignments of the academic year together with those without a year
+     */
+    @Query("""
+            SELECT a FROM TeacherAssignment a
+            WHERE a.isDeleted = false AND (a.academicYearId = :academicYearId OR a.academicYearId IS NULL)
+            ORDER BY a.id
+            """)
+    List<TeacherAssignment> findLiveOfYearOrUndated(@Param("academicYearId") Integer academicYearId);
+
+    /**
+     * Teacher, subject and load of every live assignment, without the class list
+     */
+    @Query("""
+            SELECT a.teacherName AS teacherName, a.employeeId AS employeeId,
+                   a.subject AS subject, a.loadHours AS loadHours, a.academicYearId AS academicYearId
+            FROM TeacherAssignment a
+            WHERE a.isDeleted = false
+            """)
+    List<SubjectLoad> findAllSubjectLoads();
+
+    interface SubjectLoad {
+        String getTeacherName();
+        String getEmployeeId();
+        String getSubject();
+        Integer getLoadHours();
+        Integer getAcademicYearId();
+    }
 }
@@ -1,10 +1,187 @@
 package com.academic.repository;
 
 import com.academic.entity.TimeSlotSubjectMapper;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TimeSlotSubjectMapperRepository extends JpaRepository<TimeSlotSubjectMapper, Long> {
+
+    // Integer.MIN_VALUE: MySQL Connector/J streams this statement's rows one at a time instead of buffering
+    // the result, without server-side cursors for every other query; no other query may run on the
+    // connection until the stream is closed
+    String STREAM_FETCH_SIZE = "-2147483648";
+
     List<TimeSlotSubjectMapper> findByTimeTableId(Long timeTableId);
+
+    /**
+     * Slot columns needed by the in-memory slot indexes, for every live timetable, in one query
+     */
+    @Query("""
+            SELECT s.id AS slotId, t.id AS timetableId, t.timetableName AS timetableName,
+                   t.academicYearId AS academicYearId, s.day AS day, s.startTime AS startTime, s.endTime AS endTime,
+                   s.startMinute AS startMinute, s.endMinute AS endMinute,
+                   s.subjectId AS subjectId, s.teacherName AS teacherName, s.room AS room
+            FROM TimeSlotSubjectMapper s JOIN s.timeTable t
+            WHERE t.isDeleted = false AND (s.active IS NULL OR s.active = true)
+            """)
+    List<SlotRow> findAllLiveSlotRows();
+
+    /**
+     * Live slots booked under any of the exact teacher values, with their timetable's class and section,
+     * in day/time order (served by idx_slot_teacher_day)
+     */
+    @Query("""
+            SELECT s.id AS slotId, t.id AS timetableId, t.timetableName AS timetableName,
+                   t.classId AS classId, t.sectionId AS sectionId,
+                   s.day AS day, s.startTime AS startTime, s.endTime AS endTime, s.periodId AS periodId,
+                   s.subjectId AS subjectId, s.teacherName AS teacherName, s.room AS room
+            FROM TimeSlotSubjectMapper s JOIN s.timeTable t
+            WHERE s.teacherName IN :teacherNames
+              AND (:academicYearId IS NULL OR t.academicYearId = :academicYearId)
+              AND t.isDeleted = false AND (s.active IS NULL OR s.active = true)
+            ORDER BY s.day, s.startMinute, s.id
+            """)
+    List<ScheduleSlotRow> findTeacherSlots(@Param("teacherNames") Collection<String> teacherNames,
+                                           @Param("academicYearId") Integer academicYearId, Pageable limit);
+
+    /**
+     * Same rows as {@link #findTeacherSlots}, streamed without a limit (consume inside a transaction)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT s.id AS slotId, t.id AS timetableId, t.timetableName AS timetableName,
+                   t.classId AS classId, t.sectionId AS sectionId,
+                   s.day AS day, s.startTime AS startTime, s.endTime AS endTime, s.periodId AS periodId,
+                   s.subjectId AS subjectId, s.teacherName AS teacherName, s.room AS room
+            FROM TimeSlotSubjectMapper s JOIN s.timeTable t
+            WHERE s.teacherName IN :teacherNames
+              AND (:academicYearId IS NULL OR t.academicYearId = :academicYearId)
+              AND t.isDeleted = false AND (s.active IS NULL OR s.active = true)
+            ORDER BY s.day, s.startMinute, s.id
+            """)
+    Stream<ScheduleSlotRow> streamTeacherSlots(@Param("teacherNames") Collection<String> teacherNames,
+                                               @Param("academicYearId") Integer academicYearId);
+
+    @Query("""
+            SELECT COUNT(s) AS slotCount, MAX(s.id) AS maxSlotId, MAX(s.updatedAt) AS slotsUpdatedAt,
+                   MAX(t.updatedAt) AS timetablesUpdatedAt
+            FROM TimeSlotSubjectMapper s JOIN s.timeTable t
+            WHERE s.teacherName IN :teacherNames
+              AND (:academicYearId IS NULL OR t.academicYearId = :academicYearId)
+              AND t.isDeleted = false AND (s.active IS NULL OR s.active = true)
+            """)
+    SlotsVersionView findTeacherSlotsVersion(@Param("teacherNames") Collection<String> teacherNames,
+                                             @Param("academicYearId") Integer academicYearId);
+
+    /**
+     * Live slots of a class (or one of its sections) in day/time order, streamed (consume inside a transaction)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT s.id AS slotId, t.id AS timetableId, t.timetableName AS timetableName,
+                   t.classId AS classId, t.sectionId AS sectionId,
+                   s.day AS day, s.startTime AS startTime, s.endTime AS endTime, s.periodId AS periodId,
+                   s.subjectId AS subjectId, s.teacherName AS teacherName, s.room AS room
+            FROM TimeSlotSubjectMapper s JOIN s.timeTable t
+            WHERE t.classId = :classId AND (:sectionId IS NULL OR t.sectionId = :sectionId)
+              AND (:academicYearId IS NULL OR t.academicYearId = :academicYearId)
+              AND t.isDeleted = false AND (s.active IS NULL OR s.active = true)
+            ORDER BY s.day, s.startMinute, s.id
+            """)
+    Stream<ScheduleSlotRow> streamClassSlots(@Param("classId") Long classId, @Param("sectionId") Long sectionId,
+                                             @Param("academicYearId") Integer academicYearId);
+
+    // Version fingerprint of the slots streamed by streamClassSlots, for conditional GET
+    @Query("""
+            SELECT COUNT(s) AS slotCount, MAX(s.id) AS maxSlotId, MAX(s.updatedAt) AS slotsUpdatedAt,
+                   MAX(t.updatedAt) AS timetablesUpdatedAt
+            FROM TimeSlotSubjectMapper s JOIN s.timeTable t
+            WHERE t.classId = :classId AND (:sectionId IS NULL OR t.sectionId = :sectionId)
+              AND (:academicYearId IS NULL OR t.academicYearId = :academicYearId)
+              AND t.isDeleted = false AND (s.active IS NULL OR s.active = true)
+            """)
+    SlotsVersionView findClassSlotsVersion(@Param("classId") Long classId, @Param("sectionId") Long sectionId,
+                                           @Param("academicYearId") Integer academicYearId);
+
+    /**
+     * Distinct time strings of slots whose numeric minutes have not been filled in yet (pre-migration rows)
+     */
+    @Query("SELECT DISTINCT s.startTime AS startTime, s.endTime AS endTime FROM TimeSlotSubjectMapper s WHERE s.startMinute IS NULL")
+    List<TimePair> findDistinctTimesWithoutMinutes();
+
+    @Modifying
+    @Query("""
+            UPDATE TimeSlotSubjectMapper s SET s.startMinute = :startMinute, s.endMinute = :endMinute
+            WHERE s.startTime = :startTime AND s.endTime = :endTime AND s.startMinute IS NULL
+            """)
+    int fillMinutes(@Param("startTime") String startTime, @Param("endTime") String endTime,
+                    @Param("startMinute") Integer startMinute, @Param("endMinute") Integer endMinute);
+
+    /**
+     * Link unlinked slots with exactly the period's bounds to it
+     */
+    @Modifying
+    @Query("""
+            UPDATE TimeSlotSubjectMapper s SET s.periodId = :periodId, s.updatedAt = CURRENT_TIMESTAMP
+            WHERE s.startMinute = :startMinute AND s.endMinute = :endMinute AND s.periodId IS NULL
+            """)
+    int linkPeriod(@Param("periodId") Long periodId,
+                   @Param("startMinute") Integer startMinute, @Param("endMinute") Integer endMinute);
+
+    @Modifying
+    @Query("UPDATE TimeSlotSubjectMapper s SET s.periodId = NULL, s.updatedAt = CURRENT_TIMESTAMP WHERE s.periodId = :periodId")
+    int unlinkPeriod(@Param("periodId") Long periodId);
+
+    interface TimePair {
+        String getStartTime();
+        String getEndTime();
+    }
+
+    interface ScheduleSlotRow {
+        Long getSlotId();
+        Long getTimetableId();
+        String getTimetableName();
+        Long getClassId();
+        Long getSectionId();
+        Integer getDay();
+        String getStartTime();
+        String getEndTime();
+        Long getPeriodId();
+        Long getSubjectId();
+        String getTeacherName();
+        String getRoom();
+    }
+
+    interface SlotsVersionView {
+        Long getSlotCount();
+        Long getMaxSlotId();
+        LocalDateTime getSlotsUpdatedAt();
+        LocalDateTime getTimetablesUpdatedAt();
+    }
+
+    interface SlotRow {
+        Long getSlotId();
+        Long getTimetableId();
+        String getTimetableName();
+        Integer getAcademicYearId();
+        Integer getDay();
+        String getStartTime();
+        String getEndTime();
+        Integer getStartMinute();
+        Integer getEndMinute();
+        Long getSubjectId();
+        String getTeacherName();
+        String getRoom();
+    }
 }
@@ -5,11 +5,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -28,10 +30,55 @@ public interface TimeTableRepository extends JpaRepository<TimeTable, Long> {
             @Param("search") String search,
             Pageable pageable);
 
+    // Phase 1 of the paged listing: only the ids of the requested page, no entity hydration
+    @Query(value = "SELECT t.id FROM TimeTable t " +
+            "WHERE t.isDeleted = false " +
+            "AND (:classId IS NULL OR t.classId = :classId) " +
+            "AND (:sectionId IS NULL OR t.sectionId = :sectionId) " +
+            "AND (:search IS NULL OR LOWER(t.timetableName) LIKE LOWER(CONCAT('%', :search, '%')))",
+            countQuery = "SELECT COUNT(t) FROM TimeTable t " +
+                    "WHERE t.isDeleted = false " +
+                    "AND (:classId IS NULL OR t.classId = :classId) " +
+                    "AND (:sectionId IS NULL OR t.sectionId = :sectionId) " +
+                    "AND (:search IS NULL OR LOWER(t.timetableName) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Page<Long> findIdsByFilters(
+            @Param("classId") Long classId,
+            @Param("sectionId") Long sectionId,
+            @Param("search") String search,
+            Pageable pageable);
+
+    // Phase 2 of the paged listing: timetables of the page together with their slots in one query
+    @EntityGraph(attributePaths = "slots")
+    @Query("SELECT t FROM TimeTable t WHERE t.id IN :ids")
+    List<TimeTable> findWithSlotsByIdIn(@Param("ids") Collection<Long> ids);
+
     List<TimeTable> findByIsDeletedFalse();
 
     Optional<TimeTable> findByIdAndIsDeletedFalse(Long id);
 
+    @EntityGraph(attributePaths = "slots")
+    Optional<TimeTable> findWithSlotsByIdAndIsDeletedFalse(Long id);
+
+    // Version fingerprint of a timetable and its slots, for conditional GET
+    @Query("SELECT t.id AS id, t.updatedAt AS updatedAt, COUNT(s) AS slotCount, " +
+            "MAX(s.id) AS maxSlotId, MAX(s.updatedAt) AS slotsUpdatedAt " +
+            "FROM TimeTable t LEFT JOIN t.slots s " +
+            "WHERE t.id = :id AND t.isDeleted = false " +
+            "GROUP BY t.id, t.updatedAt")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
+
+    interface VersionView {
+        Long getId();
+
+        LocalDateTime getUpdatedAt();
+
+        Long getSlotCount();
+
+        Long getMaxSlotId();
+
+        LocalDateTime getSlotsUpdatedAt();
+    }
+
     boolean existsByTimetableNameAndClassIdAndSectionIdAndIsDeletedFalseAndIdNot(@NotBlank String timetableName, @NotNull Long classId, Long sectionId, Long id);
 
     boolean existsByTimetableNameAndIsDeletedFalse(@NotBlank String timetableName);
@@ -0,0 +1,11 @@
+package com.academic.repository;
+
+import java.time.LocalDateTime;
+
+// Projection used to fingerprint a row (for ETags) without hydrating the entity
+public interface UpdatedAtView {
+
+    Long getId();
+
+    LocalDateTime getUpdatedAt();
+}
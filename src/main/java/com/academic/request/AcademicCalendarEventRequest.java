@@ -1,5 +1,6 @@
 package com.academic.request;
 
+import com.academic.dto.RecurrenceException;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -23,5 +24,9 @@ public record AcademicCalendarEventRequest(
         String duration,
 
         @NotBlank(message = "Status is required")
-        String status
+        String status,
+
+        String recurrenceRule, // e.g. FREQ=WEEKLY;BYDAY=MO;UNTIL=20270331, null for a one-off event
+
+        List<RecurrenceException> exceptions // cancelled or changed occurrences of a recurring event
 ) {}
@@ -0,0 +1,24 @@
+package com.academic.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AcademicYearRolloverRequest {
+    private Integer fromAcademicYearId;     // year to copy; null copies the rows created before years were tracked
+
+    @NotNull
+    private Integer toAcademicYearId;
+
+    private Boolean dryRun;                 // true only counts what would be copied
+
+    private Boolean includeTimetables;      // each part is copied unless set to false
+    private Boolean includeTeacherAssignments;
+    private Boolean includeExamSetups;
+
+    private String timetableNameSuffix;     // appended to copied timetable names; " (<target year>)" when blank
+    private Integer examDateShiftDays;      // 364 (52 weeks, same weekday) when empty
+}
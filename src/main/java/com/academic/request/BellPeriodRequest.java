@@ -0,0 +1,21 @@
+package com.academic.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BellPeriodRequest {
+    @NotBlank
+    private String periodName;
+
+    private Integer sequenceNo;
+
+    @NotBlank
+    private String startTime; // "09:00"
+
+    @NotBlank
+    private String endTime;   // "10:00"
+}
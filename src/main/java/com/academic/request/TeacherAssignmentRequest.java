@@ -15,4 +15,5 @@ public class TeacherAssignmentRequest {
     private List<Long> classIds; // List of class IDs from CommonMaster
     private Integer loadHours;
     private String status;
+    private Integer academicYearId;
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 public class TimeSlotDTO {
+    private Long id; // existing slot to update; omit for new slots (day + startTime also match existing ones)
     private String startTime;
     private String endTime;
 
@@ -16,5 +17,6 @@ public class TimeSlotDTO {
     private String teacherId;
     private String roomId;
     private Integer day;
+    private Long periodId; // bell period; when given, startTime/endTime are taken from it
     private String notes;
 }
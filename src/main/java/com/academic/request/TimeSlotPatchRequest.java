@@ -0,0 +1,17 @@
+package com.academic.request;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Partial slot edit of one timetable: only the slots that changed, plus the ids of slots to remove
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeSlotPatchRequest {
+    private List<TimeSlotDTO> slots;       // matched by id, else by day + startTime; unmatched ones are added
+    private List<Long> removedSlotIds;
+}
@@ -23,5 +23,7 @@ public class TimeTableRequest {
     @NotNull
     private Long daysCoveredId;
 
+    private Integer academicYearId;
+
     private List<TimeSlotDTO> slots;
 }
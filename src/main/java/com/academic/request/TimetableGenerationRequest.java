@@ -0,0 +1,25 @@
+package com.academic.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimetableGenerationRequest {
+    private List<Long> classSectionIds; // sections to generate for; all live sections when empty
+    private List<Integer> days;         // 1 = Monday .. 7 = Sunday; Monday to Friday when empty
+
+    @NotNull
+    private Long daysCoveredId;
+
+    private Integer academicYearId;     // year of the new timetables; only that year's bookings are kept free
+
+    private String timetableNamePrefix; // "Generated" when blank
+    private Integer timeBudgetSeconds;
+    private Integer workers;            // parallel searches; number of cores when empty
+    private Boolean persist;            // false returns the proposed timetables without saving them
+}
@@ -1,17 +1,25 @@
 package com.academic.response;
 
 
+import com.academic.dto.RecurrenceException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDate;
 import java.util.List;
 
 public record AcademicCalendarEventResponse(
         Long id,
         String eventName,
-        LocalDate date,
+        LocalDate date, // the occurrence's date when expanded from a recurring event
         String type,
         String classesInvolved, // comma-separated string for frontend
         List<Long> classIds,
         String duration,
-        String status
+        String status,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String recurrenceRule,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        LocalDate occurrenceOf, // scheduled date of an expanded occurrence (differs from date when moved)
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        List<RecurrenceException> exceptions // on the event itself, not on expanded occurrences
 ) {}
-
@@ -0,0 +1,31 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rows copied to the target year (or that would be, for a dry run); skipped rows already exist there
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AcademicYearRolloverResponse {
+    private Integer fromAcademicYearId;
+    private Integer toAcademicYearId;
+    private Boolean dryRun;
+    private String timetableNameSuffix;
+    private Integer examDateShiftDays;
+
+    private Integer timetablesCopied;
+    private Integer timetablesSkipped;
+    private Integer slotsCopied;
+    private Integer teacherAssignmentsCopied;
+    private Integer teacherAssignmentsSkipped;
+    private Integer examSetupsCopied;
+    private Integer examSetupsSkipped;
+
+    private Long elapsedMs;
+}
@@ -0,0 +1,34 @@
+package com.academic.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busy bitsets per teacher, room and class (timetable name), each the base64 of little-endian longs:
+ * bit (dayIndex * periods.size() + periodIndex) is set when the resource is booked in that cell
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityMatrixResponse {
+    private Integer academicYearId;
+    private List<Integer> days;
+    private List<BellPeriodResponse> periods;
+    private Integer cells;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, String> teachers;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, String> rooms;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, String> classes;
+}
@@ -0,0 +1,20 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BellPeriodResponse {
+    private Long id;
+    private String periodName;
+    private Integer sequenceNo;
+    private String startTime;
+    private String endTime;
+    private Integer startMinute;
+    private Integer endMinute;
+}
@@ -0,0 +1,18 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CalendarDayResponse {
+    private LocalDate date;
+    private List<AcademicCalendarEventResponse> events; // empty on days without events
+}
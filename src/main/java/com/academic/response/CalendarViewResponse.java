@@ -0,0 +1,25 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Every day of a month or week with its live events, for rendering a calendar in one call
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CalendarViewResponse {
+    private String view; // MONTH or WEEK
+    private LocalDate from;
+    private LocalDate to;
+    private Long classId;
+    private Integer eventCount;
+    private List<CalendarDayResponse> days;
+}
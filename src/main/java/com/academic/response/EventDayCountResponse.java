@@ -0,0 +1,20 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventDayCountResponse {
+    private LocalDate date;
+    private Integer total;
+    private Map<String, Integer> byType;
+    private Map<String, Integer> byStatus;
+}
@@ -0,0 +1,24 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Live event counts per day of a date range; days without events are left out
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventHeatmapResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private Long classId;
+    private Integer total;
+    private List<EventDayCountResponse> days;
+}
@@ -0,0 +1,21 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FreeRoomResponse {
+    private Integer day;
+    private String startTime;
+    private String endTime;
+    private Long periodId;
+    private Integer totalRooms;
+    private List<String> freeRooms;
+}
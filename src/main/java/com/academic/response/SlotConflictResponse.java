@@ -0,0 +1,27 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One double booking: a requested slot and the existing (or other requested) slot it collides with
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotConflictResponse {
+    private String type;      // TEACHER or ROOM
+    private String resource;  // teacher name / room as given in the request
+    private Integer day;
+    private String startTime;
+    private String endTime;
+
+    private Long conflictingTimetableId;
+    private String conflictingTimetableName;
+    private Long conflictingSlotId; // null when the clash is between two slots of the same request
+    private String conflictingStartTime;
+    private String conflictingEndTime;
+}
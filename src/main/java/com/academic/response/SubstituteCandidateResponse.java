@@ -0,0 +1,17 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubstituteCandidateResponse {
+    private String teacherName;
+    private String employeeId;
+    private Integer loadHours;     // summed over the teacher's assignments of the slot's year (all years without one)
+    private Integer bookedMinutes; // already timetabled on that day
+}
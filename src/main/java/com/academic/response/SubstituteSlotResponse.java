@@ -0,0 +1,28 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slot of the absent teacher with the free, qualified teachers who could take it, best first
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubstituteSlotResponse {
+    private Long slotId;
+    private Long timetableId;
+    private String timetableName;
+    private Integer day;
+    private String startTime;
+    private String endTime;
+    private Long subjectId;
+    private String subjectName;
+    private String roomId;
+    private List<SubstituteCandidateResponse> candidates;
+}
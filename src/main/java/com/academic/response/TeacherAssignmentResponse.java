@@ -17,4 +17,5 @@ public class TeacherAssignmentResponse {
     private String classNames;             // Human-readable names (comma-separated)
     private Integer loadHours;
     private String status;
+    private Integer academicYearId;
 }
@@ -0,0 +1,23 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One teacher's week across every live timetable, in day/time order
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeacherScheduleResponse {
+    private String teacher;
+    private List<String> matchedNames; // slot values counted as this teacher (name, employee id, spellings)
+    private Integer totalSlots;
+    private Integer totalMinutes;
+    private List<TeacherScheduleSlotResponse> slots;
+}
@@ -0,0 +1,30 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeacherScheduleSlotResponse {
+    private Long slotId;
+    private Integer day;
+    private String startTime;
+    private String endTime;
+    private Long periodId;
+
+    private Long timetableId;
+    private String timetableName;
+    private Long classId;
+    private String className;
+    private Long sectionId;
+    private String sectionName;
+
+    private Long subjectId;
+    private String subjectName;
+    private String teacherId; // as stored on the slot
+    private String roomId;
+}
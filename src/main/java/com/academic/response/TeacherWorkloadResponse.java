@@ -0,0 +1,26 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Timetabled weekly hours of a teacher in an academic year against their assigned load
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeacherWorkloadResponse {
+    private String teacherName;
+    private String employeeId;
+    private Integer academicYearId;
+    private Integer scheduledMinutes;   // per week, over all timetables of the year
+    private Double scheduledHours;
+    private Integer assignedLoadHours;  // summed over the teacher's assignments; null without assignments
+    private Boolean overloaded;
+    private List<String> scheduledAs;   // teacher values the slots store (name and/or employee id)
+}
@@ -18,5 +18,6 @@ public class TimeSlotResponse {
     private String teacherId;
     private String roomId;
     private Integer day;
+    private Long periodId;
     private String notes;
 }
@@ -2,6 +2,7 @@ package com.academic.response;
 
 
 import com.academic.request.TimeSlotDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
@@ -18,7 +19,11 @@ public class TimeTableResponse {
     private Integer daysCoveredId;
     private Integer sectionId;
     private String sectionName; // new
+    private Integer academicYearId;
     private List<TimeSlotResponse> slots;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> warnings; // only on create/update, e.g. teachers scheduled above their assigned load
 }
 
 
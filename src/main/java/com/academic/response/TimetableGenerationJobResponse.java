@@ -0,0 +1,41 @@
+package com.academic.response;
+
+import com.academic.request.TimeTableRequest;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Progress and outcome of a timetable generation job; score is the solver penalty (0 is perfect)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimetableGenerationJobResponse {
+    private String jobId;
+    private String status; // QUEUED, RUNNING, PERSISTING, COMPLETED, FAILED
+    private String message;
+
+    private Integer sections;
+    private Integer lessons;
+    private Integer workers;
+    private Integer timeBudgetSeconds;
+    private Long elapsedMs;
+    private Long iterations;
+    private Long restarts;
+
+    private Integer hardViolations;
+    private Integer softPenalty;
+    private Long score;
+
+    private List<Long> createdTimetableIds;
+    private List<String> warnings;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<TimeTableRequest> proposedTimetables;
+}
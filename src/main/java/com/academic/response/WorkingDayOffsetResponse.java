@@ -0,0 +1,19 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkingDayOffsetResponse {
+    private LocalDate date;
+    private Boolean workingDay; // whether date itself is a working day
+    private Integer offset;
+    private LocalDate result;   // the offset-th working day after date (before it when negative)
+}
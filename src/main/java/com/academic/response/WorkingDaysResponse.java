@@ -0,0 +1,19 @@
+package com.academic.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkingDaysResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private Integer calendarDays;
+    private Integer workingDays; // excluding weekends and closure events (holidays, vacations, ...)
+}
@@ -2,12 +2,18 @@ package com.academic.service;
 
 
 
+import com.academic.dto.ResourceVersion;
 import com.academic.request.AcademicCalendarEventRequest;
 import com.academic.response.AcademicCalendarEventResponse;
+import com.academic.response.CalendarViewResponse;
+import com.academic.response.EventHeatmapResponse;
+import com.academic.response.WorkingDayOffsetResponse;
+import com.academic.response.WorkingDaysResponse;
 import org.springframework.data.domain.Page;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface AcademicCalendarEventService {
 
@@ -17,17 +23,40 @@ public interface AcademicCalendarEventService {
     // --- R - READ BY ID ---
     AcademicCalendarEventResponse findById(Long id);
 
+    // --- R - VERSION FINGERPRINT (conditional GET) ---
+    Optional<ResourceVersion> getVersion(Long id);
+
     // --- U - UPDATE ---
     AcademicCalendarEventResponse update(Long id, AcademicCalendarEventRequest request);
 
     // --- D - DELETE (Soft Delete) ---
     void delete(Long id);
 
+    // --- R - EVENTS OF ONE CLASS BETWEEN TWO DATES (inclusive), in date order ---
+    List<AcademicCalendarEventResponse> findByClass(Long classId, LocalDate from, LocalDate to);
+
+    // --- R - MONTH OR WEEK CONTAINING THE DATE, events grouped by day (optionally of one class) ---
+    CalendarViewResponse getCalendarView(String view, LocalDate date, Long classId);
+
+    // --- R - WORKING DAYS (weekends and closure events excluded) BETWEEN TWO DATES, inclusive ---
+    WorkingDaysResponse countWorkingDays(LocalDate from, LocalDate to);
+
+    // --- R - THE OFFSET-TH WORKING DAY AFTER (negative: before) A DATE ---
+    WorkingDayOffsetResponse addWorkingDays(LocalDate date, int offset);
+
+    // --- R - EVENT COUNTS PER DAY, TYPE AND STATUS IN A RANGE (of up to MAX_HEATMAP_DAYS days) ---
+    EventHeatmapResponse getHeatmap(LocalDate from, LocalDate to, Long classId);
+
+    /**
+     * @param date exact day, or null; from/to bound the date inclusively and may be used alone
+     */
     Page<AcademicCalendarEventResponse> findAll(
             String search,
             String type,
             String status,
             LocalDate date,
+            LocalDate from,
+            LocalDate to,
             int page,
             int size);
 }
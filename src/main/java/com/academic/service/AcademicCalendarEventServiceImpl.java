@@ -1,14 +1,25 @@
 package com.academic.service;
 
+import com.academic.dto.RecurrenceException;
+import com.academic.dto.ResourceVersion;
 import com.academic.entity.AcademicCalendarEvent;
-import com.academic.entity.CommonMaster;
+import com.academic.entity.AcademicCalendarEventClass;
 import com.academic.exception.CustomException;
 import com.academic.mapper.AcademicCalendarEventMapper;
 import com.academic.repository.AcademicCalendarEventRepository;
-import com.academic.repository.CommonMasterRepository;
 import com.academic.request.AcademicCalendarEventRequest;
 import com.academic.response.AcademicCalendarEventResponse;
+import com.academic.response.CalendarDayResponse;
+import com.academic.response.CalendarViewResponse;
+import com.academic.response.EventDayCountResponse;
+import com.academic.response.EventHeatmapResponse;
+import com.academic.response.WorkingDayOffsetResponse;
+import com.academic.response.WorkingDaysResponse;
+import com.academic.utility.RecurrenceRule;
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -17,25 +28,39 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventService {
 
     private static final Logger log = LoggerFactory.getLogger(AcademicCalendarEventServiceImpl.class);
+    private static final int MAX_HEATMAP_DAYS = 400; // an academic year with some margin
     private final AcademicCalendarEventRepository repository;
-    private final CommonMasterRepository commonMasterRepository;
-
-    public AcademicCalendarEventServiceImpl(AcademicCalendarEventRepository repository, CommonMasterRepository commonMasterRepository) {
+    private final CommonMasterCache commonMasterCache;
+    private final ListResponseCache listResponseCache;
+    private final EventClassMembership eventClassMembership;
+    private final WorkingDayCalendar workingDayCalendar;
+
+    public AcademicCalendarEventServiceImpl(AcademicCalendarEventRepository repository, CommonMasterCache commonMasterCache,
+                                            ListResponseCache listResponseCache, EventClassMembership eventClassMembership,
+                                            WorkingDayCalendar workingDayCalendar) {
         this.repository = repository;
-        this.commonMasterRepository = commonMasterRepository;
+        this.commonMasterCache = commonMasterCache;
+        this.listResponseCache = listResponseCache;
+        this.eventClassMembership = eventClassMembership;
+        this.workingDayCalendar = workingDayCalendar;
     }
 
     @Override
+    @Transactional
     public AcademicCalendarEventResponse create(AcademicCalendarEventRequest request) {
         log.info("Creating new academic event: {}", request);
 
@@ -58,14 +83,16 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
 
         // Map request to entity
         AcademicCalendarEvent entity = AcademicCalendarEventMapper.toEntity(request);
+        applyRecurrence(entity, request.recurrenceRule(), request.exceptions());
 
         // Save entity
         AcademicCalendarEvent saved = repository.save(entity);
+        eventClassMembership.replace(saved);
+        workingDayCalendar.eventChanged(saved);
+        listResponseCache.evictAll(ListResponseCache.EVENTS);
 
         // Fetch class names
-        Map<Long, String> classIdToNameMap = commonMasterRepository.findByIdInAndStatusTrue(
-                request.classIds().stream().map(Long::intValue).toList()
-        ).stream().collect(Collectors.toMap(cm -> cm.getId().longValue(), CommonMaster::getData));
+        Map<Long, String> classIdToNameMap = commonMasterCache.newBatchResolver().activeDataByIds(request.classIds());
 
         // Return response with class names
         return AcademicCalendarEventMapper.toResponse(saved, classIdToNameMap);
@@ -88,11 +115,7 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
         // Fetch class names from common master if there are any classes
         Map<Long, String> classIdToNameMap = Map.of();
         if (entity.getClassesInvolved() != null && !entity.getClassesInvolved().isEmpty()) {
-            classIdToNameMap = commonMasterRepository.findByIdInAndStatusTrue(
-                            entity.getClassesInvolved().stream().map(Long::intValue).toList()
-                    )
-                    .stream()
-                    .collect(Collectors.toMap(cm -> cm.getId().longValue(), CommonMaster::getData));
+            classIdToNameMap = commonMasterCache.newBatchResolver().activeDataByIds(entity.getClassesInvolved());
         }
 
         // Map to response with both IDs and names
@@ -102,6 +125,16 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
 
 
     @Override
+    public Optional<ResourceVersion> getVersion(Long id) {
+        return repository.findUpdatedAtById(id)
+                .map(v -> ResourceVersion.of(v.getUpdatedAt(),
+                        "event", v.getId(), v.getUpdatedAt(), commonMasterCache.version()));
+    }
+
+
+
+    @Override
+    @Transactional
     public AcademicCalendarEventResponse update(Long id, AcademicCalendarEventRequest request) {
         log.info("Updating academic event with id: {}. New data: {}", id, request);
 
@@ -130,14 +163,17 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
         existing.setClassesInvolved(request.classIds());
         existing.setDuration(request.duration());
         existing.setStatus(request.status());
+        applyRecurrence(existing, request.recurrenceRule(), request.exceptions());
 
         // Save updated entity
         AcademicCalendarEvent updated = repository.save(existing);
+        eventClassMembership.replace(updated);
+        workingDayCalendar.eventChanged(updated);
+        // Pages are sorted by date, so a changed date can move the event onto any cached page
+        listResponseCache.evictAll(ListResponseCache.EVENTS);
 
         // Fetch class names from common master
-        Map<Long, String> classIdToNameMap = commonMasterRepository.findByIdInAndStatusTrue(
-                updated.getClassesInvolved().stream().map(Long::intValue).toList()
-        ).stream().collect(Collectors.toMap(cm -> cm.getId().longValue(), CommonMaster::getData));
+        Map<Long, String> classIdToNameMap = commonMasterCache.newBatchResolver().activeDataByIds(updated.getClassesInvolved());
 
         // Return response with class names
         return AcademicCalendarEventMapper.toResponse(updated, classIdToNameMap);
@@ -146,6 +182,7 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
 
 
     @Override
+    @Transactional
     public void delete(Long id) {
         log.warn("Attempting to soft delete academic event with id: {}", id);
 
@@ -158,6 +195,9 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
 
         existing.setDeleted(true);
         repository.save(existing);
+        eventClassMembership.remove(id);
+        workingDayCalendar.eventChanged(existing);
+        listResponseCache.evictAll(ListResponseCache.EVENTS);
         log.info("Academic event soft deleted successfully with id: {}", id);
     }
 
@@ -169,14 +209,282 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
             String type,
             String status,
             LocalDate date,
+            LocalDate from,
+            LocalDate to,
             int page,
             int size) {
 
-        log.info("Fetching academic events with filters - search: {}, type: {}, status: {}, date: {}, page: {}, size: {}",
-                search, type, status, date, page, size);
+        log.info("Fetching academic events with filters - search: {}, type: {}, status: {}, date: {}, from: {}, to: {}, page: {}, size: {}",
+                search, type, status, date, from, to, page, size);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new CustomException(
+                    "Invalid event range",
+                    "INVALID_EVENT_RANGE",
+                    "The range start must not be after its end."
+            );
+        }
+
+        return listResponseCache.get(ListResponseCache.EVENTS,
+                Arrays.asList(search, type, status, date, from, to), page, size,
+                () -> loadPage(search, type, status, date, from, to, page, size),
+                result -> result.map(AcademicCalendarEventResponse::id).getContent());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AcademicCalendarEventResponse> findByClass(Long classId, LocalDate from, LocalDate to) {
+        if (classId == null || from == null || to == null || from.isAfter(to)) {
+            throw new CustomException(
+                    "Invalid class event range",
+                    "INVALID_EVENT_RANGE",
+                    "Pass a class id and a date range whose start is not after its end."
+            );
+        }
+        log.info("Fetching academic events of class {} from {} to {}", classId, from, to);
+
+        return occurrences(repository.findByClassAndDateRange(classId, from, to),
+                repository.findRecurringByClassOverlapping(classId, from, to), from, to);
+    }
+
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public CalendarViewResponse getCalendarView(String view, LocalDate date, Long classId) {
+        LocalDate anchor = date != null ? date : LocalDate.now();
+        String normalizedView = view == null ? "MONTH" : view.trim().toUpperCase(Locale.ROOT);
+
+        LocalDate from;
+        LocalDate to;
+        switch (normalizedView) {
+            case "MONTH" -> {
+                from = anchor.withDayOfMonth(1);
+                to = anchor.with(TemporalAdjusters.lastDayOfMonth());
+            }
+            case "WEEK" -> {
+                from = anchor.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                to = from.plusDays(6);
+            }
+            default -> throw new CustomException(
+                    "Invalid calendar view: " + view,
+                    "INVALID_CALENDAR_VIEW",
+                    "Use MONTH or WEEK."
+            );
+        }
+        log.info("Fetching {} calendar view from {} to {} (class: {})", normalizedView, from, to, classId);
+
+        // Range queries only; the response grows with the days of the range, not with a page size
+        List<AcademicCalendarEventResponse> responses = classId != null
+                ? occurrences(repository.findByClassAndDateRange(classId, from, to),
+                        repository.findRecurringByClassOverlapping(classId, from, to), from, to)
+                : occurrences(repository.findLiveInRange(from, to),
+                        repository.findLiveRecurringOverlapping(from, to), from, to);
+
+        Map<LocalDate, List<AcademicCalendarEventResponse>> byDay = new HashMap<>();
+        responses.forEach(event -> byDay.computeIfAbsent(event.date(), d -> new ArrayList<>()).add(event));
+
+        List<CalendarDayResponse> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            days.add(new CalendarDayResponse(day, byDay.getOrDefault(day, List.of())));
+        }
+
+        return CalendarViewResponse.builder()
+                .view(normalizedView)
+                .from(from)
+                .to(to)
+                .classId(classId)
+                .eventCount(responses.size())
+                .days(days)
+                .build();
+    }
+
+    @Override
+    public WorkingDaysResponse countWorkingDays(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new CustomException(
+                    "Invalid working day range",
+                    "INVALID_EVENT_RANGE",
+                    "Pass a date range whose start is not after its end."
+            );
+        }
+        return WorkingDaysResponse.builder()
+                .from(from)
+                .to(to)
+                .calendarDays(Math.toIntExact(ChronoUnit.DAYS.between(from, to) + 1))
+                .workingDays(workingDayCalendar.countWorkingDays(from, to))
+                .build();
+    }
+
+    @Override
+    public WorkingDayOffsetResponse addWorkingDays(LocalDate date, int offset) {
+        return WorkingDayOffsetResponse.builder()
+                .date(date)
+                .workingDay(workingDayCalendar.isWorkingDay(date))
+                .offset(offset)
+                .result(workingDayCalendar.addWorkingDays(date, offset))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventHeatmapResponse getHeatmap(LocalDate from, LocalDate to, Long classId) {
+        if (from == null || to == null || from.isAfter(to) || from.plusDays(MAX_HEATMAP_DAYS).isBefore(to)) {
+            throw new CustomException(
+                    "Invalid heatmap range",
+                    "INVALID_EVENT_RANGE",
+                    "Pass a date range of at most " + MAX_HEATMAP_DAYS + " days whose start is not after its end."
+            );
+        }
+        long started = System.nanoTime();
+
+        // One-off events are counted by the database; only the few recurring series are expanded here
+        Map<LocalDate, DayCount> days = new TreeMap<>();
+        List<AcademicCalendarEventRepository.DayCountRow> rows = classId != null
+                ? repository.countByClassAndDay(classId, from, to)
+                : repository.countLiveByDay(from, to);
+        for (AcademicCalendarEventRepository.DayCountRow row : rows) {
+            days.computeIfAbsent(row.getDate(), d -> new DayCount())
+                    .add(row.getType(), row.getStatus(), Math.toIntExact(row.getEventCount()));
+        }
+
+        List<AcademicCalendarEvent> recurring = classId != null
+                ? repository.findRecurringByClassOverlapping(classId, from, to)
+                : repository.findLiveRecurringOverlapping(from, to);
+        for (AcademicCalendarEvent event : recurring) {
+            forEachOccurrence(event, from, to, (date, occurrenceOf, change) ->
+                    days.computeIfAbsent(date, d -> new DayCount()).add(event.getType(),
+                            change != null && change.status() != null ? change.status() : event.getStatus(), 1));
+        }
+
+        List<EventDayCountResponse> result = new ArrayList<>(days.size());
+        int total = 0;
+        for (Map.Entry<LocalDate, DayCount> day : days.entrySet()) {
+            DayCount count = day.getValue();
+            total += count.total;
+            result.add(new EventDayCountResponse(day.getKey(), count.total, count.byType, count.byStatus));
+        }
+
+        log.info("Event heatmap {} to {} (class: {}): {} events on {} days from {} rows and {} series in {} us",
+                from, to, classId, total, result.size(), rows.size(), recurring.size(), (System.nanoTime() - started) / 1_000);
+        return EventHeatmapResponse.builder()
+                .from(from)
+                .to(to)
+                .classId(classId)
+                .total(total)
+                .days(result)
+                .build();
+    }
+
+    /**
+     * What happens in [from, to], in date order: the one-off events as they are and the recurring
+     * ones expanded for that window only, with their cancelled, moved and changed occurrences applied
+     */
+    private List<AcademicCalendarEventResponse> occurrences(List<AcademicCalendarEvent> oneOff,
+                                                            List<AcademicCalendarEvent> recurring,
+                                                            LocalDate from, LocalDate to) {
+        List<Long> allClassIds = Stream.concat(oneOff.stream(), recurring.stream())
+                .flatMap(event -> event.getClassesInvolved().stream())
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, String> classIdToNameMap = commonMasterCache.newBatchResolver().activeDataByIds(allClassIds);
+
+        List<AcademicCalendarEventResponse> result = new ArrayList<>(oneOff.size());
+        oneOff.forEach(event -> result.add(AcademicCalendarEventMapper.toResponse(event, classIdToNameMap)));
+
+        for (AcademicCalendarEvent event : recurring) {
+            forEachOccurrence(event, from, to, (date, occurrenceOf, change) -> result.add(
+                    AcademicCalendarEventMapper.toOccurrenceResponse(event, date, occurrenceOf, change, classIdToNameMap)));
+        }
+
+        result.sort(Comparator.comparing(AcademicCalendarEventResponse::date)
+                .thenComparing(AcademicCalendarEventResponse::id));
+        return result;
+    }
+
+    private static void forEachOccurrence(AcademicCalendarEvent event, LocalDate from, LocalDate to,
+                                          EventOccurrences.Visitor visitor) {
+        EventOccurrences.forEach(event.getDate(), event.getRecurrenceRule(), event.getRecurrenceExceptions(),
+                from, to, visitor);
+    }
+
+    private static final class DayCount {
+        int total;
+        final Map<String, Integer> byType = new TreeMap<>();
+        final Map<String, Integer> byStatus = new TreeMap<>();
+
+        void add(String type, String status, int count) {
+            total += count;
+            byType.merge(type != null ? type : "", count, Integer::sum);
+            byStatus.merge(status != null ? status : "", count, Integer::sum);
+        }
+    }
+
+    /**
+     * Validate the recurrence rule and exceptions and derive recurrenceEnd, the last day with an
+     * occurrence, which lets range queries skip series that ended before the window
+     */
+    private static void applyRecurrence(AcademicCalendarEvent event, String ruleValue, List<RecurrenceException> exceptions) {
+        if (ruleValue == null || ruleValue.isBlank()) {
+            if (exceptions != null && !exceptions.isEmpty()) {
+                throw new CustomException(
+                        "Exceptions need a recurring event",
+                        "INVALID_RECURRENCE_EXCEPTION",
+                        "Only occurrences of an event with a recurrence rule can be cancelled or changed."
+                );
+            }
+            event.setRecurrenceRule(null);
+            event.setRecurrenceEnd(null);
+            event.setRecurrenceExceptions(null);
+            return;
+        }
+
+        LocalDate start = event.getDate();
+        RecurrenceRule parsed = RecurrenceRule.parse(ruleValue);
+        if (!parsed.occursOn(start, start)) {
+            throw new CustomException(
+                    "Invalid recurrence rule: " + ruleValue,
+                    "INVALID_RECURRENCE_RULE",
+                    "The event date must be the first occurrence of the rule (e.g. a Monday for BYDAY=MO)."
+            );
+        }
+        // Only once the start is known to occur, so counting COUNT occurrences from it ends
+        RecurrenceRule rule = parsed.withCountAsUntil(start);
+        LocalDate last = rule.lastOccurrence(start);
+        LocalDate end = last != null ? last : AcademicCalendarEvent.OPEN_ENDED;
+
+        Map<LocalDate, RecurrenceException> byDate = new TreeMap<>();
+        for (RecurrenceException change : exceptions == null ? List.<RecurrenceException>of() : exceptions) {
+            if (change == null || change.date() == null || !rule.occursOn(start, change.date())
+                    || byDate.put(change.date(), change) != null) {
+                throw new CustomException(
+                        "Invalid recurrence exception: " + (change == null ? null : change.date()),
+                        "INVALID_RECURRENCE_EXCEPTION",
+                        "Each exception must name a different date on which the event occurs."
+                );
+            }
+            if (change.movedTo() != null) {
+                if (change.movedTo().isBefore(start)) {
+                    throw new CustomException(
+                            "Invalid recurrence exception: " + change.date(),
+                            "INVALID_RECURRENCE_EXCEPTION",
+                            "An occurrence cannot be moved before the first date of the event."
+                    );
+                }
+                if (change.movedTo().isAfter(end)) end = change.movedTo();
+            }
+        }
+
+        event.setRecurrenceRule(rule.toString());
+        event.setRecurrenceEnd(end);
+        event.setRecurrenceExceptions(byDate.isEmpty() ? null : new ArrayList<>(byDate.values()));
+    }
+
+    private Page<AcademicCalendarEventResponse> loadPage(
+            String search, String type, String status, LocalDate date, LocalDate from, LocalDate to, int page, int size) {
 
         // Build Specification
-        Specification<AcademicCalendarEvent> spec = withFilters(search, type, status, date);
+        Specification<AcademicCalendarEvent> spec = withFilters(search, type, status, date,
+                date != null ? seriesOccurringOn(date) : Set.of(), from, to);
 
         // Pageable with sorting by date descending
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "date"));
@@ -191,9 +499,7 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
                 .collect(Collectors.toList());
 
         // Fetch class names from common master
-        Map<Long, String> classIdToNameMap = commonMasterRepository.findByIdInAndStatusTrue(
-                allClassIds.stream().map(Long::intValue).toList()
-        ).stream().collect(Collectors.toMap(cm -> cm.getId().longValue(), CommonMaster::getData));
+        Map<Long, String> classIdToNameMap = commonMasterCache.newBatchResolver().activeDataByIds(allClassIds);
 
         // Map entities to response DTOs with class names
         return eventsPage.map(event -> AcademicCalendarEventMapper.toResponse(event, classIdToNameMap));
@@ -201,17 +507,29 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
 
 
 
+    /**
+     * @param seriesOnDate ids of the recurring events with an occurrence on date, see {@link #seriesOccurringOn}
+     */
     public static Specification<AcademicCalendarEvent> withFilters(
-            String search, String type, String status, LocalDate date) {
+            String search, String type, String status, LocalDate date, Collection<Long> seriesOnDate,
+            LocalDate from, LocalDate to) {
 
         return (root, query, cb) -> {
             Predicate predicate = cb.equal(root.get("isDeleted"), false);
 
             if (search != null && !search.isEmpty()) {
-                Predicate searchPredicate = cb.or(
-                        cb.like(cb.lower(root.get("eventName")), "%" + search.toLowerCase() + "%"),
-                        cb.like(cb.lower(root.get("classesInvolved")), "%" + search.toLowerCase() + "%")
-                );
+                Predicate searchPredicate = cb.like(cb.lower(root.get("eventName")), "%" + search.toLowerCase() + "%");
+
+                // A numeric search also matches events of that exact class id, through the membership index
+                Long classId = parseClassId(search);
+                if (classId != null) {
+                    Subquery<Long> member = query.subquery(Long.class);
+                    Root<AcademicCalendarEventClass> membership = member.from(AcademicCalendarEventClass.class);
+                    member.select(membership.get("id").get("eventId"))
+                            .where(cb.equal(membership.get("id").get("classId"), classId),
+                                    cb.equal(membership.get("id").get("eventId"), root.get("id")));
+                    searchPredicate = cb.or(searchPredicate, cb.exists(member));
+                }
                 predicate = cb.and(predicate, searchPredicate);
             }
 
@@ -224,7 +542,13 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
             }
 
             if (date != null) {
-                predicate = cb.and(predicate, cb.equal(root.get("date"), date));
+                Predicate oneOff = cb.and(cb.isNull(root.get("recurrenceEnd")), cb.equal(root.get("date"), date));
+                predicate = cb.and(predicate, seriesOnDate.isEmpty() ? oneOff
+                        : cb.or(oneOff, root.get("id").in(seriesOnDate)));
+            }
+
+            if (from != null || to != null) {
+                predicate = cb.and(predicate, inRange(root, cb, from, to));
             }
 
             return predicate;
@@ -232,4 +556,40 @@ public class AcademicCalendarEventServiceImpl implements AcademicCalendarEventSe
 
     }
 
+    /**
+     * The recurring events that take place on the date: the series overlapping it are expanded for
+     * that day only, so cancelled occurrences are left out and moved ones count on their new date,
+     * as in the calendar view
+     */
+    private Set<Long> seriesOccurringOn(LocalDate date) {
+        Set<Long> ids = new HashSet<>();
+        for (AcademicCalendarEvent event : repository.findLiveRecurringOverlapping(date, date)) {
+            forEachOccurrence(event, date, date, (day, occurrenceOf, change) -> ids.add(event.getId()));
+        }
+        return ids;
+    }
+
+    // One-off events dated in the range, or recurring events whose series overlaps it (listed once)
+    private static Predicate inRange(Root<AcademicCalendarEvent> root, CriteriaBuilder cb, LocalDate from, LocalDate to) {
+        Predicate oneOff = cb.isNull(root.get("recurrenceEnd"));
+        Predicate series = cb.isNotNull(root.get("recurrenceEnd"));
+        if (from != null) {
+            oneOff = cb.and(oneOff, cb.greaterThanOrEqualTo(root.get("date"), from));
+            series = cb.and(series, cb.greaterThanOrEqualTo(root.get("recurrenceEnd"), from));
+        }
+        if (to != null) {
+            oneOff = cb.and(oneOff, cb.lessThanOrEqualTo(root.get("date"), to));
+            series = cb.and(series, cb.lessThanOrEqualTo(root.get("date"), to));
+        }
+        return cb.or(oneOff, series);
+    }
+
+    private static Long parseClassId(String search) {
+        try {
+            return Long.valueOf(search.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
 }
@@ -0,0 +1,13 @@
+package com.academic.service;
+
+import com.academic.request.AcademicYearRolloverRequest;
+import com.academic.response.AcademicYearRolloverResponse;
+
+public interface AcademicYearRolloverService {
+
+    /**
+     * Copy a year's timetables (with their slots), teacher assignments and exam setups to another year
+     * with set-based statements, or only count them for a dry run
+     */
+    AcademicYearRolloverResponse rollover(AcademicYearRolloverRequest request);
+}
@@ -0,0 +1,264 @@
+package com.academic.service;
+
+import com.academic.entity.ExamSetup;
+import com.academic.entity.TeacherAssignment;
+import com.academic.entity.TimeSlotSubjectMapper;
+import com.academic.entity.TimeTable;
+import com.academic.exception.CustomException;
+import com.academic.request.AcademicYearRolloverRequest;
+import com.academic.response.AcademicYearRolloverResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Academic-year rollover with one INSERT ... SELECT per table instead of one create call per row.
+ *
+ * Timetables and their slots are copied in one transaction, teacher assignments and exam setups in
+ * one each. Rows that already exist in the target year are skipped, so a rollover that failed half
+ * way can simply be run again: a timetable is skipped when its new name is taken (names are unique),
+ * a teacher assignment when the employee already teaches the subject in the target year and an exam
+ * setup when the class already has an exam of that name there. A dry run runs the same filters as counts.
+ *
+ * Slot ids come from the pooled slot id sequence ({@link SlotIdBlockAllocator}), so the copy never
+ * collides with slots Hibernate inserts concurrently.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AcademicYearRolloverServiceImpl implements AcademicYearRolloverService {
+
+    public static final int DEFAULT_EXAM_DATE_SHIFT_DAYS = 364;
+
+    private static final String SOURCE_TIMETABLE = "t.is_deleted = FALSE AND %s";
+    private static final String NEW_NAME_FREE =
+            "NOT EXISTS (SELECT 1 FROM time_table x WHERE x.timetable_name = CONCAT(t.timetable_name, :suffix))";
+    private static final String LIVE_SLOT = "(s.active IS NULL OR s.active = TRUE)";
+
+    private static final String COPY_TIMETABLES = """
+            INSERT INTO time_table (timetable_name, class_id, section_id, days_covered_id, academic_year_id,
+                                    is_deleted, created_at, updated_at)
+            SELECT CONCAT(t.timetable_name, :suffix), t.class_id, t.section_id, t.days_covered_id, :toYear,
+                   FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM time_table t
+            WHERE %s AND %s
+            """.formatted(SOURCE_TIMETABLE, NEW_NAME_FREE);
+
+    // Copies are recognised by name and target year among the timetables inserted by this rollover
+    private static final String SLOTS_OF_COPIES = """
+            FROM time_slot_subject_mapper s
+            JOIN time_table t ON t.id = s.time_table_id
+            JOIN time_table n ON n.timetable_name = CONCAT(t.timetable_name, :suffix)
+                             AND n.academic_year_id = :toYear AND n.id > :maxTimetableId
+            WHERE %s AND %s
+            """.formatted(SOURCE_TIMETABLE, LIVE_SLOT);
+
+    private static final String COPY_SLOTS = """
+            INSERT INTO time_slot_subject_mapper (id, time_table_id, start_time, end_time, start_minute, end_minute,
+                                                  period_id, subject_id, teacher_name, room, day, active,
+                                                  created_at, updated_at)
+            SELECT :firstId + ROW_NUMBER() OVER (ORDER BY s.id) - 1, n.id, s.start_time, s.end_time,
+                   s.start_minute, s.end_minute, s.period_id, s.subject_id, s.teacher_name, s.room, s.day, TRUE,
+                   CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            """ + SLOTS_OF_COPIES;
+
+    private static final String SOURCE_ASSIGNMENT = "a.is_deleted = FALSE AND %s";
+    private static final String ASSIGNMENT_FREE = """
+            NOT EXISTS (SELECT 1 FROM teacher_assignments x
+                        WHERE x.academic_year_id = :toYear AND x.is_deleted = FALSE
+                          AND x.employee_id = a.employee_id AND x.subject = a.subject)""";
+
+    private static final String COPY_ASSIGNMENTS = """
+            INSERT INTO teacher_assignments (teacher_name, employee_id, subject, classes_involved, load_hours, status,
+                                             academic_year_id, is_deleted)
+            SELECT a.teacher_name, a.employee_id, a.subject, a.classes_involved, a.load_hours, a.status,
+                   :toYear, FALSE
+            FROM teacher_assignments a
+            WHERE %s AND %s
+            """.formatted(SOURCE_ASSIGNMENT, ASSIGNMENT_FREE);
+
+    private static final String SOURCE_EXAM = "e.is_deleted = FALSE AND %s";
+    private static final String EXAM_FREE = """
+            NOT EXISTS (SELECT 1 FROM exam_setup x
+                        WHERE x.academic_year_id = :toYear AND x.is_deleted = FALSE
+                          AND x.exam_name = e.exam_name AND x.class_id = e.class_id)""";
+
+    private static final String COPY_EXAMS = """
+            INSERT INTO exam_setup (exam_name, class_id, subject_id, exam_date, max_marks, academic_year_id, is_deleted)
+            SELECT e.exam_name, e.class_id, e.subject_id, TIMESTAMPADD(DAY, :shiftDays, e.exam_date), e.max_marks,
+                   :toYear, FALSE
+            FROM exam_setup e
+            WHERE %s AND %s
+            """.formatted(SOURCE_EXAM, EXAM_FREE);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final SlotIdBlockAllocator slotIdBlockAllocator;
+    private final CommonMasterCache commonMasterCache;
+    private final ListResponseCache listResponseCache;
+    private final SlotIndexCoordinator slotIndexCoordinator;
+    private final TeacherSubjectIndex teacherSubjectIndex;
+
+    @Override
+    public AcademicYearRolloverResponse rollover(AcademicYearRolloverRequest request) {
+        long started = System.currentTimeMillis();
+        Integer from = request.getFromAcademicYearId();
+        Integer to = request.getToAcademicYearId();
+        if (to == null) {
+            throw new CustomException("Target academic year is required", "INVALID_ACADEMIC_YEAR",
+                    "Pass toAcademicYearId");
+        }
+        if (to.equals(from)) {
+            throw new CustomException("Source and target academic year must differ", "INVALID_ACADEMIC_YEAR",
+                    "Both years are " + to);
+        }
+
+        boolean dryRun = Boolean.TRUE.equals(request.getDryRun());
+        String suffix = request.getTimetableNameSuffix() == null || request.getTimetableNameSuffix().isBlank()
+                ? " (" + commonMasterCache.getData(to).orElse(String.valueOf(to)) + ")"
+                : request.getTimetableNameSuffix();
+        int shiftDays = request.getExamDateShiftDays() != null
+                ? request.getExamDateShiftDays() : DEFAULT_EXAM_DATE_SHIFT_DAYS;
+        Rollover rollover = new Rollover(from, to, suffix, shiftDays);
+
+        AcademicYearRolloverResponse response = AcademicYearRolloverResponse.builder()
+                .fromAcademicYearId(from)
+                .toAcademicYearId(to)
+                .dryRun(dryRun)
+                .timetableNameSuffix(suffix)
+                .examDateShiftDays(shiftDays)
+                .build();
+
+        if (!Boolean.FALSE.equals(request.getIncludeTimetables())) {
+            transactionTemplate.executeWithoutResult(status -> copyTimetables(rollover, dryRun, response));
+        }
+        if (!Boolean.FALSE.equals(request.getIncludeTeacherAssignments())) {
+            transactionTemplate.executeWithoutResult(status -> copyTeacherAssignments(rollover, dryRun, response));
+        }
+        if (!Boolean.FALSE.equals(request.getIncludeExamSetups())) {
+            transactionTemplate.executeWithoutResult(status -> copyExamSetups(rollover, dryRun, response));
+        }
+
+        if (!dryRun) {
+            // The copies were written behind the entity layer, so every derived view is rebuilt
+            listResponseCache.evictAll(ListResponseCache.TIMETABLES);
+            listResponseCache.evictAll(ListResponseCache.TEACHER_ALLOCATIONS);
+            listResponseCache.evictAll(ListResponseCache.EXAM_SETUPS);
+            teacherSubjectIndex.invalidate();
+            if (response.getSlotsCopied() != null && response.getSlotsCopied() > 0) {
+                slotIndexCoordinator.rebuild();
+            }
+        }
+
+        response.setElapsedMs(System.currentTimeMillis() - started);
+        log.info("Academic year rollover {} -> {}{}: {} timetables ({} slots), {} teacher assignments, {} exam setups in {} ms",
+                from, to, dryRun ? " (dry run)" : "", response.getTimetablesCopied(), response.getSlotsCopied(),
+                response.getTeacherAssignmentsCopied(), response.getExamSetupsCopied(), response.getElapsedMs());
+        return response;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private record Rollover(Integer fromYear, Integer toYear, String suffix, int shiftDays) {
+
+        // Rows without a year are the ones created before years were tracked
+        String yearOf(String alias) {
+            return fromYear == null ? alias + ".academic_year_id IS NULL" : alias + ".academic_year_id = :fromYear";
+        }
+    }
+
+    private void copyTimetables(Rollover rollover, boolean dryRun, AcademicYearRolloverResponse response) {
+        String source = "FROM time_table t WHERE " + SOURCE_TIMETABLE.formatted(rollover.yearOf("t"));
+        int total = count(rollover, "SELECT COUNT(*) " + source);
+
+        if (dryRun) {
+            int copyable = count(rollover, "SELECT COUNT(*) " + source + " AND " + NEW_NAME_FREE);
+            int slots = count(rollover, """
+                    SELECT COUNT(*) FROM time_slot_subject_mapper s JOIN time_table t ON t.id = s.time_table_id
+                    WHERE %s AND %s AND %s
+                    """.formatted(SOURCE_TIMETABLE.formatted(rollover.yearOf("t")), LIVE_SLOT, NEW_NAME_FREE));
+            response.setTimetablesCopied(copyable);
+            response.setTimetablesSkipped(total - copyable);
+            response.setSlotsCopied(slots);
+            return;
+        }
+
+        long maxTimetableId = ((Number) entityManager.createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM time_table")
+                .getSingleResult()).longValue();
+        int copied = update(rollover, COPY_TIMETABLES.formatted(rollover.yearOf("t")), TimeTable.class);
+
+        String slotsOfCopies = SLOTS_OF_COPIES.formatted(rollover.yearOf("t"));
+        int slots = count(query(rollover, "SELECT COUNT(*) " + slotsOfCopies)
+                .setParameter("maxTimetableId", maxTimetableId));
+        int inserted = 0;
+        if (slots > 0) {
+            long firstId = slotIdBlockAllocator.reserve(slots);
+            Query copy = query(rollover, COPY_SLOTS.formatted(rollover.yearOf("t")))
+                    .setParameter("maxTimetableId", maxTimetableId)
+                    .setParameter("firstId", firstId);
+            inserted = synchronize(copy, TimeSlotSubjectMapper.class).executeUpdate();
+        }
+        if (inserted != slots) {
+            throw new IllegalStateException("Copied " + inserted + " slots, expected " + slots);
+        }
+
+        response.setTimetablesCopied(copied);
+        response.setTimetablesSkipped(total - copied);
+        response.setSlotsCopied(slots);
+    }
+
+    private void copyTeacherAssignments(Rollover rollover, boolean dryRun, AcademicYearRolloverResponse response) {
+        String source = "FROM teacher_assignments a WHERE " + SOURCE_ASSIGNMENT.formatted(rollover.yearOf("a"));
+        int total = count(rollover, "SELECT COUNT(*) " + source);
+        int copied = dryRun
+                ? count(rollover, "SELECT COUNT(*) " + source + " AND " + ASSIGNMENT_FREE)
+                : update(rollover, COPY_ASSIGNMENTS.formatted(rollover.yearOf("a")), TeacherAssignment.class);
+        response.setTeacherAssignmentsCopied(copied);
+        response.setTeacherAssignmentsSkipped(total - copied);
+    }
+
+    private void copyExamSetups(Rollover rollover, boolean dryRun, AcademicYearRolloverResponse response) {
+        String source = "FROM exam_setup e WHERE " + SOURCE_EXAM.formatted(rollover.yearOf("e"));
+        int total = count(rollover, "SELECT COUNT(*) " + source);
+        int copied = dryRun
+                ? count(rollover, "SELECT COUNT(*) " + source + " AND " + EXAM_FREE)
+                : update(rollover, COPY_EXAMS.formatted(rollover.yearOf("e")), ExamSetup.class);
+        response.setExamSetupsCopied(copied);
+        response.setExamSetupsSkipped(total - copied);
+    }
+
+    private int count(Rollover rollover, String sql) {
+        return count(query(rollover, sql));
+    }
+
+    private static int count(Query query) {
+        return ((Number) query.getSingleResult()).intValue();
+    }
+
+    private int update(Rollover rollover, String sql, Class<?> entity) {
+        return synchronize(query(rollover, sql), entity).executeUpdate();
+    }
+
+    // Binds the rollover parameters the statement uses
+    private Query query(Rollover rollover, String sql) {
+        Query query = entityManager.createNativeQuery(sql);
+        if (sql.contains(":fromYear")) query.setParameter("fromYear", rollover.fromYear());
+        if (sql.contains(":toYear")) query.setParameter("toYear", rollover.toYear());
+        if (sql.contains(":suffix")) query.setParameter("suffix", rollover.suffix());
+        if (sql.contains(":shiftDays")) query.setParameter("shiftDays", rollover.shiftDays());
+        return query;
+    }
+
+    // Only that entity's second-level cache regions are invalidated, not every region
+    private static Query synchronize(Query query, Class<?> entity) {
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(entity);
+        return query;
+    }
+}
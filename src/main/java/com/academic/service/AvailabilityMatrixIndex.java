@@ -0,0 +1,201 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import com.academic.utility.MinuteBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Week occupancy of every teacher, room and class (timetable) as primitive arrays: per academic
+ * year, one {@link MinuteBitmap} for each day of the week.
+ *
+ * Updated from the slot writes like the other slot indexes; a timetable change redraws only the
+ * resources its old and new slots touch. Turning the minute bitmaps into (day, period) bits tests at
+ * most two words per cell, so a whole-school matrix is computed in microseconds.
+ */
+@Component
+public class AvailabilityMatrixIndex implements SlotIndexListener {
+
+    public enum ResourceType { TEACHER, ROOM, CLASS }
+
+    /**
+     * One cell column of the matrix: a minute range on a day
+     */
+    public record Cell(int day, int startMinute, int endMinute) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<ResourceKey, Resource> resources = new HashMap<>();
+    private final Map<Long, List<SlotEntry>> byTimetable = new HashMap<>();
+
+    @Override
+    public void rebuild(Collection<SlotEntry> slots) {
+        lock.writeLock().lock();
+        try {
+            resources.clear();
+            byTimetable.clear();
+            for (SlotEntry slot : slots) {
+                for (ResourceKey key : add(slot)) {
+                    mark(resources.get(key).byYear, slot);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replaceTimetable(Long timetableId, List<SlotEntry> slots) {
+        lock.writeLock().lock();
+        try {
+            Set<ResourceKey> touched = new HashSet<>();
+
+            // Dropped up front so a renamed timetable is listed under its new name
+            resources.remove(new ResourceKey(ResourceType.CLASS, timetableId));
+
+            List<SlotEntry> previous = byTimetable.remove(timetableId);
+            if (previous != null) {
+                for (SlotEntry slot : previous) {
+                    for (ResourceKey key : keysOf(slot)) {
+                        touched.add(key);
+                        Resource resource = resources.get(key);
+                        if (resource != null) resource.slots.removeIf(e -> Objects.equals(e.timetableId(), timetableId));
+                    }
+                }
+            }
+            for (SlotEntry slot : slots) {
+                touched.addAll(add(slot));
+            }
+
+            // Teachers and rooms are shared with other timetables, so redraw them from all their slots;
+            // those left without any slot are dropped from the matrix
+            touched.forEach(this::redraw);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busy bits of every known resource of the type, by display name (sorted): bit i is set when the
+     * resource has a booking overlapping cell i
+     *
+     * @param academicYearId only count bookings of this year, or null for bookings of any year
+     */
+    public SortedMap<String, long[]> busyMatrix(ResourceType type, Integer academicYearId, List<Cell> cells) {
+        int words = (cells.size() + 63) >>> 6;
+        SortedMap<String, long[]> matrix = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<ResourceKey, Resource> entry : resources.entrySet()) {
+                if (entry.getKey().type() != type) continue;
+                Resource resource = entry.getValue();
+
+                long[][] week = weekOf(resource, academicYearId);
+                long[] bits = new long[words];
+                if (week != null) {
+                    for (int i = 0; i < cells.size(); i++) {
+                        Cell cell = cells.get(i);
+                        if (MinuteBitmap.any(week[cell.day() - 1], cell.startMinute(), cell.endMinute())) {
+                            bits[i >>> 6] |= 1L << (i & 63);
+                        }
+                    }
+                }
+                matrix.merge(resource.name, bits, (a, b) -> {
+                    or(a, b);
+                    return a;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matrix;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private static final class Resource {
+        final String name;
+        final List<SlotEntry> slots = new ArrayList<>();
+        Map<Integer, long[][]> byYear = new HashMap<>(); // academic year (nullable) -> bitmap per day
+
+        Resource(String name) {
+            this.name = name;
+        }
+    }
+
+    private record ResourceKey(ResourceType type, Object value) {
+    }
+
+    private List<ResourceKey> add(SlotEntry slot) {
+        byTimetable.computeIfAbsent(slot.timetableId(), id -> new ArrayList<>()).add(slot);
+        List<ResourceKey> keys = keysOf(slot);
+        for (ResourceKey key : keys) {
+            resources.computeIfAbsent(key, k -> new Resource(displayName(k.type(), slot))).slots.add(slot);
+        }
+        return keys;
+    }
+
+    private void redraw(ResourceKey key) {
+        Resource resource = resources.get(key);
+        if (resource == null) return;
+        if (resource.slots.isEmpty()) {
+            resources.remove(key);
+            return;
+        }
+        Map<Integer, long[][]> byYear = new HashMap<>();
+        resource.slots.forEach(slot -> mark(byYear, slot));
+        resource.byYear = byYear;
+    }
+
+    private static void mark(Map<Integer, long[][]> byYear, SlotEntry slot) {
+        long[][] week = byYear.computeIfAbsent(slot.academicYearId(), y -> emptyWeek());
+        MinuteBitmap.set(week[slot.day() - 1], slot.startMinute(), slot.endMinute());
+    }
+
+    // The resource's bookings of the year, or of all years OR-ed together; null when it has none
+    private static long[][] weekOf(Resource resource, Integer academicYearId) {
+        if (academicYearId != null) return resource.byYear.get(academicYearId);
+        if (resource.byYear.size() <= 1) return resource.byYear.values().stream().findFirst().orElse(null);
+        long[][] week = emptyWeek();
+        for (long[][] year : resource.byYear.values()) {
+            for (int day = 0; day < 7; day++) or(week[day], year[day]);
+        }
+        return week;
+    }
+
+    private static long[][] emptyWeek() {
+        long[][] week = new long[7][];
+        for (int day = 0; day < 7; day++) week[day] = MinuteBitmap.empty();
+        return week;
+    }
+
+    private static void or(long[] into, long[] other) {
+        for (int i = 0; i < into.length; i++) into[i] |= other[i];
+    }
+
+    private static List<ResourceKey> keysOf(SlotEntry slot) {
+        if (slot.day() < 1 || slot.day() > 7) return List.of();
+        List<ResourceKey> keys = new ArrayList<>(3);
+        keys.add(new ResourceKey(ResourceType.CLASS, slot.timetableId()));
+        if (slot.teacher() != null && !slot.teacher().isBlank()) {
+            keys.add(new ResourceKey(ResourceType.TEACHER, slot.teacher().trim().toLowerCase(Locale.ROOT)));
+        }
+        if (slot.room() != null && !slot.room().isBlank()) {
+            keys.add(new ResourceKey(ResourceType.ROOM, slot.room().trim().toLowerCase(Locale.ROOT)));
+        }
+        return keys;
+    }
+
+    private static String displayName(ResourceType type, SlotEntry slot) {
+        return switch (type) {
+            case CLASS -> slot.timetableName() != null ? slot.timetableName() : String.valueOf(slot.timetableId());
+            case TEACHER -> slot.teacher().trim();
+            case ROOM -> slot.room().trim();
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.academic.service;
+
+import com.academic.request.BellPeriodRequest;
+import com.academic.request.TimeSlotDTO;
+import com.academic.response.BellPeriodResponse;
+
+import java.util.List;
+
+public interface BellPeriodService {
+
+    BellPeriodResponse create(BellPeriodRequest request);
+
+    BellPeriodResponse update(Long id, BellPeriodRequest request);
+
+    void delete(Long id);
+
+    BellPeriodResponse getById(Long id);
+
+    /**
+     * All active periods ordered by start time
+     */
+    List<BellPeriodResponse> getAll();
+
+    /**
+     * Fill in slot times from a given periodId, or the periodId from times matching a period exactly
+     */
+    void applyPeriods(List<TimeSlotDTO> slots);
+}
@@ -0,0 +1,162 @@
+package com.academic.service;
+
+import com.academic.entity.BellPeriod;
+import com.academic.exception.CustomException;
+import com.academic.exception.ResourceNotFoundException;
+import com.academic.mapper.BellPeriodMapper;
+import com.academic.repository.BellPeriodRepository;
+import com.academic.repository.TimeSlotSubjectMapperRepository;
+import com.academic.request.BellPeriodRequest;
+import com.academic.request.TimeSlotDTO;
+import com.academic.response.BellPeriodResponse;
+import com.academic.utility.SlotTimes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BellPeriodServiceImpl implements BellPeriodService {
+
+    private final BellPeriodRepository repository;
+    private final TimeSlotSubjectMapperRepository slotRepository;
+    private final ListResponseCache listResponseCache;
+
+    @Override
+    @Transactional
+    public BellPeriodResponse create(BellPeriodRequest request) {
+        log.info("Creating bell period: {}", request);
+
+        BellPeriod entity = BellPeriodMapper.toEntity(request);
+        validateBounds(entity);
+        if (repository.existsByStartMinuteAndEndMinuteAndIsDeletedFalse(entity.getStartMinute(), entity.getEndMinute())) {
+            throw duplicate(request);
+        }
+
+        BellPeriod saved = repository.save(entity);
+        int linked = slotRepository.linkPeriod(saved.getId(), saved.getStartMinute(), saved.getEndMinute());
+        listResponseCache.evictAll(ListResponseCache.TIMETABLES);
+
+        log.info("Bell period created with id: {}, linked {} slots", saved.getId(), linked);
+        return BellPeriodMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public BellPeriodResponse update(Long id, BellPeriodRequest request) {
+        log.info("Updating bell period id: {}", id);
+
+        BellPeriod existing = repository.findByIdAndIsDeletedFalse(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Bell period not found with id: " + id));
+
+        BellPeriodMapper.updateEntity(existing, request);
+        validateBounds(existing);
+        if (repository.existsByStartMinuteAndEndMinuteAndIsDeletedFalseAndIdNot(
+                existing.getStartMinute(), existing.getEndMinute(), id)) {
+            throw duplicate(request);
+        }
+
+        BellPeriod saved = repository.save(existing);
+
+        // Slot times are not rewritten; the link just follows the slots whose times match the new bounds
+        slotRepository.unlinkPeriod(id);
+        slotRepository.linkPeriod(id, saved.getStartMinute(), saved.getEndMinute());
+        listResponseCache.evictAll(ListResponseCache.TIMETABLES);
+
+        return BellPeriodMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        log.warn("Soft deleting bell period id: {}", id);
+
+        BellPeriod existing = repository.findByIdAndIsDeletedFalse(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Bell period not found with id: " + id));
+
+        existing.setIsDeleted(true);
+        repository.save(existing);
+        slotRepository.unlinkPeriod(id);
+        listResponseCache.evictAll(ListResponseCache.TIMETABLES);
+    }
+
+    @Override
+    public BellPeriodResponse getById(Long id) {
+        return repository.findByIdAndIsDeletedFalse(id)
+                .map(BellPeriodMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Bell period not found with id: " + id));
+    }
+
+    @Override
+    public List<BellPeriodResponse> getAll() {
+        return repository.findByIsDeletedFalseOrderByStartMinuteAsc().stream()
+                .map(BellPeriodMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void applyPeriods(List<TimeSlotDTO> slots) {
+        if (slots == null || slots.isEmpty()) return;
+
+        List<BellPeriod> periods = repository.findByIsDeletedFalseOrderByStartMinuteAsc();
+        if (periods.isEmpty() && slots.stream().allMatch(slot -> slot.getPeriodId() == null)) return;
+
+        Map<Long, BellPeriod> byId = periods.stream()
+                .collect(Collectors.toMap(BellPeriod::getId, Function.identity()));
+        Map<Long, BellPeriod> byBounds = periods.stream()
+                .collect(Collectors.toMap(p -> bounds(p.getStartMinute(), p.getEndMinute()), Function.identity(), (a, b) -> a));
+
+        for (TimeSlotDTO slot : slots) {
+            if (slot.getPeriodId() != null) {
+                BellPeriod period = byId.get(slot.getPeriodId());
+                if (period == null) {
+                    throw new CustomException(
+                            "Invalid bell period: " + slot.getPeriodId(),
+                            "INVALID_PERIOD",
+                            "Selected period does not exist or has been deleted."
+                    );
+                }
+                slot.setStartTime(SlotTimes.format(period.getStartMinute()));
+                slot.setEndTime(SlotTimes.format(period.getEndMinute()));
+            } else {
+                Integer start = SlotTimes.parseOrNull(slot.getStartTime());
+                Integer end = SlotTimes.parseOrNull(slot.getEndTime());
+                if (start != null && end != null) {
+                    BellPeriod period = byBounds.get(bounds(start, end));
+                    slot.setPeriodId(period != null ? period.getId() : null);
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private static long bounds(int startMinute, int endMinute) {
+        return (long) startMinute * SlotTimes.MINUTES_PER_DAY + endMinute;
+    }
+
+    private static void validateBounds(BellPeriod period) {
+        if (period.getStartMinute() >= period.getEndMinute()) {
+            throw new CustomException(
+                    "Invalid period time range",
+                    "INVALID_SLOT_TIME",
+                    "Period start time must be before its end time"
+            );
+        }
+    }
+
+    private static CustomException duplicate(BellPeriodRequest request) {
+        return new CustomException(
+                "Bell period already exists: " + request.getStartTime() + " - " + request.getEndTime(),
+                "DUPLICATE_BELL_PERIOD",
+                "Each bell period must have distinct start and end times"
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.academic.service;
+
+import com.academic.dto.ResourceVersion;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public interface CalendarFeedService {
+
+    /**
+     * Version of a class feed (its slots, the academic calendar and the dictionary), for conditional GET
+     */
+    ResourceVersion getClassCalendarVersion(Long classId, Long sectionId, Integer academicYearId);
+
+    /**
+     * Stream the iCalendar feed of a class (or one section): weekly lessons plus the academic
+     * calendar events of the class and of the whole school
+     */
+    void writeClassCalendar(Long classId, Long sectionId, Integer academicYearId, ResourceVersion version, Writer out)
+            throws IOException;
+
+    ResourceVersion getTeacherCalendarVersion(String teacher, Integer academicYearId);
+
+    /**
+     * Stream the iCalendar feed of a teacher (by name or employee id): weekly lessons plus school-wide events
+     */
+    void writeTeacherCalendar(String teacher, Integer academicYearId, ResourceVersion version, Writer out)
+            throws IOException;
+}
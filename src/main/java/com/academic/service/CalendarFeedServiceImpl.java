@@ -0,0 +1,247 @@
+package com.academic.service;
+
+import com.academic.dto.RecurrenceException;
+import com.academic.dto.ResourceVersion;
+import com.academic.entity.CommonMaster;
+import com.academic.exception.CustomException;
+import com.academic.repository.AcademicCalendarEventRepository;
+import com.academic.repository.AcademicCalendarEventRepository.EventRow;
+import com.academic.repository.AcademicCalendarEventRepository.EventsVersionView;
+import com.academic.repository.TimeSlotSubjectMapperRepository;
+import com.academic.repository.TimeSlotSubjectMapperRepository.ScheduleSlotRow;
+import com.academic.repository.TimeSlotSubjectMapperRepository.SlotsVersionView;
+import com.academic.utility.ICalendarWriter;
+import com.academic.utility.SlotTimes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.*;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * iCalendar feeds written row by row from streamed projections, so memory stays constant however
+ * many slots and events a feed has.
+ *
+ * Lessons are weekly recurring events starting in the first week of the academic year in progress
+ * (it begins on academic.calendar-feed.year-start), so DTSTART only moves once a year. That start
+ * is part of the version, so the output is identical for a given version and its ETag can be
+ * checked before anything is read.
+ */
+@Service
+@Slf4j
+public class CalendarFeedServiceImpl implements CalendarFeedService {
+
+    private static final String PRODUCT_ID = "-//Academic Module//Timetable Feed//EN";
+
+    private final TimeSlotSubjectMapperRepository slotRepository;
+    private final AcademicCalendarEventRepository eventRepository;
+    private final CommonMasterCache commonMasterCache;
+    private final TeacherSubjectIndex teacherSubjectIndex;
+    private final ScheduleConflictIndex scheduleConflictIndex;
+    private final SlotIndexCoordinator slotIndexCoordinator;
+    private final MonthDay yearStart;
+
+    public CalendarFeedServiceImpl(TimeSlotSubjectMapperRepository slotRepository,
+                                   AcademicCalendarEventRepository eventRepository,
+                                   CommonMasterCache commonMasterCache,
+                                   TeacherSubjectIndex teacherSubjectIndex,
+                                   ScheduleConflictIndex scheduleConflictIndex,
+                                   SlotIndexCoordinator slotIndexCoordinator,
+                                   @Value("${academic.calendar-feed.year-start:06-01}") String yearStart) {
+        this.slotRepository = slotRepository;
+        this.eventRepository = eventRepository;
+        this.commonMasterCache = commonMasterCache;
+        this.teacherSubjectIndex = teacherSubjectIndex;
+        this.scheduleConflictIndex = scheduleConflictIndex;
+        this.slotIndexCoordinator = slotIndexCoordinator;
+        this.yearStart = MonthDay.parse("--" + yearStart.trim());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getClassCalendarVersion(Long classId, Long sectionId, Integer academicYearId) {
+        return version("classCalendar|" + classId + "|" + sectionId + "|" + academicYearId + "|" + currentYearStart(),
+                slotRepository.findClassSlotsVersion(classId, sectionId, academicYearId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeClassCalendar(Long classId, Long sectionId, Integer academicYearId, ResourceVersion version,
+                                   Writer out) throws IOException {
+        Map<Integer, CommonMaster> masters = commonMasterCache.snapshotById();
+        String name = Objects.requireNonNullElse(classLabel(masters, classId, sectionId), "Class " + classId);
+        ICalendarWriter calendar = new ICalendarWriter(out, Instant.ofEpochMilli(version.lastModified()));
+        calendar.begin(PRODUCT_ID, name + " timetable");
+
+        LocalDate firstDay = currentYearStart();
+        int slots = 0;
+        try (Stream<ScheduleSlotRow> rows = slotRepository.streamClassSlots(classId, sectionId, academicYearId)) {
+            for (Iterator<ScheduleSlotRow> it = rows.iterator(); it.hasNext(); ) {
+                ScheduleSlotRow row = it.next();
+                if (writeLesson(calendar, firstDay, row, masterData(masters, row.getSubjectId()), "Teacher: " + row.getTeacherName())) {
+                    slots++;
+                }
+            }
+        }
+        int events = writeEvents(calendar, eventRepository.streamLiveEventsOfClass(classId));
+        calendar.end();
+        log.info("Class {} calendar written: {} lessons, {} events", classId, slots, events);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getTeacherCalendarVersion(String teacher, Integer academicYearId) {
+        Set<String> storedNames = storedTeacherNames(teacher);
+        return version("teacherCalendar|" + String.join(",", storedNames) + "|" + academicYearId + "|" + currentYearStart(),
+                storedNames.isEmpty() ? null : slotRepository.findTeacherSlotsVersion(storedNames, academicYearId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeTeacherCalendar(String teacher, Integer academicYearId, ResourceVersion version, Writer out)
+            throws IOException {
+        Set<String> storedNames = storedTeacherNames(teacher);
+        ICalendarWriter calendar = new ICalendarWriter(out, Instant.ofEpochMilli(version.lastModified()));
+        String name = teacherSubjectIndex.find(teacher).map(TeacherSubjectIndex.Teacher::teacherName).orElse(teacher.trim());
+        calendar.begin(PRODUCT_ID, name + " timetable");
+
+        LocalDate firstDay = currentYearStart();
+        Map<Integer, CommonMaster> masters = commonMasterCache.snapshotById();
+        int slots = 0;
+        if (!storedNames.isEmpty()) {
+            try (Stream<ScheduleSlotRow> rows = slotRepository.streamTeacherSlots(storedNames, academicYearId)) {
+                for (Iterator<ScheduleSlotRow> it = rows.iterator(); it.hasNext(); ) {
+                    ScheduleSlotRow row = it.next();
+                    String className = classLabel(masters, row.getClassId(), row.getSectionId());
+                    String subject = masterData(masters, row.getSubjectId());
+                    String summary = subject != null && className != null ? subject + " (" + className + ")"
+                            : subject != null ? subject : className;
+                    if (writeLesson(calendar, firstDay, row, summary, "Timetable: " + row.getTimetableName())) {
+                        slots++;
+                    }
+                }
+            }
+        }
+        int events = writeEvents(calendar, eventRepository.streamLiveSchoolWideEvents());
+        calendar.end();
+        log.info("Teacher {} calendar written: {} lessons, {} events", teacher, slots, events);
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    /**
+     * @param slots fingerprint of the feed's slots, or null when it has none to look up
+     */
+    private ResourceVersion version(String feed, SlotsVersionView slots) {
+        EventsVersionView events = eventRepository.findLiveEventsVersion();
+        if (slots == null) {
+            return ResourceVersion.of(events.getEventsUpdatedAt(), feed,
+                    events.getEventCount(), events.getMaxEventId(), events.getEventsUpdatedAt(), commonMasterCache.version());
+        }
+        return ResourceVersion.of(
+                latest(events.getEventsUpdatedAt(), latest(slots.getSlotsUpdatedAt(), slots.getTimetablesUpdatedAt())),
+                feed, slots.getSlotCount(), slots.getMaxSlotId(), slots.getSlotsUpdatedAt(), slots.getTimetablesUpdatedAt(),
+                events.getEventCount(), events.getMaxEventId(), events.getEventsUpdatedAt(), commonMasterCache.version());
+    }
+
+    private Set<String> storedTeacherNames(String teacher) {
+        if (teacher == null || teacher.isBlank()) {
+            throw new CustomException("Teacher is required", "INVALID_TEACHER", "Pass the teacher name or employee id");
+        }
+        slotIndexCoordinator.ensureLoaded();
+        Set<String> storedNames = new TreeSet<>();
+        teacherSubjectIndex.aliasesOf(teacher).forEach(alias -> storedNames.addAll(
+                scheduleConflictIndex.storedValuesOf(ScheduleConflictIndex.ResourceType.TEACHER, alias)));
+        return storedNames;
+    }
+
+    // Slots without a valid day or times are left out of the feed; the first lesson is on or after firstDay
+    private static boolean writeLesson(ICalendarWriter calendar, LocalDate firstDay, ScheduleSlotRow row,
+                                       String summary, String description) throws IOException {
+        Integer start = SlotTimes.parseOrNull(row.getStartTime());
+        Integer end = SlotTimes.parseOrNull(row.getEndTime());
+        if (row.getDay() == null || row.getDay() < 1 || row.getDay() > 7 || start == null || end == null || end <= start) {
+            return false;
+        }
+        LocalDate date = firstDay.with(TemporalAdjusters.nextOrSame(DayOfWeek.of(row.getDay())));
+        calendar.weeklyEvent("slot-" + row.getSlotId() + "@academic-module",
+                date.atTime(start / 60, start % 60), date.atTime(end / 60, end % 60),
+                summary != null ? summary : "Lesson", row.getRoom(), description);
+        return true;
+    }
+
+    private int writeEvents(ICalendarWriter calendar, Stream<EventRow> events) throws IOException {
+        int written = 0;
+        try (Stream<EventRow> rows = events) {
+            for (Iterator<EventRow> it = rows.iterator(); it.hasNext(); ) {
+                EventRow event = it.next();
+                if (event.getDate() == null) continue;
+
+                String uid = "event-" + event.getId() + "@academic-module";
+                if (event.getRecurrenceRule() == null) {
+                    calendar.allDayEvent(uid, event.getDate(), event.getEventName(), event.getType(),
+                            eventDescription(event.getDuration(), event.getStatus()));
+                    written++;
+                    continue;
+                }
+
+                // A recurring event stays one VEVENT; cancelled dates are excluded, changed ones overridden
+                List<RecurrenceException> changes = event.getRecurrenceExceptions() == null ? List.of()
+                        : event.getRecurrenceExceptions();
+                List<LocalDate> cancelled = changes.stream().filter(RecurrenceException::cancelled)
+                        .map(RecurrenceException::date).toList();
+                calendar.recurringAllDayEvent(uid, event.getDate(), event.getRecurrenceRule(), cancelled,
+                        event.getEventName(), event.getType(), eventDescription(event.getDuration(), event.getStatus()));
+                for (RecurrenceException change : changes) {
+                    if (change.cancelled()) continue;
+                    String status = change.status() != null ? change.status() : event.getStatus();
+                    calendar.changedOccurrence(uid, change.date(), change.movedTo() != null ? change.movedTo() : change.date(),
+                            change.eventName() != null ? change.eventName() : event.getEventName(), event.getType(),
+                            eventDescription(event.getDuration(), status));
+                }
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static String eventDescription(String duration, String status) {
+        StringJoiner description = new StringJoiner("\n");
+        if (duration != null) description.add("Duration: " + duration);
+        if (status != null) description.add("Status: " + status);
+        return description.toString();
+    }
+
+    // First day of the academic year in progress
+    private LocalDate currentYearStart() {
+        LocalDate today = LocalDate.now();
+        LocalDate start = yearStart.atYear(today.getYear());
+        return start.isAfter(today) ? yearStart.atYear(today.getYear() - 1) : start;
+    }
+
+    // "Class 5 - A", or whichever of the two names is known
+    private static String classLabel(Map<Integer, CommonMaster> masters, Long classId, Long sectionId) {
+        String className = masterData(masters, classId);
+        String sectionName = masterData(masters, sectionId);
+        if (className == null) return sectionName;
+        return sectionName == null ? className : className + " - " + sectionName;
+    }
+
+    // Names come from a dictionary snapshot taken before streaming: a lookup must not query mid-stream
+    private static String masterData(Map<Integer, CommonMaster> masters, Long id) {
+        CommonMaster master = id == null ? null : masters.get(Math.toIntExact(id));
+        return master == null ? null : master.getData();
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+}
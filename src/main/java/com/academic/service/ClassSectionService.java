@@ -1,14 +1,18 @@
 package com.academic.service;
 
 import com.academic.dto.ClassSectionDTO;
+import com.academic.dto.ResourceVersion;
 import com.academic.request.ClassSectionRequest;
 import com.academic.response.ClassSectionResponse;
 import org.springframework.data.domain.Page;
 
+import java.util.Optional;
+
 public interface ClassSectionService {
     ClassSectionResponse create(ClassSectionRequest request);
     ClassSectionResponse update(Long id, ClassSectionRequest request);
     void delete(Long id);
     ClassSectionResponse getById(Long id);
+    Optional<ResourceVersion> getVersion(Long id);
     Page<ClassSectionResponse> getAll(int page, int size);
 }
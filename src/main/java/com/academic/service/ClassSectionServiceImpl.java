@@ -1,12 +1,11 @@
 package com.academic.service;
 
+import com.academic.dto.ResourceVersion;
 import com.academic.entity.ClassSection;
-import com.academic.entity.CommonMaster;
 import com.academic.exception.CustomException;
 import com.academic.exception.ResourceNotFoundException;
 import com.academic.mapper.ClassSectionMapper;
 import com.academic.repository.ClassSectionRepository;
-import com.academic.repository.CommonMasterRepository;
 import com.academic.request.ClassSectionRequest;
 import com.academic.response.ClassSectionResponse;
 import lombok.RequiredArgsConstructor;
@@ -17,13 +16,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ClassSectionServiceImpl implements ClassSectionService {
 
     private final ClassSectionRepository repository;
-    private final CommonMasterRepository commonMasterRepository; // to resolve names
+    private final CommonMasterCache commonMasterCache; // to resolve names
+    private final ListResponseCache listResponseCache;
 
     /**
      * Create new ClassSection
@@ -39,6 +42,7 @@ public class ClassSectionServiceImpl implements ClassSectionService {
         entity.setIsDeleted(false);
 
         ClassSection saved = repository.save(entity);
+        listResponseCache.evictAll(ListResponseCache.CLASS_SECTIONS);
         log.info("ClassSection created successfully with id: {}", saved.getId());
 
         return toResponseWithNames(saved);
@@ -59,6 +63,7 @@ public class ClassSectionServiceImpl implements ClassSectionService {
         ClassSectionMapper.updateEntity(existing, request);
 
         ClassSection updated = repository.save(existing);
+        listResponseCache.evictUpdated(ListResponseCache.CLASS_SECTIONS, id);
         log.info("ClassSection updated successfully with id: {}", updated.getId());
 
         return toResponseWithNames(updated);
@@ -77,6 +82,7 @@ public class ClassSectionServiceImpl implements ClassSectionService {
 
         existing.setIsDeleted(true);
         repository.save(existing);
+        listResponseCache.evictAll(ListResponseCache.CLASS_SECTIONS);
 
         log.info("ClassSection soft deleted successfully with id: {}", id);
     }
@@ -94,6 +100,16 @@ public class ClassSectionServiceImpl implements ClassSectionService {
         return toResponseWithNames(entity);
     }
 
+    /**
+     * Version fingerprint for conditional GET (row timestamp + dictionary version for the resolved names)
+     */
+    @Override
+    public Optional<ResourceVersion> getVersion(Long id) {
+        return repository.findUpdatedAtById(id)
+                .map(v -> ResourceVersion.of(v.getUpdatedAt(),
+                        "class-section", v.getId(), v.getUpdatedAt(), commonMasterCache.version()));
+    }
+
     /**
      * Get all (paged)
      */
@@ -101,23 +117,36 @@ public class ClassSectionServiceImpl implements ClassSectionService {
     public Page<ClassSectionResponse> getAll(int page, int size) {
         log.info("Fetching all active ClassSections. Page: {}, Size: {}", page, size);
 
+        return listResponseCache.get(ListResponseCache.CLASS_SECTIONS, List.of(), page, size,
+                () -> loadPage(page, size),
+                result -> result.map(ClassSectionResponse::getId).getContent());
+    }
+
+    private Page<ClassSectionResponse> loadPage(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
 
         Page<ClassSection> result = repository.findByIsDeletedFalse(pageable);
 
-        return result.map(this::toResponseWithNames);
+        // Register class/section ids of the whole page, then resolve them in one batch
+        CommonMasterBatchResolver resolver = commonMasterCache.newBatchResolver();
+        result.forEach(entity -> resolver.register(entity.getClassId()).register(entity.getSection()));
+        resolver.resolve();
+
+        return result.map(entity -> toResponseWithNames(entity, resolver));
     }
 
     /**
      * Convert entity to response including resolved names
      */
     private ClassSectionResponse toResponseWithNames(ClassSection entity) {
-        String className = commonMasterRepository.findByIdAndStatusTrue(entity.getClassId())
-                .map(cm -> cm.getData())  // ✅ lambda allows Java to infer type
+        return toResponseWithNames(entity, commonMasterCache.newBatchResolver());
+    }
+
+    private ClassSectionResponse toResponseWithNames(ClassSection entity, CommonMasterBatchResolver resolver) {
+        String className = resolver.getActiveData(entity.getClassId())
                 .orElse("Unknown Class");
 
-        String sectionName = commonMasterRepository.findByIdAndStatusTrue(entity.getSection())
-                .map(cm -> cm.getData())
+        String sectionName = resolver.getActiveData(entity.getSection())
                 .orElse("Unknown Section");
 
         return ClassSectionResponse.builder()
@@ -138,10 +167,10 @@ public class ClassSectionServiceImpl implements ClassSectionService {
      * Validate that classId and section exist in common master
      */
     private void validateClassAndSection(Integer classId, Integer sectionId) {
-        if (classId == null || !commonMasterRepository.existsByIdAndStatusTrue(classId)) {
+        if (classId == null || !commonMasterCache.existsActive(classId)) {
             throw new CustomException("Invalid Class", "INVALID_CLASS", "Selected class does not exist or is inactive.");
         }
-        if (sectionId == null || !commonMasterRepository.existsByIdAndStatusTrue(sectionId)) {
+        if (sectionId == null || !commonMasterCache.existsActive(sectionId)) {
             throw new CustomException("Invalid Section", "INVALID_SECTION", "Selected section does not exist or is inactive.");
         }
     }
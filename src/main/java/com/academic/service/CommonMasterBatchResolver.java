@@ -0,0 +1,118 @@
+package com.academic.service;
+
+import com.academic.entity.CommonMaster;
+import com.academic.repository.CommonMasterRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * DataLoader-style resolver for CommonMaster references, scoped to one page / one mapping pass.
+ *
+ * Mappers first register every id they are going to need, then {@link #resolve()} fills them in:
+ * ids already in the {@link CommonMasterCache} snapshot cost nothing, and all remaining ids are
+ * fetched together with a single findByIdInAndStatusTrue query. Lookups on a resolver with
+ * pending ids resolve them first, so single-entity paths may skip the explicit resolve call.
+ *
+ * Instances are cheap and not thread-safe; create one per page via {@link CommonMasterCache#newBatchResolver()}.
+ */
+@Slf4j
+public class CommonMasterBatchResolver {
+
+    private final CommonMasterCache cache;
+    private final CommonMasterRepository repository;
+
+    private final Map<Integer, CommonMaster> resolved = new HashMap<>();
+    private final Set<Integer> pending = new HashSet<>();
+    private final Set<Integer> unknown = new HashSet<>();
+
+    CommonMasterBatchResolver(CommonMasterCache cache, CommonMasterRepository repository) {
+        this.cache = cache;
+        this.repository = repository;
+    }
+
+    public CommonMasterBatchResolver register(Number id) {
+        if (id == null) return this;
+
+        Integer key = Math.toIntExact(id.longValue());
+        if (resolved.containsKey(key) || unknown.contains(key) || pending.contains(key)) {
+            return this;
+        }
+
+        cache.findById(key).ifPresentOrElse(cm -> resolved.put(key, cm), () -> pending.add(key));
+        return this;
+    }
+
+    public CommonMasterBatchResolver registerAll(Collection<? extends Number> ids) {
+        if (ids != null) {
+            ids.forEach(this::register);
+        }
+        return this;
+    }
+
+    /**
+     * Fetch every registered id that the dictionary could not answer, in one query
+     */
+    public CommonMasterBatchResolver resolve() {
+        if (pending.isEmpty()) return this;
+
+        List<Integer> ids = new ArrayList<>(pending);
+        pending.clear();
+
+        List<CommonMaster> rows = repository.findByIdInAndStatusTrue(ids);
+        rows.forEach(cm -> resolved.put(cm.getId(), cm));
+        ids.stream().filter(id -> !resolved.containsKey(id)).forEach(unknown::add);
+
+        // Rows the dictionary did not know about mean its snapshot is behind the table
+        if (!rows.isEmpty()) {
+            log.debug("Resolved {} CommonMaster ids missing from the dictionary, invalidating it", rows.size());
+            cache.invalidate();
+        }
+        return this;
+    }
+
+    /**
+     * Find a registered row regardless of its status
+     */
+    public Optional<CommonMaster> findById(Number id) {
+        if (id == null) return Optional.empty();
+
+        Integer key = Math.toIntExact(id.longValue());
+        if (!resolved.containsKey(key) && !unknown.contains(key)) {
+            register(key);
+            resolve();
+        }
+        return Optional.ofNullable(resolved.get(key));
+    }
+
+    public Optional<CommonMaster> findActiveById(Number id) {
+        return findById(id).filter(cm -> Boolean.TRUE.equals(cm.getStatus()));
+    }
+
+    public Optional<String> getData(Number id) {
+        return findById(id).map(CommonMaster::getData);
+    }
+
+    public Optional<String> getActiveData(Number id) {
+        return findActiveById(id).map(CommonMaster::getData);
+    }
+
+    public Optional<String> getActiveKey(Number id) {
+        return findActiveById(id).map(CommonMaster::getCommonMasterKey);
+    }
+
+    /**
+     * Active data of the given ids, keyed by Long id (as used for classesInvolved)
+     */
+    public Map<Long, String> activeDataByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return Map.of();
+
+        registerAll(ids).resolve();
+
+        Map<Long, String> result = new HashMap<>();
+        for (Long id : ids) {
+            getActiveData(id).ifPresent(data -> result.put(id, data));
+        }
+        return result;
+    }
+}
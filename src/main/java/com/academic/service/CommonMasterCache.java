@@ -0,0 +1,196 @@
+package com.academic.service;
+
+import com.academic.entity.CommonMaster;
+import com.academic.repository.CommonMasterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared, read-mostly dictionary over the common_master table.
+ *
+ * The table is loaded once and kept in memory; lookups by id and by commonMasterKey never hit the database.
+ * At most once per check interval a single-row fingerprint query is run, and the snapshot is only
+ * reloaded when that fingerprint changes or {@link #invalidate()} has been called after a write.
+ */
+@Component
+@Slf4j
+public class CommonMasterCache {
+
+    private final CommonMasterRepository repository;
+    private final long checkIntervalMs;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder versionChecks = new LongAdder();
+
+    private final Object refreshLock = new Object();
+    private volatile Snapshot snapshot;
+    private volatile long nextCheckAt;
+    private volatile boolean invalidated;
+
+    public CommonMasterCache(CommonMasterRepository repository,
+                             @Value("${academic.common-master.cache.check-interval-ms:30000}") long checkIntervalMs) {
+        this.repository = repository;
+        this.checkIntervalMs = checkIntervalMs;
+    }
+
+    /**
+     * Find a row by id regardless of its status (same semantics as findById)
+     */
+    public Optional<CommonMaster> findById(Integer id) {
+        return record(id == null ? null : current().byId.get(id));
+    }
+
+    /**
+     * Find a row by id only if it is active (same semantics as findByIdAndStatusTrue)
+     */
+    public Optional<CommonMaster> findActiveById(Integer id) {
+        return findById(id).filter(cm -> Boolean.TRUE.equals(cm.getStatus()));
+    }
+
+    public Optional<String> getData(Integer id) {
+        return findById(id).map(CommonMaster::getData);
+    }
+
+    public Optional<String> getActiveData(Integer id) {
+        return findActiveById(id).map(CommonMaster::getData);
+    }
+
+    public boolean existsActive(Integer id) {
+        return findActiveById(id).isPresent();
+    }
+
+    /**
+     * All active rows registered under the given commonMasterKey (e.g. "SUBJECT")
+     */
+    public List<CommonMaster> findByKey(String commonMasterKey) {
+        List<CommonMaster> rows = current().activeByKey.get(commonMasterKey);
+        if (rows == null) {
+            misses.increment();
+            return List.of();
+        }
+        hits.increment();
+        return rows;
+    }
+
+    /**
+     * Every row by id as loaded now. Reading it never queries the database, so it is safe while the
+     * connection has a streamed result set open.
+     */
+    public Map<Integer, CommonMaster> snapshotById() {
+        return current().byId;
+    }
+
+    /**
+     * New page-scoped resolver that batches the lookups the dictionary cannot answer
+     */
+    public CommonMasterBatchResolver newBatchResolver() {
+        return new CommonMasterBatchResolver(this, repository);
+    }
+
+    /**
+     * Monotonic version of the loaded snapshot; changes every time the dictionary is reloaded
+     */
+    public long version() {
+        return current().version;
+    }
+
+    /**
+     * Forces a reload on the next lookup. Call after writing to common_master.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    public Map<String, Object> stats() {
+        Snapshot s = snapshot;
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("loads", loads.sum());
+        stats.put("versionChecks", versionChecks.sum());
+        stats.put("size", s != null ? s.byId.size() : 0);
+        stats.put("version", s != null ? s.version : 0);
+        stats.put("loadedAt", s != null ? s.loadedAt : null);
+        return stats;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private Optional<CommonMaster> record(CommonMaster cm) {
+        if (cm == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cm);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && !invalidated && System.currentTimeMillis() < nextCheckAt) {
+            return s;
+        }
+
+        synchronized (refreshLock) {
+            s = snapshot;
+            if (s != null && !invalidated && System.currentTimeMillis() < nextCheckAt) {
+                return s;
+            }
+
+            String fingerprint = fingerprint();
+            if (s == null || invalidated || !s.fingerprint.equals(fingerprint)) {
+                s = load(fingerprint, s == null ? 1 : s.version + 1);
+                snapshot = s;
+                invalidated = false;
+            }
+            nextCheckAt = System.currentTimeMillis() + checkIntervalMs;
+            return s;
+        }
+    }
+
+    private String fingerprint() {
+        versionChecks.increment();
+        CommonMasterRepository.VersionFingerprint fp = repository.fetchVersionFingerprint();
+        if (fp == null) return "";
+        return fp.getRowCount() + ":" + fp.getMaxId() + ":" + fp.getActiveCount() + ":" + fp.getLastUpdatedAt();
+    }
+
+    private Snapshot load(String fingerprint, long version) {
+        List<CommonMaster> rows = repository.findAll();
+        loads.increment();
+
+        Map<Integer, CommonMaster> byId = new HashMap<>(rows.size() * 2);
+        Map<String, List<CommonMaster>> activeByKey = new HashMap<>();
+
+        for (CommonMaster cm : rows) {
+            byId.put(cm.getId(), cm);
+            if (Boolean.TRUE.equals(cm.getStatus())) {
+                activeByKey.computeIfAbsent(cm.getCommonMasterKey(), k -> new ArrayList<>()).add(cm);
+            }
+        }
+        activeByKey.replaceAll((k, v) -> List.copyOf(v));
+
+        log.info("CommonMaster dictionary loaded: {} rows, version {}", byId.size(), version);
+        return new Snapshot(Map.copyOf(byId), Map.copyOf(activeByKey),
+                fingerprint, version, LocalDateTime.now());
+    }
+
+    private record Snapshot(Map<Integer, CommonMaster> byId,
+                            Map<String, List<CommonMaster>> activeByKey,
+                            String fingerprint,
+                            long version,
+                            LocalDateTime loadedAt) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.academic.service;
+
+import com.academic.entity.AcademicCalendarEvent;
+import com.academic.entity.AcademicCalendarEventClass;
+import com.academic.repository.AcademicCalendarEventClassRepository;
+import com.academic.repository.AcademicCalendarEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Keeps the academic_calendar_event_classes rows in step with each event's classesInvolved, inside
+ * the caller's transaction. Events written before the table existed are filled in at startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventClassMembership {
+
+    private final AcademicCalendarEventClassRepository membershipRepository;
+    private final AcademicCalendarEventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Integer events = transactionTemplate.execute(status -> {
+            List<AcademicCalendarEvent> missing = eventRepository.findLiveEventsWithoutClassRows();
+            missing.forEach(this::insert);
+            return missing.size();
+        });
+        if (events != null && events > 0) {
+            log.info("Event class membership backfilled for {} events", events);
+        }
+    }
+
+    /**
+     * Bring the event's rows in line with its current classes and date: rows of dropped classes are
+     * deleted, kept ones take the new date and only new classes are inserted
+     */
+    public void replace(AcademicCalendarEvent event) {
+        Map<Long, AcademicCalendarEventClass> existing = new HashMap<>();
+        membershipRepository.findByIdEventId(event.getId()).forEach(row -> existing.put(row.getId().getClassId(), row));
+
+        List<AcademicCalendarEventClass> added = new ArrayList<>();
+        for (Long classId : classIdsOf(event)) {
+            AcademicCalendarEventClass row = existing.remove(classId);
+            if (row == null) {
+                added.add(new AcademicCalendarEventClass(event.getId(), classId, event.getDate()));
+            } else {
+                row.setDate(event.getDate());
+            }
+        }
+        membershipRepository.deleteAll(existing.values());
+        membershipRepository.saveAll(added);
+    }
+
+    public void remove(Long eventId) {
+        membershipRepository.deleteByEventId(eventId);
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private void insert(AcademicCalendarEvent event) {
+        membershipRepository.saveAll(classIdsOf(event).stream()
+                .map(classId -> new AcademicCalendarEventClass(event.getId(), classId, event.getDate()))
+                .toList());
+    }
+
+    // Deleted or undated events have no rows
+    private static Set<Long> classIdsOf(AcademicCalendarEvent event) {
+        if (event.isDeleted() || event.getClassesInvolved() == null || event.getDate() == null) return Set.of();
+        Set<Long> classIds = new LinkedHashSet<>(event.getClassesInvolved());
+        classIds.remove(null);
+        return classIds;
+    }
+}
@@ -0,0 +1,46 @@
+package com.academic.service;
+
+import com.academic.dto.RecurrenceException;
+import com.academic.utility.RecurrenceRule;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expands a recurring event into the occurrences that take place in a date window, applying its
+ * exceptions: cancelled occurrences are skipped and moved ones visited on their new date, wherever
+ * they were scheduled.
+ */
+final class EventOccurrences {
+
+    interface Visitor {
+        void visit(LocalDate date, LocalDate occurrenceOf, RecurrenceException change);
+    }
+
+    private EventOccurrences() {
+    }
+
+    static void forEach(LocalDate start, String recurrenceRule, List<RecurrenceException> exceptions,
+                        LocalDate from, LocalDate to, Visitor visitor) {
+        Map<LocalDate, RecurrenceException> changes = new HashMap<>();
+        if (exceptions != null) {
+            exceptions.forEach(change -> changes.put(change.date(), change));
+        }
+
+        RecurrenceRule.parse(recurrenceRule).forEach(start, from, to, date -> {
+            RecurrenceException change = changes.get(date);
+            if (change == null || (!change.cancelled() && change.movedTo() == null)) {
+                visitor.visit(date, date, change);
+            }
+            return true;
+        });
+        for (RecurrenceException change : changes.values()) {
+            if (!change.cancelled() && change.movedTo() != null
+                    && !change.movedTo().isBefore(from) && !change.movedTo().isAfter(to)) {
+                visitor.visit(change.movedTo(), change.date(), change);
+            }
+        }
+    }
+}
@@ -16,9 +16,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,6 +31,9 @@ public class ExamSetupServiceImpl implements ExamSetupService {
 
     private final ExamSetupRepository repository;
     private final ExamSetupMapper mapper;
+    private final CommonMasterCache commonMasterCache;
+    private final ListResponseCache listResponseCache;
+    private final WorkingDayCalendar workingDayCalendar;
 
     @Override
     public ExamSetupResponse create(ExamSetupRequest request) {
@@ -47,8 +53,11 @@ public class ExamSetupServiceImpl implements ExamSetupService {
             );
         }
 
+        rejectNonWorkingDay(request.getExamDate());
+
         ExamSetup entity = mapper.toEntity(request);
         ExamSetup saved = repository.save(entity);
+        listResponseCache.evictAll(ListResponseCache.EXAM_SETUPS);
         return mapper.toResponse(saved);
     }
 
@@ -75,6 +84,10 @@ public class ExamSetupServiceImpl implements ExamSetupService {
             );
         }
 
+        if (!Objects.equals(request.getExamDate(), existing.getExamDate())) {
+            rejectNonWorkingDay(request.getExamDate());
+        }
+
         existing.setExamName(request.getExamName());
         existing.setClassId(request.getClassId());
         existing.setSubjectId(request.getSubjectId());
@@ -83,9 +96,21 @@ public class ExamSetupServiceImpl implements ExamSetupService {
         existing.setMaxMarks(request.getMaxMarks());
 
         ExamSetup updated = repository.save(existing);
+        listResponseCache.evictUpdated(ListResponseCache.EXAM_SETUPS, id);
         return mapper.toResponse(updated);
     }
 
+    private void rejectNonWorkingDay(LocalDate examDate) {
+        if (examDate != null && !workingDayCalendar.isWorkingDay(examDate)) {
+            throw new CustomException(
+                    "Exam date is not a working day",
+                    "EX422",
+                    examDate + " is a weekend or closure day; the next working day is "
+                            + workingDayCalendar.addWorkingDays(examDate, 0)
+            );
+        }
+    }
+
     @Override
     public void delete(Long id) {
         log.info("Soft deleting ExamSetup ID: {}", id);
@@ -95,6 +120,7 @@ public class ExamSetupServiceImpl implements ExamSetupService {
 
         entity.setIsDeleted(true);
         repository.save(entity);
+        listResponseCache.evictAll(ListResponseCache.EXAM_SETUPS);
     }
 
     @Override
@@ -114,6 +140,16 @@ public class ExamSetupServiceImpl implements ExamSetupService {
         log.info("Fetching ExamSetups with filters - examName: {}, classId: {}, academicId: {}, page: {}, size: {}",
                 examName, classId, academicId, page, size);
 
+        Map<String, Object> dataMap = listResponseCache.get(ListResponseCache.EXAM_SETUPS,
+                Arrays.asList(examName, classId, academicId), page, size,
+                () -> loadPage(examName, classId, academicId, page, size),
+                ExamSetupServiceImpl::contentIds);
+
+        // Return as StandardResponse with Map
+        return  StandardResponse.success(dataMap, "Subjects fetched successfully");
+    }
+
+    private Map<String, Object> loadPage(String examName, Long classId, Long academicId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
 
         // Fetch paginated data
@@ -122,9 +158,14 @@ public class ExamSetupServiceImpl implements ExamSetupService {
                 pageable
         );
 
+        // Register class/subject ids of the page, then resolve them in one batch
+        CommonMasterBatchResolver resolver = commonMasterCache.newBatchResolver();
+        examSetups.forEach(entity -> mapper.registerReferences(entity, resolver));
+        resolver.resolve();
+
         // Map entities to response DTOs
         List<ExamSetupResponse> responseList = examSetups.stream()
-                .map(mapper::toResponse)
+                .map(entity -> mapper.toResponse(entity, resolver))
                 .collect(Collectors.toList());
 
         // --- Pageable Metadata ---
@@ -155,9 +196,13 @@ public class ExamSetupServiceImpl implements ExamSetupService {
         dataMap.put("numberOfElements", examSetups.getNumberOfElements());
         dataMap.put("sort", sortMap);
         dataMap.put("empty", examSetups.isEmpty());
+        return dataMap;
+    }
 
-        // Return as StandardResponse with Map
-        return  StandardResponse.success(dataMap, "Subjects fetched successfully");
+    private static List<Long> contentIds(Map<String, Object> dataMap) {
+        return ((List<?>) dataMap.get("content")).stream()
+                .map(row -> ((ExamSetupResponse) row).getId())
+                .toList();
     }
 
 
@@ -0,0 +1,152 @@
+package com.academic.service;
+
+import com.academic.utility.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of mapped list-endpoint results, keyed by (endpoint, filters, page, size).
+ *
+ * Size is bounded by the total number of cached rows (each entry weighs its row count + 1).
+ * Writes evict precisely: an update only drops the entries of that endpoint which contain the
+ * updated id or carry filters (the row may have started or stopped matching them); a create or
+ * delete shifts pagination and drops the whole endpoint. Evictions inside a transaction run after commit.
+ *
+ * Each endpoint also has a generation, bumped by every eviction, which entries kept by that eviction
+ * take over. An entry stamped with the generation read before its rows were loaded is dropped instead
+ * of served once it falls behind, so a page read before a write committed cannot land in the cache
+ * after that write's eviction ran.
+ */
+@Component
+@Slf4j
+public class ListResponseCache {
+
+    public static final String TIMETABLES = "timetables";
+    public static final String SUBJECTS = "subjects";
+    public static final String EVENTS = "events";
+    public static final String EXAM_SETUPS = "examSetups";
+    public static final String TEACHER_ALLOCATIONS = "teacherAllocations";
+    public static final String CLASS_SECTIONS = "classSections";
+
+    private final CommonMasterCache commonMasterCache;
+    private final Cache<Key, Entry> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long maxRows;
+
+    public ListResponseCache(CommonMasterCache commonMasterCache,
+                             @Value("${academic.list-cache.enabled:true}") boolean enabled,
+                             @Value("${academic.list-cache.max-rows:20000}") long maxRows,
+                             @Value("${academic.list-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.commonMasterCache = commonMasterCache;
+        this.enabled = enabled;
+        this.maxRows = maxRows;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Key key, Entry entry) -> entry.ids.size() + 1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Return the cached result for this endpoint/filter/page combination, or load, cache and return it
+     *
+     * @param filters the endpoint's filter values in a fixed order (nulls allowed)
+     * @param idsOf   ids of the rows contained in a result, used for precise eviction on update
+     */
+    public <T> T get(String endpoint, List<?> filters, int page, int size,
+                     Supplier<T> loader, Function<T, Collection<Long>> idsOf) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        // Names resolved through the dictionary are part of the result, so its version is part of the key
+        Key key = new Key(endpoint, filters, page, size, commonMasterCache.version());
+
+        AtomicLong generation = generation(endpoint);
+        Entry entry = cache.get(key, k -> {
+            long loadedAt = generation.get();
+            T value = loader.get();
+            return new Entry(value, Set.copyOf(idsOf.apply(value)), filters.stream().anyMatch(this::isFilterSet),
+                    new AtomicLong(loadedAt));
+        });
+        if (entry.generation.get() != generation.get()) {
+            // Read before an eviction of this endpoint ran: drop it and answer from a fresh, uncached read
+            cache.asMap().remove(key, entry);
+            return loader.get();
+        }
+
+        @SuppressWarnings("unchecked")
+        T value = (T) entry.value;
+        return value;
+    }
+
+    /**
+     * A row was updated: drop the entries that contain it, plus every filtered entry of the endpoint
+     */
+    public void evictUpdated(String endpoint, Long id) {
+        AfterCommit.run(() -> {
+            long current = generation(endpoint).incrementAndGet();
+            cache.asMap().entrySet().removeIf(e -> {
+                if (!e.getKey().endpoint.equals(endpoint)) return false;
+                if (e.getValue().filtered || e.getValue().ids.contains(id)) return true;
+                // Unaffected by this update: carry it over to the new generation
+                e.getValue().generation.accumulateAndGet(current, Math::max);
+                return false;
+            });
+        });
+    }
+
+    /**
+     * A row was created or deleted: every page of the endpoint may have shifted
+     */
+    public void evictAll(String endpoint) {
+        AfterCommit.run(() -> {
+            generation(endpoint).incrementAndGet();
+            cache.asMap().keySet().removeIf(key -> key.endpoint.equals(endpoint));
+        });
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = cache.stats();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("hits", s.hitCount());
+        stats.put("misses", s.missCount());
+        stats.put("hitRatio", s.hitRate());
+        stats.put("evictions", s.evictionCount());
+        stats.put("entries", cache.estimatedSize());
+        stats.put("cachedRows", cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        stats.put("maxRows", maxRows);
+        return stats;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private AtomicLong generation(String endpoint) {
+        return generations.computeIfAbsent(endpoint, e -> new AtomicLong());
+    }
+
+    private boolean isFilterSet(Object filter) {
+        return filter != null && !(filter instanceof String str && str.isBlank());
+    }
+
+    private record Key(String endpoint, List<?> filters, int page, int size, long dictionaryVersion) {
+    }
+
+    private record Entry(Object value, Set<Long> ids, boolean filtered, AtomicLong generation) {
+    }
+}
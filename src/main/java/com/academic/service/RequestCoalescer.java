@@ -0,0 +1,94 @@
+package com.academic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical concurrent reads.
+ *
+ * The first caller for a key runs the computation; callers arriving while it is in flight wait for
+ * and share its result (or exception) instead of taking another database connection. Nothing is
+ * kept once the computation finishes, so this never serves stale data - it only merges requests
+ * that overlap in time. Call it outside a transaction (e.g. from the controller) so followers
+ * don't hold a connection while they wait, and only for results that are not mutated afterwards.
+ */
+@Component
+@Slf4j
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<List<?>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Key made of an operation name and its arguments (nulls allowed)
+     */
+    public static List<?> key(String operation, Object... args) {
+        Object[] parts = new Object[args.length + 1];
+        parts[0] = operation;
+        System.arraycopy(args, 0, parts, 1, args.length);
+        return Arrays.asList(parts);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(List<?> key, Supplier<T> computation) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("Joining in-flight computation for {}", key);
+            return (T) await(existing);
+        }
+
+        executed.increment();
+        try {
+            T result = computation.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long executedCount = executed.sum();
+        long coalescedCount = coalesced.sum();
+        long total = executedCount + coalescedCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("executed", executedCount);
+        stats.put("coalesced", coalescedCount);
+        stats.put("coalescedRatio", total == 0 ? 0.0 : (double) coalescedCount / total);
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's own exception so followers get the same error response
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
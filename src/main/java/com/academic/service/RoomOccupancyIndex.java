@@ -0,0 +1,160 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import com.academic.utility.MinuteBitmap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-day occupancy bitmap of every room used by a live timetable slot, one bit per minute and one
+ * bitmap per academic year.
+ *
+ * Finding the free rooms for a time range tests at most two words per room and day, so the answer
+ * does not depend on how many slots exist. The known rooms are the distinct (trimmed,
+ * case-insensitive) room values of all slots seen since the last full load; a room keeps being
+ * listed as free after its last slot is removed.
+ */
+@Component
+@Slf4j
+public class RoomOccupancyIndex implements SlotIndexListener {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Normalized room value -> display value (as first seen), sorted for stable output
+    private final SortedMap<String, String> rooms = new TreeMap<>();
+    private final Map<RoomDay, Map<Integer, long[]>> occupancy = new HashMap<>(); // academic year (nullable) -> bitmap
+    private final Map<RoomDay, List<SlotEntry>> slotsByRoomDay = new HashMap<>();
+    private final Map<Long, List<SlotEntry>> byTimetable = new HashMap<>();
+
+    @Override
+    public void rebuild(Collection<SlotEntry> slots) {
+        lock.writeLock().lock();
+        try {
+            rooms.clear();
+            occupancy.clear();
+            slotsByRoomDay.clear();
+            byTimetable.clear();
+            for (SlotEntry slot : slots) {
+                RoomDay key = add(slot);
+                if (key != null) mark(occupancy.computeIfAbsent(key, k -> new HashMap<>()), slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replaceTimetable(Long timetableId, List<SlotEntry> slots) {
+        lock.writeLock().lock();
+        try {
+            Set<RoomDay> touched = new HashSet<>();
+
+            List<SlotEntry> previous = byTimetable.remove(timetableId);
+            if (previous != null) {
+                for (SlotEntry slot : previous) {
+                    RoomDay key = keyOf(slot);
+                    if (key == null) continue;
+                    touched.add(key);
+                    List<SlotEntry> list = slotsByRoomDay.get(key);
+                    if (list != null) list.removeIf(e -> Objects.equals(e.timetableId(), timetableId));
+                }
+            }
+            for (SlotEntry slot : slots) {
+                RoomDay key = add(slot);
+                if (key != null) touched.add(key);
+            }
+
+            // Other timetables may book the same room and day, so redraw those bitmaps from all their slots
+            touched.forEach(this::redraw);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Known rooms with no booking overlapping [startMinute, endMinute) on the given day, sorted by name
+     *
+     * @param academicYearId only count bookings of this year, or null for bookings of any year
+     */
+    public List<String> findFreeRooms(Integer academicYearId, int day, int startMinute, int endMinute) {
+        long started = System.nanoTime();
+        List<String> free = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, String> room : rooms.entrySet()) {
+                Map<Integer, long[]> byYear = occupancy.getOrDefault(new RoomDay(day, room.getKey()), Map.of());
+                if (!isBooked(byYear, academicYearId, startMinute, endMinute)) {
+                    free.add(room.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        log.debug("Found {} free rooms on day {} in {} us", free.size(), day, (System.nanoTime() - started) / 1_000);
+        return free;
+    }
+
+    public int roomCount() {
+        lock.readLock().lock();
+        try {
+            return rooms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private RoomDay add(SlotEntry slot) {
+        byTimetable.computeIfAbsent(slot.timetableId(), id -> new ArrayList<>()).add(slot);
+        RoomDay key = keyOf(slot);
+        if (key == null) return null;
+
+        rooms.putIfAbsent(key.room(), slot.room().trim());
+        slotsByRoomDay.computeIfAbsent(key, k -> new ArrayList<>()).add(slot);
+        return key;
+    }
+
+    private void redraw(RoomDay key) {
+        List<SlotEntry> list = slotsByRoomDay.get(key);
+        if (list == null || list.isEmpty()) {
+            slotsByRoomDay.remove(key);
+            occupancy.remove(key);
+            return;
+        }
+        Map<Integer, long[]> byYear = new HashMap<>();
+        list.forEach(slot -> mark(byYear, slot));
+        occupancy.put(key, byYear);
+    }
+
+    private static void mark(Map<Integer, long[]> byYear, SlotEntry slot) {
+        MinuteBitmap.set(byYear.computeIfAbsent(slot.academicYearId(), y -> MinuteBitmap.empty()),
+                slot.startMinute(), slot.endMinute());
+    }
+
+    private static boolean isBooked(Map<Integer, long[]> byYear, Integer academicYearId, int startMinute, int endMinute) {
+        if (academicYearId != null) {
+            long[] bitmap = byYear.get(academicYearId);
+            return bitmap != null && MinuteBitmap.any(bitmap, startMinute, endMinute);
+        }
+        for (long[] bitmap : byYear.values()) {
+            if (MinuteBitmap.any(bitmap, startMinute, endMinute)) return true;
+        }
+        return false;
+    }
+
+    private static RoomDay keyOf(SlotEntry slot) {
+        String room = slot.room();
+        if (room == null || room.isBlank()) return null;
+        return new RoomDay(slot.day(), room.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private record RoomDay(int day, String room) {
+    }
+}
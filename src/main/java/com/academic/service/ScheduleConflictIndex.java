@@ -0,0 +1,289 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import com.academic.exception.CustomException;
+import com.academic.response.SlotConflictResponse;
+import com.academic.utility.SlotTimes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Interval index of booked slots per (day, teacher) and (day, room), used to detect double bookings.
+ *
+ * Each key holds its slots sorted by start minute, so checking a candidate slot only scans the few
+ * slots of that teacher/room on that day that start before the candidate ends. Teacher and room
+ * values are compared trimmed and case-insensitively.
+ *
+ * Writers serialize their check and insert per (academic year, day, teacher/room) through
+ * {@link #lockUntilCompletion}: the locks are striped and held until the transaction completes, by
+ * which time the after-commit index update has run and the next check sees the new bookings.
+ */
+@Component
+@Slf4j
+public class ScheduleConflictIndex implements SlotIndexListener {
+
+    public enum ResourceType { TEACHER, ROOM }
+
+    private static final Comparator<SlotEntry> BY_START = Comparator.comparingInt(SlotEntry::startMinute);
+
+    private static final int BOOKING_LOCK_STRIPES = 256;
+    private static final long BOOKING_LOCK_WAIT_SECONDS = 10;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<ResourceKey, List<SlotEntry>> byResource = new HashMap<>();
+    private final Map<Long, List<SlotEntry>> byTimetable = new HashMap<>();
+    private final ReentrantLock[] bookingLocks = new ReentrantLock[BOOKING_LOCK_STRIPES];
+
+    public ScheduleConflictIndex() {
+        for (int i = 0; i < bookingLocks.length; i++) {
+            bookingLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<SlotEntry> slots) {
+        lock.writeLock().lock();
+        try {
+            byResource.clear();
+            byTimetable.clear();
+            slots.forEach(this::add);
+            byResource.values().forEach(list -> list.sort(BY_START));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replaceTimetable(Long timetableId, List<SlotEntry> slots) {
+        lock.writeLock().lock();
+        try {
+            List<SlotEntry> previous = byTimetable.remove(timetableId);
+            if (previous != null) {
+                for (SlotEntry slot : previous) {
+                    forEachKey(slot, key -> {
+                        List<SlotEntry> list = byResource.get(key);
+                        if (list == null) return;
+                        list.removeIf(e -> Objects.equals(e.timetableId(), timetableId));
+                        if (list.isEmpty()) byResource.remove(key);
+                    });
+                }
+            }
+            for (SlotEntry slot : slots) {
+                add(slot);
+                forEachKey(slot, key -> byResource.get(key).sort(BY_START));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Teacher and room conflicts of the candidate slots against every other timetable and against each other
+     *
+     * @param timetableId the timetable the candidates belong to (its own stored slots are ignored), or null when new
+     */
+    public List<SlotConflictResponse> findConflicts(Long timetableId, List<SlotEntry> candidates) {
+        long started = System.nanoTime();
+        List<SlotConflictResponse> conflicts = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (SlotEntry candidate : candidates) {
+                for (ResourceType type : ResourceType.values()) {
+                    ResourceKey key = keyOf(type, candidate);
+                    if (key == null) continue;
+
+                    for (SlotEntry booked : byResource.getOrDefault(key, List.of())) {
+                        if (booked.startMinute() >= candidate.endMinute()) break;
+                        if (!Objects.equals(booked.timetableId(), timetableId) && booked.overlaps(candidate)) {
+                            conflicts.add(conflict(type, candidate, booked));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Clashes inside the request itself (same teacher/room twice at overlapping times)
+        for (int i = 0; i < candidates.size(); i++) {
+            for (int j = i + 1; j < candidates.size(); j++) {
+                SlotEntry a = candidates.get(i);
+                SlotEntry b = candidates.get(j);
+                if (!a.overlaps(b)) continue;
+                for (ResourceType type : ResourceType.values()) {
+                    ResourceKey key = keyOf(type, a);
+                    if (key != null && key.equals(keyOf(type, b))) {
+                        conflicts.add(conflict(type, b, a));
+                    }
+                }
+            }
+        }
+
+        log.debug("Checked {} slots for conflicts in {} us, found {}",
+                candidates.size(), (System.nanoTime() - started) / 1_000, conflicts.size());
+        return conflicts;
+    }
+
+    /**
+     * Lock the (academic year, day, teacher/room) of every candidate until the current transaction
+     * completes; call before {@link #findConflicts} on a write path. Without a transaction nothing is locked.
+     */
+    public void lockUntilCompletion(Collection<SlotEntry> candidates) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        // Stripes are taken in ascending order, so two writers never wait on each other in a cycle
+        SortedSet<Integer> stripes = new TreeSet<>();
+        for (SlotEntry candidate : candidates) {
+            forEachKey(candidate, key -> stripes.add(Math.floorMod(Objects.hash(key, candidate.academicYearId()), BOOKING_LOCK_STRIPES)));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(stripes.size());
+        try {
+            for (int stripe : stripes) {
+                ReentrantLock lock = bookingLocks[stripe];
+                if (!lock.tryLock(BOOKING_LOCK_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new CustomException(
+                            "Timetable resources are busy",
+                            "SCHEDULE_BUSY",
+                            "Another timetable booking the same teachers or rooms is being saved; try again."
+                    );
+                }
+                held.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            held.forEach(ReentrantLock::unlock);
+            throw new CustomException("Interrupted while locking timetable resources", "SCHEDULE_BUSY", e.getMessage());
+        } catch (RuntimeException e) {
+            held.forEach(ReentrantLock::unlock);
+            throw e;
+        }
+
+        // afterCompletion runs after every afterCommit callback, including the slot index update
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                held.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+
+    /**
+     * Booked slots of a teacher/room on a day, sorted by start minute
+     *
+     * @param academicYearId only slots of this year, or null for every year
+     */
+    public List<SlotEntry> slotsOf(ResourceType type, Integer academicYearId, int day, String value) {
+        ResourceKey key = keyOf(type, day, value);
+        if (key == null) return List.of();
+
+        lock.readLock().lock();
+        try {
+            return byResource.getOrDefault(key, List.of()).stream()
+                    .filter(slot -> slot.inYear(academicYearId))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a teacher/room has a slot overlapping [startMinute, endMinute) on the day, in the same
+     * academic year (exactly, as for conflicts: null only matches slots without a year)
+     */
+    public boolean isBooked(ResourceType type, Integer academicYearId, int day, String value, int startMinute, int endMinute) {
+        ResourceKey key = keyOf(type, day, value);
+        if (key == null) return false;
+
+        lock.readLock().lock();
+        try {
+            for (SlotEntry booked : byResource.getOrDefault(key, List.of())) {
+                if (booked.startMinute() >= endMinute) break;
+                if (booked.endMinute() > startMinute && Objects.equals(booked.academicYearId(), academicYearId)) return true;
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The values exactly as stored (before trimming/case folding) under which a teacher/room has slots
+     */
+    public Set<String> storedValuesOf(ResourceType type, String value) {
+        Set<String> stored = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            for (int day = 1; day <= 7; day++) {
+                ResourceKey key = keyOf(type, day, value);
+                if (key == null) break;
+                for (SlotEntry slot : byResource.getOrDefault(key, List.of())) {
+                    stored.add(type == ResourceType.TEACHER ? slot.teacher() : slot.room());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stored;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byTimetable.values().stream().mapToInt(List::size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private void add(SlotEntry slot) {
+        byTimetable.computeIfAbsent(slot.timetableId(), id -> new ArrayList<>()).add(slot);
+        forEachKey(slot, key -> byResource.computeIfAbsent(key, k -> new ArrayList<>()).add(slot));
+    }
+
+    private static void forEachKey(SlotEntry slot, Consumer<ResourceKey> action) {
+        for (ResourceType type : ResourceType.values()) {
+            ResourceKey key = keyOf(type, slot);
+            if (key != null) action.accept(key);
+        }
+    }
+
+    private static ResourceKey keyOf(ResourceType type, SlotEntry slot) {
+        return keyOf(type, slot.day(), type == ResourceType.TEACHER ? slot.teacher() : slot.room());
+    }
+
+    private static ResourceKey keyOf(ResourceType type, int day, String value) {
+        if (value == null || value.isBlank()) return null;
+        return new ResourceKey(type, day, value.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static SlotConflictResponse conflict(ResourceType type, SlotEntry candidate, SlotEntry booked) {
+        return SlotConflictResponse.builder()
+                .type(type.name())
+                .resource(type == ResourceType.TEACHER ? candidate.teacher() : candidate.room())
+                .day(candidate.day())
+                .startTime(SlotTimes.format(candidate.startMinute()))
+                .endTime(SlotTimes.format(candidate.endMinute()))
+                .conflictingTimetableId(booked.timetableId())
+                .conflictingTimetableName(booked.timetableName())
+                .conflictingSlotId(booked.slotId())
+                .conflictingStartTime(SlotTimes.format(booked.startMinute()))
+                .conflictingEndTime(SlotTimes.format(booked.endMinute()))
+                .build();
+    }
+
+    private record ResourceKey(ResourceType type, int day, String value) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.academic.service;
+
+import com.academic.config.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes Hibernate second-level / query cache region statistics so hit rates can be checked under load
+ */
+@Component
+public class SecondLevelCacheStats {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : CacheRegions.ENTITY_REGIONS) {
+            regions.put(region, toMap(statistics.getDomainDataRegionStatistics(region)));
+        }
+        for (String region : CacheRegions.QUERY_REGIONS) {
+            regions.put(region, toMap(statistics.getQueryRegionStatistics(region)));
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", statistics.isStatisticsEnabled());
+        stats.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        stats.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        stats.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        stats.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        stats.put("regions", regions);
+        return stats;
+    }
+
+    private Map<String, Object> toMap(CacheRegionStatistics region) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (region == null) {
+            return stats;
+        }
+
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("puts", region.getPutCount());
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        // JCache regions do not report sizes (Hibernate returns Long.MIN_VALUE for "unknown")
+        if (region.getElementCountInMemory() >= 0) {
+            stats.put("elementsInMemory", region.getElementCountInMemory());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,91 @@
+package com.academic.service;
+
+import com.academic.entity.TimeSlotSubjectMapper;
+import com.academic.exception.CustomException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reserves a contiguous range of slot ids from the pooled slot id sequence, for set-based inserts
+ * that assign ids themselves (INSERT ... SELECT) while Hibernate keeps allocating from the same sequence.
+ *
+ * Hibernate's pooled optimizer treats a fetched sequence value V as owning the ids [V-49, V]. Taking
+ * k = ceil(n/50) + 1 consecutive values V1, V1+50, ... therefore owns [V1-49, V1+50(k-1)], which
+ * contains [V1+1, V1+n]. The reservation commits on its own so the sequence row is never held
+ * locked by the caller's transaction; ids of a rolled back insert are simply skipped.
+ */
+@Component
+@Slf4j
+public class SlotIdBlockAllocator {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * First id of a reserved block of {@code count} consecutive slot ids
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        int step = TimeSlotSubjectMapper.ID_ALLOCATION_SIZE;
+        int blocks = (count + step - 1) / step + 1;
+
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        long first = dialect.getSequenceSupport().supportsSequences()
+                ? reserveFromSequence(dialect, blocks, step)
+                : reserveFromTable(blocks, step);
+
+        log.info("Reserved {} slot ids starting at {}", count, first);
+        return first;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    // MySQL: the sequence is a one-row table, so one locked read and update takes all blocks at once
+    private long reserveFromTable(int blocks, int step) {
+        long nextVal = ((Number) entityManager.createNativeQuery(
+                        "SELECT next_val FROM " + TimeSlotSubjectMapper.ID_SEQUENCE + " FOR UPDATE")
+                .getSingleResult()).longValue();
+        entityManager.createNativeQuery(
+                        "UPDATE " + TimeSlotSubjectMapper.ID_SEQUENCE + " SET next_val = :nextVal")
+                .setParameter("nextVal", nextVal + (long) blocks * step)
+                .executeUpdate();
+        return nextVal + 1;
+    }
+
+    // Native sequences: values taken by concurrent inserts can interleave, so retry until they are consecutive
+    private long reserveFromSequence(Dialect dialect, int blocks, int step) {
+        String nextValue = dialect.getSequenceSupport().getSequenceNextValString(TimeSlotSubjectMapper.ID_SEQUENCE);
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            long first = next(nextValue);
+            long previous = first;
+            boolean consecutive = true;
+            for (int i = 1; i < blocks; i++) {
+                long value = next(nextValue);
+                consecutive &= value == previous + step;
+                previous = value;
+            }
+            if (consecutive) {
+                return first + 1;
+            }
+            log.warn("Slot id sequence advanced concurrently while reserving {} blocks (attempt {})", blocks, attempt);
+        }
+        throw new CustomException("Could not reserve slot ids", "SLOT_ID_RESERVATION_FAILED",
+                "The slot id sequence kept advancing concurrently; retry the operation");
+    }
+
+    private long next(String nextValue) {
+        return ((Number) entityManager.createNativeQuery(nextValue).getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,53 @@
+package com.academic.service;
+
+import com.academic.entity.TimeSlotSubjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the slot id generator past the ids already assigned by the former IDENTITY column.
+ *
+ * On MySQL the sequence is emulated by a one-row table created by schema update with next_val = 1;
+ * without this, the first pooled block would collide with existing slot ids. The update only ever
+ * raises next_val, so it is safe on every start. Databases with native sequences get a fresh sequence
+ * together with the table and are left alone.
+ *
+ * Runs once every singleton exists, before the embedded server is started, so no request can insert
+ * slots from the unaligned range.
+ */
+@Component
+@Slf4j
+public class SlotIdSequenceAlignment implements SmartInitializingSingleton {
+
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SlotIdSequenceAlignment(TransactionTemplate transactionTemplate) {
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            return;
+        }
+
+        // Next pooled block starts above every existing id
+        Integer updated = transactionTemplate.execute(status -> entityManager.createNativeQuery(
+                        "UPDATE " + TimeSlotSubjectMapper.ID_SEQUENCE + " SET next_val = GREATEST(next_val, " +
+                        "(SELECT COALESCE(MAX(id), 0) + " + (TimeSlotSubjectMapper.ID_ALLOCATION_SIZE + 1) +
+                        " FROM time_slot_subject_mapper))")
+                .executeUpdate());
+        log.info("Slot id sequence aligned with existing slot ids ({} row)", updated);
+    }
+}
@@ -0,0 +1,134 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import com.academic.entity.TimeSlotSubjectMapper;
+import com.academic.entity.TimeTable;
+import com.academic.repository.TimeSlotSubjectMapperRepository;
+import com.academic.request.TimeSlotDTO;
+import com.academic.utility.AfterCommit;
+import com.academic.utility.SlotTimes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feeds every {@link SlotIndexListener} from one source: a single full load of the live slots at
+ * startup (or on first use), then the saved slot list of each timetable after its transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotIndexCoordinator {
+
+    private final TimeSlotSubjectMapperRepository slotRepository;
+    private final List<SlotIndexListener> listeners;
+
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    public void ensureLoaded() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reload every index from the database
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+
+        List<TimeSlotSubjectMapperRepository.SlotRow> rows = slotRepository.findAllLiveSlotRows();
+        List<SlotEntry> entries = new ArrayList<>(rows.size());
+        for (TimeSlotSubjectMapperRepository.SlotRow row : rows) {
+            toEntry(row.getSlotId(), row.getTimetableId(), row.getTimetableName(), row.getAcademicYearId(), row.getDay(),
+                    row.getStartMinute(), row.getEndMinute(), row.getStartTime(), row.getEndTime(),
+                    row.getSubjectId(), row.getTeacherName(), row.getRoom(), entries);
+        }
+        int skipped = rows.size() - entries.size();
+
+        listeners.forEach(listener -> listener.rebuild(entries));
+        loaded = true;
+
+        if (skipped > 0) {
+            log.warn("Slot indexes skipped {} slots without a day or with unparsable times", skipped);
+        }
+        log.info("Slot indexes loaded: {} slots into {} indexes in {} ms",
+                entries.size(), listeners.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Push the saved slots of a timetable to the indexes once the transaction commits
+     */
+    public void timetableSaved(TimeTable timeTable) {
+        // Read the slots after commit, once the flush has assigned ids and numeric minutes
+        AfterCommit.run(() -> replace(timeTable.getId(), entriesOf(timeTable)));
+    }
+
+    public void timetableDeleted(Long timetableId) {
+        AfterCommit.run(() -> replace(timetableId, List.of()));
+    }
+
+    /**
+     * Slots of a request as index entries (not saved yet, so without slot ids); times must be valid
+     */
+    public static List<SlotEntry> toEntries(Long timetableId, String timetableName, Integer academicYearId,
+                                            List<TimeSlotDTO> slots) {
+        List<SlotEntry> entries = new ArrayList<>();
+        if (slots == null) return entries;
+
+        for (TimeSlotDTO slot : slots) {
+            int start = SlotTimes.toMinuteOfDay(slot.getStartTime());
+            int end = SlotTimes.toMinuteOfDay(slot.getEndTime());
+            SlotTimes.requireRange(start, end);
+            if (slot.getDay() == null) continue;
+            entries.add(new SlotEntry(null, timetableId, timetableName, academicYearId, slot.getDay(), start, end,
+                    slot.getSubjectId(), slot.getTeacherId(), slot.getRoomId()));
+        }
+        return entries;
+    }
+
+    /**
+     * Current slots of a timetable entity as index entries
+     */
+    public static List<SlotEntry> entriesOf(TimeTable timeTable) {
+        List<SlotEntry> entries = new ArrayList<>();
+        if (timeTable.getSlots() == null) return entries;
+
+        for (TimeSlotSubjectMapper slot : timeTable.getSlots()) {
+            if (Boolean.FALSE.equals(slot.getActive())) continue;
+            toEntry(slot.getId(), timeTable.getId(), timeTable.getTimetableName(), timeTable.getAcademicYearId(), slot.getDay(),
+                    slot.getStartMinute(), slot.getEndMinute(), slot.getStartTime(), slot.getEndTime(),
+                    slot.getSubjectId(), slot.getTeacherName(), slot.getRoom(), entries);
+        }
+        return entries;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private synchronized void replace(Long timetableId, List<SlotEntry> entries) {
+        // Not loaded yet: the full load will read this timetable from the database anyway
+        if (!loaded) return;
+        listeners.forEach(listener -> listener.replaceTimetable(timetableId, entries));
+    }
+
+    // Stored rows may predate time validation; rows without a usable day/time range are left out
+    private static void toEntry(Long slotId, Long timetableId, String timetableName, Integer academicYearId, Integer day,
+                                Integer startMinute, Integer endMinute, String startTime, String endTime,
+                                Long subjectId, String teacher, String room, List<SlotEntry> into) {
+        // Numeric columns when filled, else the time strings (rows not migrated yet)
+        Integer start = startMinute != null ? startMinute : SlotTimes.parseOrNull(startTime);
+        Integer end = endMinute != null ? endMinute : SlotTimes.parseOrNull(endTime);
+        if (day == null || start == null || end == null || start >= end) return;
+        into.add(new SlotEntry(slotId, timetableId, timetableName, academicYearId, day, start, end, subjectId, teacher, room));
+    }
+}
@@ -0,0 +1,26 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory index over the slots of all live timetables, kept current by {@link SlotIndexCoordinator}.
+ *
+ * The coordinator loads every slot once and then pushes the new slot list of each timetable after
+ * its create/update/delete commits. Calls are serialized by the coordinator; implementations only
+ * need to guard their own readers.
+ */
+public interface SlotIndexListener {
+
+    /**
+     * Replace the whole index with the given slots
+     */
+    void rebuild(Collection<SlotEntry> slots);
+
+    /**
+     * Replace the slots of one timetable (empty list when it was deleted)
+     */
+    void replaceTimetable(Long timetableId, List<SlotEntry> slots);
+}
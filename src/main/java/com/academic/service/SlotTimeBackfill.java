@@ -0,0 +1,54 @@
+package com.academic.service;
+
+import com.academic.entity.BellPeriod;
+import com.academic.repository.BellPeriodRepository;
+import com.academic.repository.TimeSlotSubjectMapperRepository;
+import com.academic.utility.SlotTimes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One-time (idempotent) migration of slots saved before numeric times existed: fills
+ * start_minute/end_minute from the "HH:mm" strings and links slots to the matching bell period.
+ *
+ * Slots share a handful of distinct time pairs, so this runs one UPDATE per distinct pair and one
+ * per period rather than touching rows one by one. Rows whose times cannot be parsed are left as is.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotTimeBackfill implements ApplicationRunner {
+
+    private final TimeSlotSubjectMapperRepository slotRepository;
+    private final BellPeriodRepository bellPeriodRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int filled = 0;
+        int unparsable = 0;
+        for (TimeSlotSubjectMapperRepository.TimePair pair : slotRepository.findDistinctTimesWithoutMinutes()) {
+            Integer start = SlotTimes.parseOrNull(pair.getStartTime());
+            Integer end = SlotTimes.parseOrNull(pair.getEndTime());
+            if (start == null || end == null) {
+                unparsable++;
+                continue;
+            }
+            filled += slotRepository.fillMinutes(pair.getStartTime(), pair.getEndTime(), start, end);
+        }
+
+        int linked = 0;
+        for (BellPeriod period : bellPeriodRepository.findByIsDeletedFalseOrderByStartMinuteAsc()) {
+            linked += slotRepository.linkPeriod(period.getId(), period.getStartMinute(), period.getEndMinute());
+        }
+
+        if (filled > 0 || linked > 0 || unparsable > 0) {
+            log.info("Slot time backfill: {} slots got numeric times, {} linked to bell periods, {} time pairs unparsable",
+                    filled, linked, unparsable);
+        }
+    }
+}
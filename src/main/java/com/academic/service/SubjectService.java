@@ -1,10 +1,13 @@
 package com.academic.service;
 
 
+import com.academic.dto.ResourceVersion;
 import com.academic.request.SubjectRequest;
 import com.academic.response.SubjectResponse;
 import org.springframework.data.domain.Page;
 
+import java.util.Optional;
+
 public interface SubjectService {
 
     SubjectResponse create(SubjectRequest request);
@@ -15,5 +18,7 @@ public interface SubjectService {
 
     SubjectResponse getById(Long id);
 
+    Optional<ResourceVersion> getVersion(Long id);
+
     Page<SubjectResponse> getAll(int page, int size, String search, String type, String status, Integer credits);
 }
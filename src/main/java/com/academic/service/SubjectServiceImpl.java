@@ -1,5 +1,6 @@
 package com.academic.service;
 
+import com.academic.dto.ResourceVersion;
 import com.academic.entity.Subject;
 import com.academic.exception.CustomException;
 import com.academic.exception.ResourceNotFoundException;
@@ -15,12 +16,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SubjectServiceImpl implements SubjectService {
 
     private final SubjectRepository repository;
+    private final ListResponseCache listResponseCache;
 
     @Override
     public SubjectResponse create(SubjectRequest request) {
@@ -38,6 +43,7 @@ public class SubjectServiceImpl implements SubjectService {
 
         Subject entity = SubjectMapper.toEntity(request);
         Subject saved = repository.save(entity);
+        listResponseCache.evictAll(ListResponseCache.SUBJECTS);
 
         log.info("Subject created successfully with id: {}", saved.getId());
         return SubjectMapper.toResponse(saved);
@@ -63,6 +69,7 @@ public class SubjectServiceImpl implements SubjectService {
 
         SubjectMapper.updateEntity(existing, request);
         Subject updated = repository.save(existing);
+        listResponseCache.evictUpdated(ListResponseCache.SUBJECTS, id);
 
         log.info("Subject updated successfully with id: {}", updated.getId());
         return SubjectMapper.toResponse(updated);
@@ -77,6 +84,7 @@ public class SubjectServiceImpl implements SubjectService {
 
         existing.setIsDeleted(true);
         repository.save(existing);
+        listResponseCache.evictAll(ListResponseCache.SUBJECTS);
         log.info("Subject soft deleted successfully with id: {}", id);
     }
 
@@ -88,21 +96,26 @@ public class SubjectServiceImpl implements SubjectService {
         return SubjectMapper.toResponse(entity);
     }
 
+    @Override
+    public Optional<ResourceVersion> getVersion(Long id) {
+        return repository.findUpdatedAtById(id)
+                .map(v -> ResourceVersion.of(v.getUpdatedAt(), "subject", v.getId(), v.getUpdatedAt()));
+    }
+
     @Override
     public Page<SubjectResponse> getAll(int page, int size, String search, String type, String status, Integer credits) {
         log.info("Fetching Subjects. Page: {}, Size: {}, Search: {}, Type: {}, Status: {}, Credits: {}",
                 page, size, search, type, status, credits);
 
         Pageable pageable = PageRequest.of(page, size);
-
-        Page<Subject> result = repository.searchAndFilter(
-                (search == null || search.isBlank()) ? null : search,
-                (type == null || type.isBlank()) ? null : type,
-                (status == null || status.isBlank()) ? null : status,
-                credits,
-                pageable
-        );
-
-        return result.map(SubjectMapper::toResponse);
+        String searchFilter = (search == null || search.isBlank()) ? null : search;
+        String typeFilter = (type == null || type.isBlank()) ? null : type;
+        String statusFilter = (status == null || status.isBlank()) ? null : status;
+
+        return listResponseCache.get(ListResponseCache.SUBJECTS,
+                Arrays.asList(searchFilter, typeFilter, statusFilter, credits), page, size,
+                () -> repository.searchAndFilter(searchFilter, typeFilter, statusFilter, credits, pageable)
+                        .map(SubjectMapper::toResponse),
+                result -> result.map(SubjectResponse::getId).getContent());
     }
 }
@@ -0,0 +1,17 @@
+package com.academic.service;
+
+import com.academic.response.SubstituteSlotResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SubstituteService {
+
+    /**
+     * Every slot the teacher has on the date's weekday (1 = Monday .. 7 = Sunday), each with up to
+     * {@code limit} teachers of the same subject who are free at that time, lowest load first
+     *
+     * @param academicYearId only that year's timetables, or null for every year
+     */
+    List<SubstituteSlotResponse> findSubstitutes(String teacher, Integer academicYearId, LocalDate date, int limit);
+}
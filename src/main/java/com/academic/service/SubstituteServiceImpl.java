@@ -0,0 +1,155 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import com.academic.exception.CustomException;
+import com.academic.response.SubstituteCandidateResponse;
+import com.academic.response.SubstituteSlotResponse;
+import com.academic.service.ScheduleConflictIndex.ResourceType;
+import com.academic.service.TeacherSubjectIndex.Teacher;
+import com.academic.utility.SlotTimes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Answers from the in-memory indexes only: teacher availability from {@link ScheduleConflictIndex}
+ * and subject qualification/load from {@link TeacherSubjectIndex}, so a whole day resolves without
+ * per-slot queries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubstituteServiceImpl implements SubstituteService {
+
+    private final SlotIndexCoordinator slotIndexCoordinator;
+    private final ScheduleConflictIndex scheduleConflictIndex;
+    private final TeacherSubjectIndex teacherSubjectIndex;
+    private final CommonMasterCache commonMasterCache;
+    private final WorkingDayCalendar workingDayCalendar;
+
+    @Override
+    public List<SubstituteSlotResponse> findSubstitutes(String teacher, Integer academicYearId, LocalDate date, int limit) {
+        if (teacher == null || teacher.isBlank() || date == null) {
+            throw new CustomException("Teacher and date are required", "INVALID_SUBSTITUTE_REQUEST",
+                    "Pass the absent teacher and the date to find substitutes for");
+        }
+        if (!workingDayCalendar.isWorkingDay(date)) {
+            log.info("Substitutes for {} on {}: not a working day, no lessons to cover", teacher, date);
+            return List.of();
+        }
+        long started = System.nanoTime();
+        slotIndexCoordinator.ensureLoaded();
+
+        int day = date.getDayOfWeek().getValue();
+        Optional<Teacher> absent = teacherSubjectIndex.find(teacher);
+        Set<String> absentNames = absent.map(SubstituteServiceImpl::namesOf).orElse(Set.of(teacher));
+
+        List<SlotEntry> slots = slotsOf(absentNames, academicYearId, day);
+        Map<Teacher, Integer> bookedMinutes = new HashMap<>();
+        List<SubstituteSlotResponse> result = new ArrayList<>(slots.size());
+
+        for (SlotEntry slot : slots) {
+            String subjectName = slot.subjectId() == null ? null
+                    : commonMasterCache.getData(Math.toIntExact(slot.subjectId())).orElse(null);
+
+            List<SubstituteCandidateResponse> candidates = candidatesFor(slot, subjectName, absent, bookedMinutes)
+                    .stream()
+                    .limit(limit)
+                    .map(t -> SubstituteCandidateResponse.builder()
+                            .teacherName(t.teacherName())
+                            .employeeId(t.employeeId())
+                            .loadHours(loadOf(t, slot.academicYearId()))
+                            .bookedMinutes(bookedMinutes.get(t))
+                            .build())
+                    .toList();
+
+            result.add(SubstituteSlotResponse.builder()
+                    .slotId(slot.slotId())
+                    .timetableId(slot.timetableId())
+                    .timetableName(slot.timetableName())
+                    .day(slot.day())
+                    .startTime(SlotTimes.format(slot.startMinute()))
+                    .endTime(SlotTimes.format(slot.endMinute()))
+                    .subjectId(slot.subjectId())
+                    .subjectName(subjectName)
+                    .roomId(slot.room())
+                    .candidates(candidates)
+                    .build());
+        }
+
+        log.info("Substitutes for {} on {}: {} slots resolved in {} us",
+                teacher, date, result.size(), (System.nanoTime() - started) / 1_000);
+        return result;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    // Slots may name a teacher by name or employee id, so collect the slots booked under either
+    private List<SlotEntry> slotsOf(Set<String> names, Integer academicYearId, int day) {
+        Map<Object, SlotEntry> unique = new LinkedHashMap<>();
+        for (String name : names) {
+            for (SlotEntry slot : scheduleConflictIndex.slotsOf(ResourceType.TEACHER, academicYearId, day, name)) {
+                unique.putIfAbsent(slot.slotId() != null ? slot.slotId() : slot, slot);
+            }
+        }
+        List<SlotEntry> slots = new ArrayList<>(unique.values());
+        slots.sort(Comparator.comparingInt(SlotEntry::startMinute));
+        return slots;
+    }
+
+    private List<Teacher> candidatesFor(SlotEntry slot, String subjectName, Optional<Teacher> absent,
+                                        Map<Teacher, Integer> bookedMinutes) {
+        // Assignments may hold the subject's name or its id
+        Set<Teacher> qualified = new LinkedHashSet<>(teacherSubjectIndex.teachersOf(subjectName));
+        if (slot.subjectId() != null) {
+            qualified.addAll(teacherSubjectIndex.teachersOf(String.valueOf(slot.subjectId())));
+        }
+        absent.ifPresent(qualified::remove);
+
+        List<Teacher> free = new ArrayList<>();
+        for (Teacher candidate : qualified) {
+            if (isFree(candidate, slot)) {
+                bookedMinutes.computeIfAbsent(candidate, t -> bookedMinutes(t, slot.academicYearId(), slot.day()));
+                free.add(candidate);
+            }
+        }
+        free.sort(Comparator.comparingInt((Teacher t) -> loadOf(t, slot.academicYearId()))
+                .thenComparing(bookedMinutes::get)
+                .thenComparing(Teacher::teacherName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return free;
+    }
+
+    private boolean isFree(Teacher teacher, SlotEntry slot) {
+        for (String name : namesOf(teacher)) {
+            if (scheduleConflictIndex.isBooked(ResourceType.TEACHER, slot.academicYearId(), slot.day(), name,
+                    slot.startMinute(), slot.endMinute())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Within the slot's own academic year, where the substitute would teach
+    private int bookedMinutes(Teacher teacher, Integer academicYearId, int day) {
+        return slotsOf(namesOf(teacher), academicYearId, day).stream()
+                .mapToInt(s -> s.endMinute() - s.startMinute())
+                .sum();
+    }
+
+    // Hours assigned in the slot's year when it has one (as in the workload report), otherwise over all years
+    private static int loadOf(Teacher teacher, Integer academicYearId) {
+        if (academicYearId == null) return teacher.loadHours();
+        Integer hours = teacher.assignedHours(academicYearId);
+        return hours != null ? hours : 0;
+    }
+
+    private static Set<String> namesOf(Teacher teacher) {
+        Set<String> names = new LinkedHashSet<>();
+        if (teacher.teacherName() != null) names.add(teacher.teacherName());
+        if (teacher.employeeId() != null) names.add(teacher.employeeId());
+        return names;
+    }
+}
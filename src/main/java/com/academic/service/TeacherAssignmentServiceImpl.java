@@ -4,7 +4,6 @@ import com.academic.entity.TeacherAssignment;
 import com.academic.exception.CustomException;
 import com.academic.exception.ResourceNotFoundException;
 import com.academic.mapper.TeacherAssignmentMapper;
-import com.academic.repository.CommonMasterRepository;
 import com.academic.repository.TeacherAssignmentRepository;
 import com.academic.request.TeacherAssignmentRequest;
 import com.academic.response.TeacherAssignmentResponse;
@@ -18,6 +17,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Service
@@ -26,7 +26,9 @@ import java.util.List;
 public class TeacherAssignmentServiceImpl implements TeacherAssignmentService {
 
     private final TeacherAssignmentRepository repository;
-    private final CommonMasterRepository commonMasterRepository;
+    private final CommonMasterCache commonMasterCache;
+    private final ListResponseCache listResponseCache;
+    private final TeacherSubjectIndex teacherSubjectIndex;
 
     @Override
     public TeacherAssignmentResponse create(TeacherAssignmentRequest request) {
@@ -37,7 +39,9 @@ public class TeacherAssignmentServiceImpl implements TeacherAssignmentService {
 
         TeacherAssignment entity = TeacherAssignmentMapper.toEntity(request);
         TeacherAssignment saved = repository.save(entity);
-        return TeacherAssignmentMapper.toResponse(saved, commonMasterRepository);
+        listResponseCache.evictAll(ListResponseCache.TEACHER_ALLOCATIONS);
+        teacherSubjectIndex.invalidate();
+        return TeacherAssignmentMapper.toResponse(saved, commonMasterCache.newBatchResolver());
     }
 
     @Override
@@ -47,23 +51,38 @@ public class TeacherAssignmentServiceImpl implements TeacherAssignmentService {
 
         TeacherAssignmentMapper.updateEntity(existing, request);
         TeacherAssignment updated = repository.save(existing);
-        return TeacherAssignmentMapper.toResponse(updated, commonMasterRepository);
+        listResponseCache.evictUpdated(ListResponseCache.TEACHER_ALLOCATIONS, id);
+        teacherSubjectIndex.invalidate();
+        return TeacherAssignmentMapper.toResponse(updated, commonMasterCache.newBatchResolver());
     }
 
     @Override
     public TeacherAssignmentResponse getById(Long id) {
         TeacherAssignment entity = repository.findByIdAndIsDeletedFalse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + id));
-        return TeacherAssignmentMapper.toResponse(entity, commonMasterRepository);
+        return TeacherAssignmentMapper.toResponse(entity, commonMasterCache.newBatchResolver());
     }
 
     @Override
     public Page<TeacherAssignmentResponse> getAll(int page, int size, String search, String status, String year) {
+        return listResponseCache.get(ListResponseCache.TEACHER_ALLOCATIONS,
+                Arrays.asList(search, status, year), page, size,
+                () -> loadPage(page, size, search, status, year),
+                result -> result.map(TeacherAssignmentResponse::getId).getContent());
+    }
+
+    private Page<TeacherAssignmentResponse> loadPage(int page, int size, String search, String status, String year) {
         Pageable pageable = PageRequest.of(page, size);
         Specification<TeacherAssignment> spec = withFilters(search, status, year,null);
 
-        return repository.findAll(spec, pageable)
-                .map(entity -> TeacherAssignmentMapper.toResponse(entity, commonMasterRepository));
+        Page<TeacherAssignment> result = repository.findAll(spec, pageable);
+
+        // Register class ids of the whole page, then resolve them in one batch
+        CommonMasterBatchResolver resolver = commonMasterCache.newBatchResolver();
+        result.forEach(entity -> TeacherAssignmentMapper.registerReferences(entity, resolver));
+        resolver.resolve();
+
+        return result.map(entity -> TeacherAssignmentMapper.toResponse(entity, resolver));
     }
 
 
@@ -116,6 +135,8 @@ public class TeacherAssignmentServiceImpl implements TeacherAssignmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + id));
         existing.setIsDeleted(true);
         repository.save(existing);
+        listResponseCache.evictAll(ListResponseCache.TEACHER_ALLOCATIONS);
+        teacherSubjectIndex.invalidate();
         log.info("Assignment soft deleted successfully with id: {}", id);
     }
 
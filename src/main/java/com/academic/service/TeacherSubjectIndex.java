@@ -0,0 +1,151 @@
+package com.academic.service;
+
+import com.academic.repository.TeacherAssignmentRepository;
+import com.academic.repository.TeacherAssignmentRepository.SubjectLoad;
+import com.academic.utility.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teachers by the subjects they are assigned to, with their total load hours, built from the live
+ * teacher assignment rows in one query and dropped after any assignment change commits.
+ *
+ * Subjects, teacher names and employee ids are matched trimmed and case-insensitively.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TeacherSubjectIndex {
+
+    private final TeacherAssignmentRepository repository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * A teacher with the subjects and summed load hours of all their live assignments
+     *
+     * @param loadHoursByYear summed load hours per academic year (null key for assignments without a year)
+     */
+    public record Teacher(String teacherName, String employeeId, Set<String> subjects, int loadHours,
+                          Map<Integer, Integer> loadHoursByYear) {
+
+        /**
+         * Assigned weekly hours in the year; assignments without a year apply when there are none for it
+         */
+        public Integer assignedHours(Integer academicYearId) {
+            Integer hours = loadHoursByYear.get(academicYearId);
+            return hours != null ? hours : loadHoursByYear.get(null);
+        }
+    }
+
+    /**
+     * Teachers assigned to the subject, lowest load first
+     */
+    public List<Teacher> teachersOf(String subject) {
+        String key = normalize(subject);
+        if (key == null) return List.of();
+        return current().bySubject().getOrDefault(key, List.of());
+    }
+
+    /**
+     * The teacher whose name or employee id matches the value
+     */
+    public Optional<Teacher> find(String teacher) {
+        String key = normalize(teacher);
+        if (key == null) return Optional.empty();
+        return Optional.ofNullable(current().byIdentity().get(key));
+    }
+
+    /**
+     * Every teacher with a live assignment
+     */
+    public Collection<Teacher> teachers() {
+        return current().teachers();
+    }
+
+    /**
+     * The value as given plus the stored name and employee id of the teacher it matches
+     */
+    public Set<String> aliasesOf(String teacher) {
+        Set<String> aliases = new LinkedHashSet<>();
+        aliases.add(teacher.trim());
+        find(teacher).ifPresent(t -> {
+            if (t.teacherName() != null) aliases.add(t.teacherName());
+            if (t.employeeId() != null) aliases.add(t.employeeId());
+        });
+        return aliases;
+    }
+
+    public void invalidate() {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            snapshot = null;
+        });
+    }
+
+    static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) return current;
+
+        // A change committing while we load bumps the generation, so the stale result is not kept
+        long loadedAt = generation.get();
+        current = load();
+        if (generation.get() == loadedAt) snapshot = current;
+        return current;
+    }
+
+    private Snapshot load() {
+        List<SubjectLoad> assignments = repository.findAllSubjectLoads();
+
+        // Group by employee id (or name when missing) so a teacher with several assignments is one entry
+        Map<String, List<SubjectLoad>> byTeacher = new LinkedHashMap<>();
+        for (SubjectLoad assignment : assignments) {
+            String key = normalize(assignment.getEmployeeId() != null ? assignment.getEmployeeId() : assignment.getTeacherName());
+            if (key != null) byTeacher.computeIfAbsent(key, k -> new ArrayList<>()).add(assignment);
+        }
+
+        Map<String, List<Teacher>> bySubject = new HashMap<>();
+        Map<String, Teacher> byIdentity = new HashMap<>();
+        List<Teacher> teachers = new ArrayList<>(byTeacher.size());
+        for (List<SubjectLoad> own : byTeacher.values()) {
+            Set<String> subjects = new LinkedHashSet<>();
+            int loadHours = 0;
+            Map<Integer, Integer> loadHoursByYear = new HashMap<>();
+            for (SubjectLoad assignment : own) {
+                String subject = normalize(assignment.getSubject());
+                if (subject != null) subjects.add(subject);
+                if (assignment.getLoadHours() != null) {
+                    loadHours += assignment.getLoadHours();
+                    loadHoursByYear.merge(assignment.getAcademicYearId(), assignment.getLoadHours(), Integer::sum);
+                }
+            }
+
+            SubjectLoad first = own.get(0);
+            Teacher teacher = new Teacher(first.getTeacherName(), first.getEmployeeId(), Set.copyOf(subjects), loadHours,
+                    Collections.unmodifiableMap(loadHoursByYear));
+            teachers.add(teacher);
+            subjects.forEach(subject -> bySubject.computeIfAbsent(subject, k -> new ArrayList<>()).add(teacher));
+            Optional.ofNullable(normalize(teacher.teacherName())).ifPresent(k -> byIdentity.putIfAbsent(k, teacher));
+            Optional.ofNullable(normalize(teacher.employeeId())).ifPresent(k -> byIdentity.put(k, teacher));
+        }
+        bySubject.values().forEach(list -> list.sort(Comparator.comparingInt(Teacher::loadHours)));
+
+        log.info("Teacher subject index loaded: {} teachers, {} subjects from {} assignments",
+                byTeacher.size(), bySubject.size(), assignments.size());
+        return new Snapshot(bySubject, byIdentity, List.copyOf(teachers));
+    }
+
+    private record Snapshot(Map<String, List<Teacher>> bySubject, Map<String, Teacher> byIdentity, List<Teacher> teachers) {
+    }
+}
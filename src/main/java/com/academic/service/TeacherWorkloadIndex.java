@@ -0,0 +1,152 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Scheduled weekly minutes per teacher and academic year, kept as counters.
+ *
+ * Each timetable's contribution (minutes per teacher) is remembered, so a create, update or delete
+ * subtracts the old contribution and adds the new one: the cost is the size of that timetable, never
+ * a scan of all slots. Teachers are keyed by the stored slot value, trimmed and case-insensitive.
+ */
+@Component
+public class TeacherWorkloadIndex implements SlotIndexListener {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<WorkloadKey, Counter> counters = new HashMap<>();
+    private final Map<Long, Map<WorkloadKey, Integer>> contributions = new HashMap<>();
+
+    /**
+     * Scheduled minutes of one stored teacher value in one academic year
+     */
+    public record Workload(String teacher, Integer academicYearId, int minutes) {
+    }
+
+    @Override
+    public void rebuild(Collection<SlotEntry> slots) {
+        Map<Long, List<SlotEntry>> byTimetable = new HashMap<>();
+        slots.forEach(slot -> byTimetable.computeIfAbsent(slot.timetableId(), id -> new ArrayList<>()).add(slot));
+
+        lock.writeLock().lock();
+        try {
+            counters.clear();
+            contributions.clear();
+            byTimetable.forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replaceTimetable(Long timetableId, List<SlotEntry> slots) {
+        lock.writeLock().lock();
+        try {
+            Map<WorkloadKey, Integer> previous = contributions.remove(timetableId);
+            if (previous != null) {
+                previous.forEach((key, minutes) -> {
+                    Counter counter = counters.get(key);
+                    counter.minutes -= minutes;
+                    if (counter.minutes == 0) counters.remove(key);
+                });
+            }
+            apply(timetableId, slots);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scheduled minutes of any of the teacher values in the year, leaving out one timetable's share
+     *
+     * @param excludedTimetableId timetable whose current contribution is not counted (e.g. the one being saved), or null
+     */
+    public int minutes(Collection<String> teachers, Integer academicYearId, Long excludedTimetableId) {
+        lock.readLock().lock();
+        try {
+            Map<WorkloadKey, Integer> excluded = excludedTimetableId == null ? Map.of()
+                    : contributions.getOrDefault(excludedTimetableId, Map.of());
+            int total = 0;
+            for (String key : normalizedKeys(teachers)) {
+                WorkloadKey workloadKey = new WorkloadKey(key, academicYearId);
+                Counter counter = counters.get(workloadKey);
+                if (counter != null) total += counter.minutes - excluded.getOrDefault(workloadKey, 0);
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every counter of the year (every year when null), by stored teacher value
+     */
+    public List<Workload> workloads(Integer academicYearId) {
+        lock.readLock().lock();
+        try {
+            List<Workload> workloads = new ArrayList<>();
+            counters.forEach((key, counter) -> {
+                if (academicYearId == null || academicYearId.equals(key.academicYearId())) {
+                    workloads.add(new Workload(counter.teacher, key.academicYearId(), counter.minutes));
+                }
+            });
+            return workloads;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scheduled minutes per normalized teacher value in the given slots
+     */
+    public static Map<String, Integer> minutesByTeacher(Collection<SlotEntry> slots) {
+        Map<String, Integer> minutes = new HashMap<>();
+        for (SlotEntry slot : slots) {
+            String key = TeacherSubjectIndex.normalize(slot.teacher());
+            if (key != null) minutes.merge(key, slot.endMinute() - slot.startMinute(), Integer::sum);
+        }
+        return minutes;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private static final class Counter {
+        final String teacher; // display value as first seen
+        int minutes;
+
+        Counter(String teacher) {
+            this.teacher = teacher;
+        }
+    }
+
+    private record WorkloadKey(String teacher, Integer academicYearId) {
+    }
+
+    private void apply(Long timetableId, List<SlotEntry> slots) {
+        Map<WorkloadKey, Integer> contribution = new HashMap<>();
+        for (SlotEntry slot : slots) {
+            String key = TeacherSubjectIndex.normalize(slot.teacher());
+            if (key == null) continue;
+
+            WorkloadKey workloadKey = new WorkloadKey(key, slot.academicYearId());
+            int minutes = slot.endMinute() - slot.startMinute();
+            contribution.merge(workloadKey, minutes, Integer::sum);
+            counters.computeIfAbsent(workloadKey, k -> new Counter(slot.teacher().trim())).minutes += minutes;
+        }
+        if (!contribution.isEmpty()) contributions.put(timetableId, contribution);
+    }
+
+    private static Set<String> normalizedKeys(Collection<String> teachers) {
+        Set<String> keys = new HashSet<>();
+        for (String teacher : teachers) {
+            String key = TeacherSubjectIndex.normalize(teacher);
+            if (key != null) keys.add(key);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,17 @@
+package com.academic.service;
+
+import com.academic.response.TeacherWorkloadResponse;
+
+import java.util.List;
+
+public interface TeacherWorkloadService {
+
+    /**
+     * Scheduled weekly hours per teacher and academic year against their assigned load, most loaded
+     * first. Teachers with assignments but no slots are listed with zero minutes.
+     *
+     * @param teacher        only this teacher (name or employee id), or null for everyone
+     * @param academicYearId only that year, or null for every year
+     */
+    List<TeacherWorkloadResponse> getWorkloads(String teacher, Integer academicYearId);
+}
@@ -0,0 +1,92 @@
+package com.academic.service;
+
+import com.academic.response.TeacherWorkloadResponse;
+import com.academic.service.TeacherSubjectIndex.Teacher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Reads the counters of {@link TeacherWorkloadIndex} and folds the stored teacher values (name or
+ * employee id) into teachers through {@link TeacherSubjectIndex}; no slot is scanned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TeacherWorkloadServiceImpl implements TeacherWorkloadService {
+
+    private final SlotIndexCoordinator slotIndexCoordinator;
+    private final TeacherWorkloadIndex teacherWorkloadIndex;
+    private final TeacherSubjectIndex teacherSubjectIndex;
+
+    @Override
+    public List<TeacherWorkloadResponse> getWorkloads(String teacher, Integer academicYearId) {
+        slotIndexCoordinator.ensureLoaded();
+
+        String filter = TeacherSubjectIndex.normalize(teacher);
+        Optional<Teacher> filterTeacher = filter == null ? Optional.empty() : teacherSubjectIndex.find(filter);
+
+        Map<RowKey, Row> rows = new LinkedHashMap<>();
+        for (TeacherWorkloadIndex.Workload workload : teacherWorkloadIndex.workloads(academicYearId)) {
+            Optional<Teacher> assigned = teacherSubjectIndex.find(workload.teacher());
+            Object identity = assigned.<Object>map(t -> t).orElse(TeacherSubjectIndex.normalize(workload.teacher()));
+            if (filter != null && !identity.equals(filterTeacher.<Object>map(t -> t).orElse(filter))) continue;
+
+            Row row = rows.computeIfAbsent(new RowKey(identity, workload.academicYearId()),
+                    k -> new Row(assigned.orElse(null), workload.teacher()));
+            row.minutes += workload.minutes();
+            row.scheduledAs.add(workload.teacher());
+        }
+
+        // Assigned teachers without any slot yet
+        for (Teacher assigned : teacherSubjectIndex.teachers()) {
+            if (filterTeacher.isPresent() ? !filterTeacher.get().equals(assigned) : filter != null) continue;
+            boolean listed = rows.keySet().stream().anyMatch(k -> k.identity().equals(assigned)
+                    && (academicYearId == null || academicYearId.equals(k.academicYearId())));
+            if (!listed) rows.put(new RowKey(assigned, academicYearId), new Row(assigned, assigned.teacherName()));
+        }
+
+        List<TeacherWorkloadResponse> result = new ArrayList<>(rows.size());
+        rows.forEach((key, row) -> result.add(toResponse(row, key.academicYearId())));
+        result.sort(Comparator.comparing(TeacherWorkloadResponse::getScheduledMinutes).reversed()
+                .thenComparing(TeacherWorkloadResponse::getTeacherName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+        log.info("Teacher workload: {} rows for teacher={} academicYearId={}", result.size(), teacher, academicYearId);
+        return result;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    // A teacher known from the assignments, or the normalized slot value of an unassigned one
+    private record RowKey(Object identity, Integer academicYearId) {
+    }
+
+    private static final class Row {
+        final Teacher teacher;
+        final String displayName;
+        final Set<String> scheduledAs = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        int minutes;
+
+        Row(Teacher teacher, String displayName) {
+            this.teacher = teacher;
+            this.displayName = displayName;
+        }
+    }
+
+    private static TeacherWorkloadResponse toResponse(Row row, Integer academicYearId) {
+        Integer assignedHours = row.teacher == null ? null
+                : academicYearId == null ? Integer.valueOf(row.teacher.loadHours()) : row.teacher.assignedHours(academicYearId);
+        return TeacherWorkloadResponse.builder()
+                .teacherName(row.teacher != null && row.teacher.teacherName() != null ? row.teacher.teacherName() : row.displayName)
+                .employeeId(row.teacher == null ? null : row.teacher.employeeId())
+                .academicYearId(academicYearId)
+                .scheduledMinutes(row.minutes)
+                .scheduledHours(Math.round(row.minutes / 60.0 * 100) / 100.0)
+                .assignedLoadHours(assignedHours)
+                .overloaded(assignedHours != null && row.minutes > assignedHours * 60)
+                .scheduledAs(List.copyOf(row.scheduledAs))
+                .build();
+    }
+}
@@ -1,9 +1,15 @@
 package com.academic.service;
 
 
+import com.academic.dto.ResourceVersion;
 import com.academic.entity.TimeTable;
+import com.academic.request.TimeSlotPatchRequest;
 import com.academic.request.TimeTableRequest;
+import com.academic.response.AvailabilityMatrixResponse;
+import com.academic.response.FreeRoomResponse;
+import com.academic.response.SlotConflictResponse;
 import com.academic.response.StandardResponse;
+import com.academic.response.TeacherScheduleResponse;
 import com.academic.response.TimeTableResponse;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +18,8 @@ import java.util.List;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 public interface TimeTableService {
 
@@ -19,10 +27,51 @@ public interface TimeTableService {
 
     TimeTableResponse get(Long id);
 
+    /**
+     * Version fingerprint of a timetable (incl. its slots) for conditional GET, without loading it
+     */
+    Optional<ResourceVersion> getVersion(Long id);
+
     TimeTableResponse update(Long id, TimeTableRequest request);
 
+    /**
+     * Apply only the given slot changes (add/update by id or day + start time, remove by id)
+     */
+    TimeTableResponse patchSlots(Long id, TimeSlotPatchRequest request);
+
     void delete(Long id);
 
+    /**
+     * Teacher/room double bookings the request's slots would cause (empty when none)
+     *
+     * @param id the timetable being edited, or null for a new one
+     */
+    List<SlotConflictResponse> findConflicts(Long id, TimeTableRequest request);
+
+    /**
+     * Rooms not booked by any live timetable on the day within the time range (or bell period)
+     *
+     * @param academicYearId only consider timetables of this year, or null for every year
+     */
+    FreeRoomResponse findFreeRooms(Integer academicYearId, Integer day, String startTime, String endTime, Long periodId);
+
+    /**
+     * The teacher's slots in all live timetables, matched by name or employee id
+     *
+     * @param academicYearId only timetables of this year, or null for every year
+     */
+    TeacherScheduleResponse getTeacherSchedule(String teacher, Integer academicYearId);
+
+    /**
+     * Packed busy bits of every teacher, room and class for each (day, bell period) cell
+     *
+     * @param days           1 = Monday .. 7 = Sunday; Monday to Friday when empty
+     * @param types          resource types to include; all when empty
+     * @param academicYearId only count bookings of this year, or null for every year
+     */
+    AvailabilityMatrixResponse getAvailabilityMatrix(List<Integer> days, Set<AvailabilityMatrixIndex.ResourceType> types,
+                                                     Integer academicYearId);
+
 
     @Transactional(readOnly = true)
     StandardResponse<Map<String, Object>> listAll(
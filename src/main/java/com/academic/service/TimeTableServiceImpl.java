@@ -1,18 +1,28 @@
 package com.academic.service;
 
-import com.academic.entity.CommonMaster;
+import com.academic.dto.ResourceVersion;
+import com.academic.dto.SlotEntry;
 import com.academic.entity.TimeSlotSubjectMapper;
 import com.academic.entity.TimeTable;
 import com.academic.exception.CustomException;
 import com.academic.exception.ResourceNotFoundException;
+import com.academic.exception.ScheduleConflictException;
 import com.academic.mapper.TimeTableMapper;
-import com.academic.repository.CommonMasterRepository;
 import com.academic.repository.TimeSlotSubjectMapperRepository;
 import com.academic.repository.TimeTableRepository;
+import com.academic.request.TimeSlotDTO;
+import com.academic.request.TimeSlotPatchRequest;
 import com.academic.request.TimeTableRequest;
+import com.academic.response.AvailabilityMatrixResponse;
+import com.academic.response.BellPeriodResponse;
+import com.academic.response.FreeRoomResponse;
 import com.academic.response.LogContext;
+import com.academic.response.SlotConflictResponse;
 import com.academic.response.StandardResponse;
+import com.academic.response.TeacherScheduleResponse;
+import com.academic.response.TeacherScheduleSlotResponse;
 import com.academic.response.TimeTableResponse;
+import com.academic.utility.SlotTimes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +30,9 @@ import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,9 +41,21 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TimeTableServiceImpl implements TimeTableService {
 
+    // Bound on the rows of one teacher's week (a full-time week is a few dozen slots)
+    private static final int MAX_TEACHER_WEEK_SLOTS = 500;
+
     private final TimeTableRepository timeTableRepository;
     private final TimeSlotSubjectMapperRepository mapperRepository;
-    private final CommonMasterRepository commonMasterRepository;
+    private final CommonMasterCache commonMasterCache;
+    private final ListResponseCache listResponseCache;
+    private final TimetableSnapshotCache timetableSnapshotCache;
+    private final SlotIndexCoordinator slotIndexCoordinator;
+    private final ScheduleConflictIndex scheduleConflictIndex;
+    private final RoomOccupancyIndex roomOccupancyIndex;
+    private final AvailabilityMatrixIndex availabilityMatrixIndex;
+    private final TeacherWorkloadIndex teacherWorkloadIndex;
+    private final TeacherSubjectIndex teacherSubjectIndex;
+    private final BellPeriodService bellPeriodService;
 
     @Autowired
     private TimeTableMapper timeTableMapper;
@@ -54,27 +79,32 @@ public class TimeTableServiceImpl implements TimeTableService {
             );
         }
 
+        bellPeriodService.applyPeriods(request.getSlots());
+        slotIndexCoordinator.ensureLoaded();
+
         // Convert request → entity
         TimeTable entity = TimeTable.builder()
                 .timetableName(request.getTimetableName())
                 .classId(request.getClassId())
                 .sectionId(request.getSectionId())
                 .daysCoveredId(request.getDaysCoveredId())
+                .academicYearId(request.getAcademicYearId())
                 .isDeleted(false)
                 .build();
 
         // Convert slot DTOs → slot entities
         entity.setSlots(timeTableMapper.toEntityList(request.getSlots(), entity));
+        rejectConflicts(entity);
+        List<String> warnings = workloadWarnings(entity);
 
         // Save parent + slots
         TimeTable saved = timeTableRepository.save(entity);
+        listResponseCache.evictAll(ListResponseCache.TIMETABLES);
+        slotIndexCoordinator.timetableSaved(saved);
 
-        // Fetch common master map
-        Map<Integer, String> commonMasterMap = commonMasterRepository.findAll().stream()
-                .filter(cm -> Boolean.TRUE.equals(cm.getStatus()))
-                .collect(Collectors.toMap(CommonMaster::getId, CommonMaster::getCommonMasterKey));
-
-        return timeTableMapper.toResponse(saved, commonMasterMap);
+        TimeTableResponse response = toResponse(saved);
+        response.setWarnings(warnings);
+        return response;
     }
 
     // ---------------------------------------------------------------------------------------------------
@@ -84,14 +114,21 @@ public class TimeTableServiceImpl implements TimeTableService {
         log.info("[{}][{}] Fetching timetable id {}",
                 LogContext.getRequestId(), LogContext.getLogId(), id);
 
-        TimeTable entity = timeTableRepository.findByIdAndIsDeletedFalse(id)
+        TimeTable entity = timeTableRepository.findWithSlotsByIdAndIsDeletedFalse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TimeTable not found with id: " + id));
 
-        Map<Integer, String> commonMasterMap = commonMasterRepository.findAll().stream()
-                .filter(cm -> Boolean.TRUE.equals(cm.getStatus()))
-                .collect(Collectors.toMap(CommonMaster::getId, CommonMaster::getCommonMasterKey));
+        return toResponse(entity);
+    }
 
-        return timeTableMapper.toResponse(entity, commonMasterMap);
+    // ---------------------------------------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getVersion(Long id) {
+        return timeTableRepository.findVersionById(id)
+                .map(v -> ResourceVersion.of(
+                        latest(v.getUpdatedAt(), v.getSlotsUpdatedAt()),
+                        "timetable", v.getId(), v.getUpdatedAt(), v.getSlotCount(), v.getMaxSlotId(),
+                        v.getSlotsUpdatedAt(), commonMasterCache.version()));
     }
 
     // ---------------------------------------------------------------------------------------------------
@@ -101,7 +138,7 @@ public class TimeTableServiceImpl implements TimeTableService {
         log.info("[{}][{}] Updating timetable id {}",
                 LogContext.getRequestId(), LogContext.getLogId(), id);
 
-        TimeTable existing = timeTableRepository.findByIdAndIsDeletedFalse(id)
+        TimeTable existing = timeTableRepository.findWithSlotsByIdAndIsDeletedFalse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TimeTable not found with id: " + id));
 
         // Check duplicate name excluding current timetable
@@ -116,30 +153,133 @@ public class TimeTableServiceImpl implements TimeTableService {
             );
         }
 
+        bellPeriodService.applyPeriods(request.getSlots());
+        slotIndexCoordinator.ensureLoaded();
+
         // Update parent fields
         existing.setTimetableName(request.getTimetableName());
         existing.setClassId(request.getClassId());
         existing.setSectionId(request.getSectionId());
         existing.setDaysCoveredId(request.getDaysCoveredId());
+        existing.setAcademicYearId(request.getAcademicYearId());
 
-        // Remove old slots (orphan safe)
-        if (existing.getSlots() != null) {
-            existing.getSlots().clear();
-        }
+        // Insert / update / delete only the slots that differ (orphan removal deletes the dropped ones)
+        reconcileSlots(existing, request.getSlots() != null ? request.getSlots() : List.of(), true);
+        rejectConflicts(existing);
+
+        return saveSlotChanges(existing);
+    }
 
-        // Add new slots
-        if (request.getSlots() != null && !request.getSlots().isEmpty()) {
-            existing.getSlots().addAll(timeTableMapper.toEntityList(request.getSlots(), existing));
+    // ---------------------------------------------------------------------------------------------------
+    @Override
+    @Transactional
+    public TimeTableResponse patchSlots(Long id, TimeSlotPatchRequest request) {
+        log.info("[{}][{}] Patching slots of timetable id {}",
+                LogContext.getRequestId(), LogContext.getLogId(), id);
+
+        TimeTable existing = timeTableRepository.findWithSlotsByIdAndIsDeletedFalse(id)
+                .orElseThrow(() -> new ResourceNotFoundException("TimeTable not found with id: " + id));
+
+        List<TimeSlotDTO> slots = request.getSlots() != null ? request.getSlots() : List.of();
+        bellPeriodService.applyPeriods(slots);
+        slotIndexCoordinator.ensureLoaded();
+
+        if (request.getRemovedSlotIds() != null && !request.getRemovedSlotIds().isEmpty()) {
+            Set<Long> removed = new HashSet<>(request.getRemovedSlotIds());
+            existing.getSlots().removeIf(slot -> removed.contains(slot.getId()));
         }
+        reconcileSlots(existing, slots, false);
+        rejectConflicts(existing);
+
+        return saveSlotChanges(existing);
+    }
+
+    private TimeTableResponse saveSlotChanges(TimeTable existing) {
+        Long id = existing.getId();
+        List<String> warnings = workloadWarnings(existing);
 
         TimeTable saved = timeTableRepository.save(existing);
+        listResponseCache.evictUpdated(ListResponseCache.TIMETABLES, id);
+        slotIndexCoordinator.timetableSaved(saved);
 
-        // Common master map
-        Map<Integer, String> commonMasterMap = commonMasterRepository.findAll().stream()
-                .filter(cm -> Boolean.TRUE.equals(cm.getStatus()))
-                .collect(Collectors.toMap(CommonMaster::getId, CommonMaster::getCommonMasterKey));
+        TimeTableResponse response = toResponse(saved);
+        if (timetableSnapshotCache.isEnabled()) {
+            // Version query flushes the new slots first, so the ETag matches what readers will compute
+            getVersion(id).ifPresent(version -> timetableSnapshotCache.refresh(id, version, response));
+        }
+        response.setWarnings(warnings);
+        return response;
+    }
+
+    /**
+     * Match incoming slots to existing rows by slot id, else by day + start time, and apply them in place;
+     * unmatched incoming slots are added, and (when removeUnmatched) unmatched existing rows are removed.
+     * A slot id may only be sent once; a second day + start match without an id is added as a new slot
+     */
+    private void reconcileSlots(TimeTable timeTable, List<TimeSlotDTO> incoming, boolean removeUnmatched) {
+        List<TimeSlotSubjectMapper> current = timeTable.getSlots();
+
+        Map<Long, TimeSlotSubjectMapper> byId = new HashMap<>();
+        Map<Long, TimeSlotSubjectMapper> byDayAndStart = new HashMap<>();
+        for (TimeSlotSubjectMapper slot : current) {
+            byId.put(slot.getId(), slot);
+            Long key = dayAndStart(slot.getDay(),
+                    slot.getStartMinute() != null ? slot.getStartMinute() : SlotTimes.parseOrNull(slot.getStartTime()));
+            if (key != null) byDayAndStart.putIfAbsent(key, slot);
+        }
+
+        // Entities have field-based equals/hashCode (and a back-reference), so track them by identity
+        Set<TimeSlotSubjectMapper> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<TimeSlotSubjectMapper> added = new ArrayList<>();
+        int updated = 0;
+
+        for (TimeSlotDTO dto : incoming) {
+            TimeSlotSubjectMapper target;
+            if (dto.getId() != null) {
+                target = byId.get(dto.getId());
+                if (target == null) {
+                    throw new CustomException(
+                            "Slot " + dto.getId() + " does not belong to timetable " + timeTable.getId(),
+                            "INVALID_SLOT",
+                            "Omit the slot id to add a new slot"
+                    );
+                }
+                if (kept.contains(target)) {
+                    throw new CustomException(
+                            "Slot " + dto.getId() + " appears twice",
+                            "INVALID_SLOT",
+                            "Send each existing slot once; omit the slot id to add a new slot"
+                    );
+                }
+            } else {
+                target = byDayAndStart.get(dayAndStart(dto.getDay(), SlotTimes.parseOrNull(dto.getStartTime())));
+            }
+
+            if (target != null && kept.add(target)) {
+                timeTableMapper.applySlot(target, dto);
+                updated++;
+            } else {
+                TimeSlotSubjectMapper slot = timeTableMapper.toEntity(dto, timeTable);
+                added.add(slot);
+                kept.add(slot);
+            }
+        }
 
-        return timeTableMapper.toResponse(saved, commonMasterMap);
+        int removed = 0;
+        if (removeUnmatched) {
+            int before = current.size();
+            current.removeIf(slot -> !kept.contains(slot));
+            removed = before - current.size();
+        }
+        current.addAll(added);
+
+        log.info("[{}][{}] Timetable {} slots reconciled: {} matched, {} added, {} removed",
+                LogContext.getRequestId(), LogContext.getLogId(), timeTable.getId(), updated, added.size(), removed);
+    }
+
+    private static Long dayAndStart(Integer day, Integer startMinute) {
+        if (day == null || startMinute == null) return null;
+        return (long) day * SlotTimes.MINUTES_PER_DAY + startMinute;
     }
 
     // ---------------------------------------------------------------------------------------------------
@@ -154,11 +294,214 @@ public class TimeTableServiceImpl implements TimeTableService {
 
         existing.setIsDeleted(true);
         timeTableRepository.save(existing);
+        listResponseCache.evictAll(ListResponseCache.TIMETABLES);
+        timetableSnapshotCache.evict(id);
+        slotIndexCoordinator.timetableDeleted(id);
 
         log.info("[{}][{}] Timetable soft deleted id {}",
                 LogContext.getRequestId(), LogContext.getLogId(), id);
     }
 
+    // ---------------------------------------------------------------------------------------------------
+    @Override
+    public List<SlotConflictResponse> findConflicts(Long id, TimeTableRequest request) {
+        bellPeriodService.applyPeriods(request.getSlots());
+        return conflictsOf(id, request);
+    }
+
+    private List<SlotConflictResponse> conflictsOf(Long id, TimeTableRequest request) {
+        slotIndexCoordinator.ensureLoaded();
+        return scheduleConflictIndex.findConflicts(id,
+                SlotIndexCoordinator.toEntries(id, request.getTimetableName(), request.getAcademicYearId(), request.getSlots()));
+    }
+
+    @Override
+    public FreeRoomResponse findFreeRooms(Integer academicYearId, Integer day, String startTime, String endTime, Long periodId) {
+        if (day == null) {
+            throw new CustomException("Day is required", "INVALID_DAY", "Pass the day to search free rooms for");
+        }
+
+        int start;
+        int end;
+        if (periodId != null) {
+            BellPeriodResponse period = bellPeriodService.getById(periodId);
+            start = period.getStartMinute();
+            end = period.getEndMinute();
+        } else {
+            start = SlotTimes.toMinuteOfDay(startTime);
+            end = SlotTimes.toMinuteOfDay(endTime);
+            SlotTimes.requireRange(start, end);
+        }
+
+        slotIndexCoordinator.ensureLoaded();
+        List<String> freeRooms = roomOccupancyIndex.findFreeRooms(academicYearId, day, start, end);
+
+        return FreeRoomResponse.builder()
+                .day(day)
+                .startTime(SlotTimes.format(start))
+                .endTime(SlotTimes.format(end))
+                .periodId(periodId)
+                .totalRooms(roomOccupancyIndex.roomCount())
+                .freeRooms(freeRooms)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TeacherScheduleResponse getTeacherSchedule(String teacher, Integer academicYearId) {
+        if (teacher == null || teacher.isBlank()) {
+            throw new CustomException("Teacher is required", "INVALID_TEACHER", "Pass the teacher name or employee id");
+        }
+        slotIndexCoordinator.ensureLoaded();
+
+        // The in-memory index knows every spelling stored for the teacher (and for their employee id),
+        // so the database is asked with exact values it can look up in idx_slot_teacher_day
+        Set<String> storedNames = new LinkedHashSet<>();
+        teacherSubjectIndex.aliasesOf(teacher).forEach(alias -> storedNames.addAll(
+                scheduleConflictIndex.storedValuesOf(ScheduleConflictIndex.ResourceType.TEACHER, alias)));
+
+        List<TimeSlotSubjectMapperRepository.ScheduleSlotRow> rows = storedNames.isEmpty() ? List.of()
+                : mapperRepository.findTeacherSlots(storedNames, academicYearId, PageRequest.of(0, MAX_TEACHER_WEEK_SLOTS));
+
+        List<TeacherScheduleSlotResponse> slots = new ArrayList<>(rows.size());
+        int totalMinutes = 0;
+        for (TimeSlotSubjectMapperRepository.ScheduleSlotRow row : rows) {
+            Integer start = SlotTimes.parseOrNull(row.getStartTime());
+            Integer end = SlotTimes.parseOrNull(row.getEndTime());
+            if (start != null && end != null && end > start) totalMinutes += end - start;
+
+            slots.add(TeacherScheduleSlotResponse.builder()
+                    .slotId(row.getSlotId())
+                    .day(row.getDay())
+                    .startTime(row.getStartTime())
+                    .endTime(row.getEndTime())
+                    .periodId(row.getPeriodId())
+                    .timetableId(row.getTimetableId())
+                    .timetableName(row.getTimetableName())
+                    .classId(row.getClassId())
+                    .className(masterData(row.getClassId()))
+                    .sectionId(row.getSectionId())
+                    .sectionName(masterData(row.getSectionId()))
+                    .subjectId(row.getSubjectId())
+                    .subjectName(masterData(row.getSubjectId()))
+                    .teacherId(row.getTeacherName())
+                    .roomId(row.getRoom())
+                    .build());
+        }
+
+        return TeacherScheduleResponse.builder()
+                .teacher(teacher.trim())
+                .matchedNames(List.copyOf(storedNames))
+                .totalSlots(slots.size())
+                .totalMinutes(totalMinutes)
+                .slots(slots)
+                .build();
+    }
+
+    @Override
+    public AvailabilityMatrixResponse getAvailabilityMatrix(List<Integer> days, Set<AvailabilityMatrixIndex.ResourceType> types,
+                                                            Integer academicYearId) {
+        if (days != null && days.stream().anyMatch(day -> day == null || day < 1 || day > 7)) {
+            throw new CustomException("Invalid days: " + days, "INVALID_DAY",
+                    "Days must be between 1 (Monday) and 7 (Sunday)");
+        }
+        List<Integer> weekDays = days == null || days.isEmpty()
+                ? List.of(1, 2, 3, 4, 5) : days.stream().distinct().sorted().toList();
+        List<BellPeriodResponse> periods = bellPeriodService.getAll().stream()
+                .filter(p -> p.getStartMinute() != null && p.getEndMinute() != null)
+                .toList();
+        if (periods.isEmpty()) {
+            throw new CustomException("No bell periods defined", "NO_BELL_PERIODS",
+                    "Define the bell periods the matrix columns are made of");
+        }
+
+        List<AvailabilityMatrixIndex.Cell> cells = new ArrayList<>(weekDays.size() * periods.size());
+        for (int day : weekDays) {
+            for (BellPeriodResponse period : periods) {
+                cells.add(new AvailabilityMatrixIndex.Cell(day, period.getStartMinute(), period.getEndMinute()));
+            }
+        }
+
+        slotIndexCoordinator.ensureLoaded();
+        Set<AvailabilityMatrixIndex.ResourceType> included = types == null || types.isEmpty()
+                ? EnumSet.allOf(AvailabilityMatrixIndex.ResourceType.class) : types;
+        Map<AvailabilityMatrixIndex.ResourceType, Map<String, String>> matrices = new EnumMap<>(AvailabilityMatrixIndex.ResourceType.class);
+        for (AvailabilityMatrixIndex.ResourceType type : included) {
+            Map<String, String> encoded = new LinkedHashMap<>();
+            availabilityMatrixIndex.busyMatrix(type, academicYearId, cells)
+                    .forEach((name, bits) -> encoded.put(name, encode(bits)));
+            matrices.put(type, encoded);
+        }
+
+        return AvailabilityMatrixResponse.builder()
+                .academicYearId(academicYearId)
+                .days(weekDays)
+                .periods(periods)
+                .cells(cells.size())
+                .teachers(matrices.get(AvailabilityMatrixIndex.ResourceType.TEACHER))
+                .rooms(matrices.get(AvailabilityMatrixIndex.ResourceType.ROOM))
+                .classes(matrices.get(AvailabilityMatrixIndex.ResourceType.CLASS))
+                .build();
+    }
+
+    // Base64 of the words as little-endian bytes (bit i is bit i % 8 of byte i / 8)
+    private static String encode(long[] bits) {
+        ByteBuffer bytes = ByteBuffer.allocate(bits.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asLongBuffer().put(bits);
+        return Base64.getEncoder().encodeToString(bytes.array());
+    }
+
+    private String masterData(Long id) {
+        return id == null ? null : commonMasterCache.getData(Math.toIntExact(id)).orElse(null);
+    }
+
+    // The slot index must be loaded before the entity is modified, or its load query would flush the pending changes.
+    // The booked resources stay locked until commit, so no concurrent write can pass the same check in between.
+    private void rejectConflicts(TimeTable timeTable) {
+        List<SlotEntry> entries = SlotIndexCoordinator.entriesOf(timeTable);
+        scheduleConflictIndex.lockUntilCompletion(entries);
+        List<SlotConflictResponse> conflicts = scheduleConflictIndex.findConflicts(timeTable.getId(), entries);
+        if (!conflicts.isEmpty()) {
+            log.warn("[{}][{}] Timetable {} rejected with {} slot conflicts",
+                    LogContext.getRequestId(), LogContext.getLogId(), timeTable.getTimetableName(), conflicts.size());
+            throw new ScheduleConflictException(conflicts);
+        }
+    }
+
+    /**
+     * Teachers the timetable would schedule above their assigned weekly load hours. Only a warning:
+     * load hours are planning figures, so the write still goes through.
+     */
+    private List<String> workloadWarnings(TimeTable timeTable) {
+        Integer year = timeTable.getAcademicYearId();
+        Map<String, Integer> ownMinutes = TeacherWorkloadIndex.minutesByTeacher(SlotIndexCoordinator.entriesOf(timeTable));
+
+        List<String> warnings = new ArrayList<>();
+        Set<TeacherSubjectIndex.Teacher> checked = new HashSet<>();
+        for (String teacher : ownMinutes.keySet()) {
+            Optional<TeacherSubjectIndex.Teacher> assigned = teacherSubjectIndex.find(teacher);
+            if (assigned.isEmpty() || !checked.add(assigned.get())) continue;
+            Integer loadHours = assigned.get().assignedHours(year);
+            if (loadHours == null) continue;
+
+            // The teacher may be stored under their name in some slots and their employee id in others
+            Set<String> aliases = teacherSubjectIndex.aliasesOf(teacher);
+            int scheduled = teacherWorkloadIndex.minutes(aliases, year, timeTable.getId());
+            for (String alias : aliases.stream().map(TeacherSubjectIndex::normalize).filter(Objects::nonNull).collect(Collectors.toSet())) {
+                scheduled += ownMinutes.getOrDefault(alias, 0);
+            }
+            if (scheduled > loadHours * 60) {
+                warnings.add(String.format(Locale.ROOT, "%s is scheduled %.1f h/week, above the assigned load of %d h",
+                        assigned.get().teacherName(), scheduled / 60.0, loadHours));
+            }
+        }
+        if (!warnings.isEmpty()) {
+            log.warn("[{}][{}] Timetable {} saved with workload warnings: {}",
+                    LogContext.getRequestId(), LogContext.getLogId(), timeTable.getTimetableName(), warnings);
+        }
+        return warnings;
+    }
+
     // ---------------------------------------------------------------------------------------------------
     @Override
     @Transactional(readOnly = true)
@@ -175,16 +518,33 @@ public class TimeTableServiceImpl implements TimeTableService {
                 Sort.by(Sort.Direction.ASC, "id")
         );
 
-        Page<TimeTable> timetablePage = timeTableRepository.findAllByFilters(classId, section, search, pageable);
+        Map<String, Object> metadata = listResponseCache.get(ListResponseCache.TIMETABLES,
+                Arrays.asList(classId, section, search), pageable.getPageNumber(), pageable.getPageSize(),
+                () -> loadPage(pageable, classId, section, search),
+                TimeTableServiceImpl::contentIds);
+
+        return StandardResponse.success(metadata, "Fetched timetables successfully");
+    }
+
+    private Map<String, Object> loadPage(Pageable pageable, Long classId, Long section, String search) {
+        // Two-phase fetch: page of ids first, then the timetables with their slots in one query,
+        // so a page costs the same number of round trips whatever its size
+        Page<Long> idPage = timeTableRepository.findIdsByFilters(classId, section, search, pageable);
 
-        // Prepare common master map
-        Map<Integer, String> commonMasterMap = commonMasterRepository.findAll().stream()
-                .filter(cm -> Boolean.TRUE.equals(cm.getStatus()))
-                .collect(Collectors.toMap(CommonMaster::getId, CommonMaster::getCommonMasterKey));
+        Map<Long, TimeTable> byId = idPage.isEmpty()
+                ? Map.of()
+                : timeTableRepository.findWithSlotsByIdIn(idPage.getContent()).stream()
+                .collect(Collectors.toMap(TimeTable::getId, t -> t));
+        Page<TimeTable> timetablePage = idPage.map(byId::get);
+
+        // Register every CommonMaster id on the page, then resolve them in one batch
+        CommonMasterBatchResolver resolver = commonMasterCache.newBatchResolver();
+        timetablePage.getContent().forEach(entity -> timeTableMapper.registerReferences(entity, resolver));
+        resolver.resolve();
 
         // Map result to response DTOs
         List<TimeTableResponse> responseList = timetablePage.getContent().stream()
-                .map(entity -> timeTableMapper.toResponse(entity, commonMasterMap))
+                .map(entity -> timeTableMapper.toResponse(entity, resolver))
                 .collect(Collectors.toList());
 
         Map<String, Object> metadata = new LinkedHashMap<>();
@@ -195,7 +555,25 @@ public class TimeTableServiceImpl implements TimeTableService {
         metadata.put("pageSize", timetablePage.getSize());
         metadata.put("isLast", timetablePage.isLast());
         metadata.put("isFirst", timetablePage.isFirst());
+        return metadata;
+    }
 
-        return StandardResponse.success(metadata, "Fetched timetables successfully");
+    private static List<Long> contentIds(Map<String, Object> metadata) {
+        return ((List<?>) metadata.get("content")).stream()
+                .map(row -> ((TimeTableResponse) row).getId())
+                .toList();
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    private TimeTableResponse toResponse(TimeTable entity) {
+        CommonMasterBatchResolver resolver = commonMasterCache.newBatchResolver();
+        timeTableMapper.registerReferences(entity, resolver);
+        return timeTableMapper.toResponse(entity, resolver.resolve());
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.academic.service;
+
+import com.academic.request.TimetableGenerationRequest;
+import com.academic.response.TimetableGenerationJobResponse;
+
+public interface TimetableGenerationService {
+
+    /**
+     * Validate the input, build the problem and start solving it in the background
+     */
+    TimetableGenerationJobResponse start(TimetableGenerationRequest request);
+
+    TimetableGenerationJobResponse getJob(String jobId);
+}
@@ -0,0 +1,507 @@
+package com.academic.service;
+
+import com.academic.entity.ClassSection;
+import com.academic.entity.CommonMaster;
+import com.academic.entity.TeacherAssignment;
+import com.academic.exception.CustomException;
+import com.academic.exception.ResourceNotFoundException;
+import com.academic.repository.ClassSectionRepository;
+import com.academic.repository.TeacherAssignmentRepository;
+import com.academic.request.TimeSlotDTO;
+import com.academic.request.TimeTableRequest;
+import com.academic.request.TimetableGenerationRequest;
+import com.academic.response.BellPeriodResponse;
+import com.academic.response.TimeTableResponse;
+import com.academic.response.TimetableGenerationJobResponse;
+import com.academic.service.ScheduleConflictIndex.ResourceType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates clash-free timetables for class sections from the teacher assignments and bell periods.
+ *
+ * Each live assignment (teacher, subject, classes, load hours) of the requested academic year, or
+ * without a year for teachers who have none in it, is spread round-robin over the sections of its
+ * classes when several teachers share a class and subject, and gives every section
+ * it covers loadHours / sections one-period lessons a week (at least one). Each section's room is
+ * its room number, and the slots teachers and rooms already have in live timetables are kept free;
+ * those bookings are read when the job starts running, not when it is queued. The
+ * {@link TimetableSolver} then runs in the background on one job thread at a time; clash-free results
+ * are saved through {@link TimeTableService#create} in a single transaction, so they pass the same
+ * validation and cache/index maintenance as hand-made ones and are saved all together or not at all.
+ */
+@Service
+@Slf4j
+public class TimetableGenerationServiceImpl implements TimetableGenerationService {
+
+    private static final String SUBJECT_KEY = "SUBJECT";
+    private static final List<Integer> WEEKDAYS = List.of(1, 2, 3, 4, 5);
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private final ClassSectionRepository classSectionRepository;
+    private final TeacherAssignmentRepository teacherAssignmentRepository;
+    private final BellPeriodService bellPeriodService;
+    private final CommonMasterCache commonMasterCache;
+    private final SlotIndexCoordinator slotIndexCoordinator;
+    private final ScheduleConflictIndex scheduleConflictIndex;
+    private final TimeTableService timeTableService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxWorkers;
+    private final int defaultTimeBudgetSeconds;
+    private final int maxTimeBudgetSeconds;
+
+    private final ExecutorService jobExecutor =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "timetable-generation"));
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    private final Deque<String> jobOrder = new ConcurrentLinkedDeque<>();
+
+    public TimetableGenerationServiceImpl(ClassSectionRepository classSectionRepository,
+                                          TeacherAssignmentRepository teacherAssignmentRepository,
+                                          BellPeriodService bellPeriodService,
+                                          CommonMasterCache commonMasterCache,
+                                          SlotIndexCoordinator slotIndexCoordinator,
+                                          ScheduleConflictIndex scheduleConflictIndex,
+                                          TimeTableService timeTableService,
+                                          TransactionTemplate transactionTemplate,
+                                          @Value("${academic.timetable-generation.max-workers:0}") int maxWorkers,
+                                          @Value("${academic.timetable-generation.default-time-budget-seconds:15}") int defaultTimeBudgetSeconds,
+                                          @Value("${academic.timetable-generation.max-time-budget-seconds:120}") int maxTimeBudgetSeconds) {
+        this.classSectionRepository = classSectionRepository;
+        this.teacherAssignmentRepository = teacherAssignmentRepository;
+        this.bellPeriodService = bellPeriodService;
+        this.commonMasterCache = commonMasterCache;
+        this.slotIndexCoordinator = slotIndexCoordinator;
+        this.scheduleConflictIndex = scheduleConflictIndex;
+        this.timeTableService = timeTableService;
+        this.transactionTemplate = transactionTemplate;
+        this.maxWorkers = maxWorkers > 0 ? maxWorkers : Runtime.getRuntime().availableProcessors();
+        this.defaultTimeBudgetSeconds = defaultTimeBudgetSeconds;
+        this.maxTimeBudgetSeconds = maxTimeBudgetSeconds;
+    }
+
+    @Override
+    public TimetableGenerationJobResponse start(TimetableGenerationRequest request) {
+        if (request.getDays() != null && request.getDays().stream().anyMatch(day -> day == null || day < 1 || day > 7)) {
+            throw new CustomException("Invalid days: " + request.getDays(), "INVALID_DAY",
+                    "Days must be between 1 (Monday) and 7 (Sunday)");
+        }
+        List<Integer> days = request.getDays() == null || request.getDays().isEmpty()
+                ? WEEKDAYS : request.getDays().stream().distinct().sorted().toList();
+
+        int budget = request.getTimeBudgetSeconds() == null ? defaultTimeBudgetSeconds : request.getTimeBudgetSeconds();
+        if (budget < 1 || budget > maxTimeBudgetSeconds) {
+            throw new CustomException("Invalid time budget: " + budget, "INVALID_TIME_BUDGET",
+                    "Time budget must be between 1 and " + maxTimeBudgetSeconds + " seconds");
+        }
+        int workers = request.getWorkers() == null ? maxWorkers : Math.max(1, Math.min(request.getWorkers(), maxWorkers));
+
+        Plan plan = plan(request, days);
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), plan, workers, budget,
+                !Boolean.FALSE.equals(request.getPersist()));
+        retain(job);
+
+        log.info("Timetable generation {} queued: {} sections, {} lessons, {} days x {} periods, {} workers, {}s",
+                job.id, plan.sections().size(), plan.lessons().size(), days.size(), plan.periods().size(), workers, budget);
+        jobExecutor.submit(() -> run(job));
+        return job.toResponse();
+    }
+
+    @Override
+    public TimetableGenerationJobResponse getJob(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Timetable generation job not found with id: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private Plan plan(TimetableGenerationRequest request, List<Integer> days) {
+        List<BellPeriodResponse> periods = bellPeriodService.getAll();
+        if (periods.isEmpty()) {
+            throw new CustomException("No bell periods defined", "NO_BELL_PERIODS",
+                    "Define the bell periods before generating timetables");
+        }
+
+        List<ClassSection> allSections = classSectionRepository.findByIsDeletedFalseOrderByIdAsc();
+        Set<Long> selectedIds = request.getClassSectionIds() == null || request.getClassSectionIds().isEmpty()
+                ? null : new HashSet<>(request.getClassSectionIds());
+        List<ClassSection> sections = allSections.stream()
+                .filter(cs -> selectedIds == null || selectedIds.contains(cs.getId()))
+                .toList();
+        if (sections.isEmpty()) {
+            throw new CustomException("No class sections to generate for", "NO_CLASS_SECTIONS",
+                    "Requested sections: " + request.getClassSectionIds());
+        }
+
+        Map<String, Long> subjectIds = new HashMap<>();
+        for (CommonMaster subject : commonMasterCache.findByKey(SUBJECT_KEY)) {
+            subjectIds.put(TeacherSubjectIndex.normalize(subject.getData()), subject.getId().longValue());
+            subjectIds.put(String.valueOf(subject.getId()), subject.getId().longValue());
+        }
+
+        List<String> warnings = new ArrayList<>();
+        Map<Long, List<Teaching>> teachingBySection = assignTeachers(allSections, subjectIds, request.getAcademicYearId(), warnings);
+
+        TimetableProblem.Builder builder = TimetableProblem.builder(days.size(), periods.size());
+        List<Lesson> lessons = new ArrayList<>();
+        List<ClassSection> withLessons = new ArrayList<>();
+        for (ClassSection section : sections) {
+            List<Teaching> teachings = teachingBySection.getOrDefault(section.getId(), List.of());
+            if (teachings.isEmpty()) {
+                warnings.add("Section " + section.getId() + " has no teacher assignments; skipped");
+                continue;
+            }
+
+            int count = 0;
+            for (Teaching teaching : teachings) {
+                for (int n = 0; n < teaching.periodsPerWeek(); n++) {
+                    builder.addLesson(section.getId(), teacherKey(teaching.assignment()), roomKey(section), teaching.subjectId());
+                    lessons.add(new Lesson(section, teaching));
+                    count++;
+                }
+            }
+            if (count > days.size() * periods.size()) {
+                warnings.add("Section " + section.getId() + " needs " + count + " periods but only "
+                        + days.size() * periods.size() + " fit in the week");
+            }
+            withLessons.add(section);
+        }
+        if (lessons.isEmpty()) {
+            throw new CustomException("Nothing to schedule", "NO_LESSONS",
+                    "None of the sections has a teacher assignment with a known subject");
+        }
+
+        return new Plan(builder, lessons, withLessons, days, periods, request, warnings);
+    }
+
+    // Teachers sharing a (class, subject) split its sections round-robin; load is spread over the sections taken
+    private Map<Long, List<Teaching>> assignTeachers(List<ClassSection> allSections, Map<String, Long> subjectIds,
+                                                     Integer academicYearId, List<String> warnings) {
+        Map<Integer, List<ClassSection>> sectionsByClass = new HashMap<>();
+        allSections.forEach(cs -> sectionsByClass.computeIfAbsent(cs.getClassId(), k -> new ArrayList<>()).add(cs));
+
+        Map<List<Object>, List<TeacherAssignment>> byClassSubject = new LinkedHashMap<>();
+        Map<TeacherAssignment, Long> subjectOf = new HashMap<>();
+        for (TeacherAssignment assignment : assignmentsOfYear(academicYearId)) {
+            Long subjectId = subjectIds.get(TeacherSubjectIndex.normalize(assignment.getSubject()));
+            if (subjectId == null) {
+                warnings.add("Subject '" + assignment.getSubject() + "' of assignment " + assignment.getId()
+                        + " is not a subject master entry; skipped");
+                continue;
+            }
+            subjectOf.put(assignment, subjectId);
+            for (Long classId : Optional.ofNullable(assignment.getClassesInvolved()).orElse(List.of())) {
+                byClassSubject.computeIfAbsent(List.of(classId.intValue(), subjectId), k -> new ArrayList<>()).add(assignment);
+            }
+        }
+
+        Map<TeacherAssignment, List<ClassSection>> sectionsOf = new LinkedHashMap<>();
+        byClassSubject.forEach((key, assignments) -> {
+            List<ClassSection> classSections = sectionsByClass.getOrDefault((Integer) key.get(0), List.of());
+            for (int i = 0; i < classSections.size(); i++) {
+                TeacherAssignment assignment = assignments.get(i % assignments.size());
+                sectionsOf.computeIfAbsent(assignment, a -> new ArrayList<>()).add(classSections.get(i));
+            }
+        });
+
+        Map<Long, List<Teaching>> bySection = new HashMap<>();
+        sectionsOf.forEach((assignment, covered) -> {
+            int load = assignment.getLoadHours() == null ? 0 : assignment.getLoadHours();
+            int periodsPerWeek = Math.max(1, Math.round((float) load / covered.size()));
+            Teaching teaching = new Teaching(assignment, subjectOf.get(assignment), periodsPerWeek);
+            covered.forEach(cs -> bySection.computeIfAbsent(cs.getId(), k -> new ArrayList<>()).add(teaching));
+        });
+        return bySection;
+    }
+
+    /**
+     * The year's assignments; a teacher without any in that year keeps their assignments without a
+     * year, as in {@link TeacherSubjectIndex.Teacher#assignedHours}. Copies made by a rollover stay
+     * in their own year, so they never share a (class, subject) with the assignment they were copied from.
+     */
+    private List<TeacherAssignment> assignmentsOfYear(Integer academicYearId) {
+        List<TeacherAssignment> assignments = teacherAssignmentRepository.findLiveOfYearOrUndated(academicYearId);
+        Set<String> teachersOfYear = new HashSet<>();
+        for (TeacherAssignment assignment : assignments) {
+            if (assignment.getAcademicYearId() != null) teachersOfYear.add(identityOf(assignment));
+        }
+        return assignments.stream()
+                .filter(a -> a.getAcademicYearId() != null || !teachersOfYear.contains(identityOf(a)))
+                .toList();
+    }
+
+    // A teacher is their employee id, or their name when it is missing (as in TeacherSubjectIndex)
+    private static String identityOf(TeacherAssignment assignment) {
+        return TeacherSubjectIndex.normalize(assignment.getEmployeeId() != null ? assignment.getEmployeeId()
+                : assignment.getTeacherName());
+    }
+
+    // Runs when the job starts, so timetables saved while it waited in the queue are kept free too
+    private TimetableProblem blockExistingBookings(Plan plan) {
+        TimetableProblem.Builder builder = plan.builder();
+        List<Lesson> lessons = plan.lessons();
+        List<ClassSection> sections = plan.sections();
+        Integer academicYearId = plan.request().getAcademicYearId();
+        List<Integer> days = plan.days();
+        List<BellPeriodResponse> periods = plan.periods();
+        slotIndexCoordinator.ensureLoaded();
+
+        Map<String, List<String>> teacherNames = new LinkedHashMap<>();
+        for (Lesson lesson : lessons) {
+            TeacherAssignment assignment = lesson.teaching().assignment();
+            teacherNames.computeIfAbsent(teacherKey(assignment), k -> namesOf(assignment));
+        }
+        Set<String> rooms = new LinkedHashSet<>();
+        sections.forEach(cs -> Optional.ofNullable(roomKey(cs)).ifPresent(rooms::add));
+
+        for (int d = 0; d < days.size(); d++) {
+            for (int p = 0; p < periods.size(); p++) {
+                int day = days.get(d);
+                int start = periods.get(p).getStartMinute();
+                int end = periods.get(p).getEndMinute();
+
+                for (Map.Entry<String, List<String>> teacher : teacherNames.entrySet()) {
+                    for (String name : teacher.getValue()) {
+                        if (scheduleConflictIndex.isBooked(ResourceType.TEACHER, academicYearId, day, name, start, end)) {
+                            builder.blockTeacher(teacher.getKey(), d, p);
+                        }
+                    }
+                }
+                for (String room : rooms) {
+                    if (scheduleConflictIndex.isBooked(ResourceType.ROOM, academicYearId, day, room, start, end)) {
+                        builder.blockRoom(room, d, p);
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private void run(GenerationJob job) {
+        Plan plan = job.plan;
+        job.status = "RUNNING";
+        job.startedAt = System.nanoTime();
+        try {
+            TimetableProblem problem = blockExistingBookings(plan);
+            long deadline = job.startedAt + TimeUnit.SECONDS.toNanos(job.timeBudgetSeconds);
+            TimetableSolver.Solution solution = TimetableSolver.solve(problem, job.workers, deadline,
+                    System.nanoTime(), job);
+            if (solution == null) {
+                job.finish("FAILED", "No timetable found within " + job.timeBudgetSeconds + "s");
+                return;
+            }
+            job.best = solution;
+
+            if (solution.hardViolations() > 0) {
+                job.finish("FAILED", "No clash-free timetable found within " + job.timeBudgetSeconds
+                        + "s (" + solution.hardViolations() + " clashes left)");
+                return;
+            }
+
+            List<TimeTableRequest> proposals = toRequests(plan, problem, solution);
+            if (!job.persist) {
+                job.proposals = proposals;
+                job.finish("COMPLETED", "Generated " + proposals.size() + " timetables (not saved)");
+                return;
+            }
+
+            job.status = "PERSISTING";
+            List<Long> created = new ArrayList<>(proposals.size());
+            TimeTableRequest[] saving = new TimeTableRequest[1];
+            try {
+                // One transaction: a proposal that fails validation rolls back the ones saved before it
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (TimeTableRequest proposal : proposals) {
+                        saving[0] = proposal;
+                        TimeTableResponse saved = timeTableService.create(proposal);
+                        created.add(saved.getId());
+                    }
+                });
+            } catch (RuntimeException e) {
+                String name = saving[0] == null ? null : saving[0].getTimetableName();
+                log.warn("Generated timetable '{}' could not be saved, none saved: {}", name, e.getMessage());
+                job.warnings.add("Timetable '" + name + "' not saved: " + e.getMessage());
+                job.finish("FAILED", "None of the " + proposals.size() + " generated timetables saved");
+                return;
+            }
+            job.createdIds.addAll(created);
+            job.finish("COMPLETED", "Saved " + created.size() + " generated timetables");
+        } catch (RuntimeException e) {
+            log.error("Timetable generation {} failed", job.id, e);
+            job.finish("FAILED", "Generation failed: " + e.getMessage());
+        }
+    }
+
+    private List<TimeTableRequest> toRequests(Plan plan, TimetableProblem problem, TimetableSolver.Solution solution) {
+        Map<Long, List<TimeSlotDTO>> slotsBySection = new LinkedHashMap<>();
+
+        for (int lesson = 0; lesson < problem.lessonCount(); lesson++) {
+            Lesson planned = plan.lessons().get(lesson);
+            int slot = solution.slotOf()[lesson];
+            BellPeriodResponse period = plan.periods().get(problem.periodOf(slot));
+
+            slotsBySection.computeIfAbsent(planned.section().getId(), k -> new ArrayList<>()).add(TimeSlotDTO.builder()
+                    .day(plan.days().get(problem.dayOf(slot)))
+                    .periodId(period.getId())
+                    .startTime(period.getStartTime())
+                    .endTime(period.getEndTime())
+                    .subjectId(planned.teaching().subjectId())
+                    .teacherId(teacherKey(planned.teaching().assignment()))
+                    .roomId(roomKey(planned.section()))
+                    .build());
+        }
+
+        String prefix = plan.request().getTimetableNamePrefix() == null || plan.request().getTimetableNamePrefix().isBlank()
+                ? "Generated" : plan.request().getTimetableNamePrefix().trim();
+
+        List<TimeTableRequest> requests = new ArrayList<>();
+        for (ClassSection section : plan.sections()) {
+            List<TimeSlotDTO> slots = slotsBySection.getOrDefault(section.getId(), new ArrayList<>());
+            slots.sort(Comparator.comparing(TimeSlotDTO::getDay).thenComparing(TimeSlotDTO::getStartTime));
+
+            String className = commonMasterCache.getData(section.getClassId()).orElse("Class " + section.getClassId());
+            String sectionName = commonMasterCache.getData(section.getSection()).orElse("Section " + section.getSection());
+            requests.add(TimeTableRequest.builder()
+                    .timetableName(prefix + " - " + className + " " + sectionName)
+                    .classId(section.getClassId().longValue())
+                    .sectionId(section.getSection().longValue())
+                    .daysCoveredId(plan.request().getDaysCoveredId())
+                    .academicYearId(plan.request().getAcademicYearId())
+                    .slots(slots)
+                    .build());
+        }
+        return requests;
+    }
+
+    private void retain(GenerationJob job) {
+        jobs.put(job.id, job);
+        jobOrder.addLast(job.id);
+        while (jobOrder.size() > MAX_RETAINED_JOBS) {
+            String oldest = jobOrder.pollFirst();
+            if (oldest != null) jobs.remove(oldest);
+        }
+    }
+
+    // Slots store the teacher as given; the assignment's name is what hand-made timetables use
+    private static String teacherKey(TeacherAssignment assignment) {
+        return assignment.getTeacherName() != null ? assignment.getTeacherName().trim() : assignment.getEmployeeId();
+    }
+
+    private static List<String> namesOf(TeacherAssignment assignment) {
+        List<String> names = new ArrayList<>(2);
+        if (assignment.getTeacherName() != null) names.add(assignment.getTeacherName());
+        if (assignment.getEmployeeId() != null) names.add(assignment.getEmployeeId());
+        return names;
+    }
+
+    private static String roomKey(ClassSection section) {
+        return section.getRoomNo() == null || section.getRoomNo().isBlank() ? null : section.getRoomNo().trim();
+    }
+
+    private record Teaching(TeacherAssignment assignment, Long subjectId, int periodsPerWeek) {
+    }
+
+    private record Lesson(ClassSection section, Teaching teaching) {
+    }
+
+    /**
+     * Input of one job; lesson i of the problem is lessons[i]. Existing bookings are added to the
+     * builder when the job runs.
+     */
+    private record Plan(TimetableProblem.Builder builder, List<Lesson> lessons, List<ClassSection> sections,
+                        List<Integer> days, List<BellPeriodResponse> periods,
+                        TimetableGenerationRequest request, List<String> warnings) {
+    }
+
+    private static final class GenerationJob implements TimetableSolver.Progress {
+
+        final String id;
+        final Plan plan;
+        final int workers;
+        final int timeBudgetSeconds;
+        final boolean persist;
+
+        final LongAdder iterations = new LongAdder();
+        final LongAdder restarts = new LongAdder();
+        final List<Long> createdIds = new CopyOnWriteArrayList<>();
+        final List<String> warnings;
+
+        volatile String status = "QUEUED";
+        volatile String message;
+        volatile long startedAt;
+        volatile long finishedAt;
+        volatile TimetableSolver.Solution best;
+        volatile List<TimeTableRequest> proposals = List.of();
+
+        GenerationJob(String id, Plan plan, int workers, int timeBudgetSeconds, boolean persist) {
+            this.id = id;
+            this.plan = plan;
+            this.workers = workers;
+            this.timeBudgetSeconds = timeBudgetSeconds;
+            this.persist = persist;
+            this.warnings = new CopyOnWriteArrayList<>(plan.warnings());
+        }
+
+        @Override
+        public void iterations(long count) {
+            iterations.add(count);
+        }
+
+        @Override
+        public void restarted() {
+            restarts.increment();
+        }
+
+        @Override
+        public void improved(TimetableSolver.Solution solution) {
+            best = solution;
+        }
+
+        void finish(String finalStatus, String finalMessage) {
+            message = finalMessage;
+            finishedAt = System.nanoTime();
+            status = finalStatus;
+            log.info("Timetable generation {} {}: {}", id, finalStatus, finalMessage);
+        }
+
+        TimetableGenerationJobResponse toResponse() {
+            TimetableSolver.Solution solution = best;
+            long started = startedAt;
+            long end = finishedAt != 0 ? finishedAt : System.nanoTime();
+
+            return TimetableGenerationJobResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .message(message)
+                    .sections(plan.sections().size())
+                    .lessons(plan.lessons().size())
+                    .workers(workers)
+                    .timeBudgetSeconds(timeBudgetSeconds)
+                    .elapsedMs(started == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(end - started))
+                    .iterations(iterations.sum())
+                    .restarts(restarts.sum())
+                    .hardViolations(solution == null ? null : solution.hardViolations())
+                    .softPenalty(solution == null ? null : solution.softPenalty())
+                    .score(solution == null ? null : solution.score())
+                    .createdTimetableIds(List.copyOf(createdIds))
+                    .warnings(List.copyOf(warnings))
+                    .proposedTimetables(proposals)
+                    .build();
+        }
+    }
+}
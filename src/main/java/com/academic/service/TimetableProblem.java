@@ -0,0 +1,136 @@
+package com.academic.service;
+
+import java.util.*;
+
+/**
+ * Timetabling problem in solver form: lessons of one period each, to be placed on day x period slots.
+ *
+ * Classes, teachers, rooms and (class, subject) groups are interned to dense indexes so the solver
+ * works on plain int arrays. Slots already taken by other live timetables are marked as blocked
+ * for the teacher/room.
+ */
+public final class TimetableProblem {
+
+    final int days;
+    final int periods;
+    final int slots;
+
+    final int[] lessonClass;
+    final int[] lessonTeacher;
+    final int[] lessonRoom;  // -1 when the lesson has no room
+    final int[] lessonGroup; // (class, subject) pair, for spreading a subject over the week
+
+    final int classes;
+    final int teachers;
+    final int rooms;
+    final int groups;
+
+    final boolean[][] teacherBlocked; // [teacher][slot]
+    final boolean[][] roomBlocked;    // [room][slot]
+
+    private TimetableProblem(Builder builder) {
+        this.days = builder.days;
+        this.periods = builder.periods;
+        this.slots = days * periods;
+
+        int count = builder.lessons.size();
+        this.lessonClass = new int[count];
+        this.lessonTeacher = new int[count];
+        this.lessonRoom = new int[count];
+        this.lessonGroup = new int[count];
+        for (int l = 0; l < count; l++) {
+            int[] lesson = builder.lessons.get(l);
+            lessonClass[l] = lesson[0];
+            lessonTeacher[l] = lesson[1];
+            lessonRoom[l] = lesson[2];
+            lessonGroup[l] = lesson[3];
+        }
+
+        this.classes = builder.classIds.size();
+        this.teachers = builder.teacherIds.size();
+        this.rooms = builder.roomIds.size();
+        this.groups = builder.groupIds.size();
+
+        this.teacherBlocked = new boolean[teachers][slots];
+        this.roomBlocked = new boolean[rooms][slots];
+        builder.teacherBlocks.forEach(packed -> teacherBlocked[packed >>> 16][packed & 0xFFFF] = true);
+        builder.roomBlocks.forEach(packed -> roomBlocked[packed >>> 16][packed & 0xFFFF] = true);
+    }
+
+    public static Builder builder(int days, int periods) {
+        return new Builder(days, periods);
+    }
+
+    public int lessonCount() {
+        return lessonClass.length;
+    }
+
+    public int slotCount() {
+        return slots;
+    }
+
+    public int dayOf(int slot) {
+        return slot / periods;
+    }
+
+    public int periodOf(int slot) {
+        return slot % periods;
+    }
+
+    public static final class Builder {
+
+        private final int days;
+        private final int periods;
+
+        private final Map<Object, Integer> classIds = new LinkedHashMap<>();
+        private final Map<Object, Integer> teacherIds = new LinkedHashMap<>();
+        private final Map<Object, Integer> roomIds = new LinkedHashMap<>();
+        private final Map<Object, Integer> groupIds = new LinkedHashMap<>();
+        private final List<int[]> lessons = new ArrayList<>();
+
+        // index << 16 | slot
+        private final Set<Integer> teacherBlocks = new HashSet<>();
+        private final Set<Integer> roomBlocks = new HashSet<>();
+
+        private Builder(int days, int periods) {
+            if (days * periods > 0xFFFF) throw new IllegalArgumentException("Too many slots");
+            this.days = days;
+            this.periods = periods;
+        }
+
+        /**
+         * One lesson of a period; keys are any values with equals/hashCode, room may be null
+         *
+         * @return the lesson index
+         */
+        public int addLesson(Object classKey, Object teacherKey, Object roomKey, Object subjectKey) {
+            int classIndex = intern(classIds, classKey);
+            int teacherIndex = intern(teacherIds, teacherKey);
+            int roomIndex = roomKey == null ? -1 : intern(roomIds, roomKey);
+            int groupIndex = intern(groupIds, List.of(classKey, subjectKey));
+            lessons.add(new int[]{classIndex, teacherIndex, roomIndex, groupIndex});
+            return lessons.size() - 1;
+        }
+
+        /**
+         * Mark a slot as already taken for a teacher used by some lesson (ignored otherwise)
+         */
+        public void blockTeacher(Object teacherKey, int day, int period) {
+            Integer index = teacherIds.get(teacherKey);
+            if (index != null) teacherBlocks.add(index << 16 | (day * periods + period));
+        }
+
+        public void blockRoom(Object roomKey, int day, int period) {
+            Integer index = roomIds.get(roomKey);
+            if (index != null) roomBlocks.add(index << 16 | (day * periods + period));
+        }
+
+        public TimetableProblem build() {
+            return new TimetableProblem(this);
+        }
+
+        private static int intern(Map<Object, Integer> ids, Object key) {
+            return ids.computeIfAbsent(key, k -> ids.size());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.academic.service;
+
+import com.academic.dto.ResourceVersion;
+import com.academic.exception.CustomException;
+import com.academic.response.TimeTableResponse;
+import com.academic.utility.AfterCommit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON of each timetable's {@link TimeTableResponse}, so repeated reads skip loading,
+ * mapping and Jackson entirely and only the per-request envelope is written around the bytes.
+ *
+ * Each snapshot carries the ETag of the version it was built from; a snapshot is only served while
+ * that ETag still matches the current {@link TimeTableService#getVersion(Long)}, so a write that
+ * bypassed this cache (or a dictionary reload) can never serve stale JSON. Updates rebuild the
+ * snapshot and deletes drop it, both after commit. Bytes are optionally kept gzip-compressed.
+ * Opt-in: off unless academic.timetable-snapshot.enabled is set.
+ */
+@Component
+@Slf4j
+public class TimetableSnapshotCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Snapshot> cache;
+    private final boolean enabled;
+    private final boolean gzip;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+
+    public TimetableSnapshotCache(ObjectMapper objectMapper,
+                                  @Value("${academic.timetable-snapshot.enabled:false}") boolean enabled,
+                                  @Value("${academic.timetable-snapshot.gzip:false}") boolean gzip,
+                                  @Value("${academic.timetable-snapshot.max-bytes:67108864}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Snapshot snapshot) -> snapshot.bytes.length)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * JSON bytes of the timetable's data payload for the given version, built with the loader when
+     * there is no snapshot yet or it was built from another version
+     */
+    public byte[] get(Long id, ResourceVersion version, Supplier<TimeTableResponse> loader) {
+        Snapshot snapshot = cache.getIfPresent(id);
+        if (snapshot != null && snapshot.eTag.equals(version.eTag())) {
+            hits.increment();
+            return snapshot.json();
+        }
+
+        snapshot = build(version, loader.get());
+        cache.put(id, snapshot);
+        return snapshot.json();
+    }
+
+    /**
+     * Replace the snapshot with the freshly written response once the transaction commits (serialized
+     * right away, so later changes to the response object are not captured)
+     */
+    public void refresh(Long id, ResourceVersion version, TimeTableResponse response) {
+        if (!enabled) return;
+        Snapshot snapshot = build(version, response);
+        AfterCommit.run(() -> cache.put(id, snapshot));
+    }
+
+    public void evict(Long id) {
+        AfterCommit.run(() -> cache.invalidate(id));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("gzip", gzip);
+        stats.put("hits", hits.sum());
+        stats.put("builds", builds.sum());
+        stats.put("entries", cache.estimatedSize());
+        stats.put("bytes", cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        return stats;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private Snapshot build(ResourceVersion version, TimeTableResponse response) {
+        builds.increment();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            return new Snapshot(version.eTag(), gzip ? compress(json) : json, gzip);
+        } catch (IOException e) {
+            log.error("Failed to serialize timetable {}", response.getId(), e);
+            throw new CustomException("Failed to serialize timetable", "SERIALIZATION_ERROR", e.getMessage());
+        }
+    }
+
+    private static byte[] compress(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    private record Snapshot(String eTag, byte[] bytes, boolean compressed) {
+
+        byte[] json() {
+            if (!compressed) return bytes;
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.academic.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local-search solver for {@link TimetableProblem}, run as independent parallel restarts.
+ *
+ * Every worker builds a randomized greedy placement and improves it with min-conflicts moves
+ * (move one lesson to its cheapest slot, with a short tabu list and a little random noise),
+ * restarting when it stalls. Workers share the best solution found and all stop at the deadline
+ * or as soon as one reaches a perfect score.
+ *
+ * Hard violations: two lessons of a class, teacher or room in one slot, or a lesson in a slot the
+ * teacher/room already has in another timetable. Soft penalty: a subject given to a class more
+ * than once on the same day.
+ */
+public final class TimetableSolver {
+
+    public static final int HARD_WEIGHT = 1_000;
+
+    private static final double NOISE = 0.02;
+    private static final int TABU_TENURE = 10;
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    /**
+     * @param slotOf slot index of each lesson
+     */
+    public record Solution(int[] slotOf, int hardViolations, int softPenalty) {
+
+        /**
+         * Penalty to minimize: hard violations weighted far above soft ones (0 is perfect)
+         */
+        public long score() {
+            return (long) hardViolations * HARD_WEIGHT + softPenalty;
+        }
+    }
+
+    /**
+     * Callbacks from the workers (called concurrently)
+     */
+    public interface Progress {
+
+        void iterations(long count);
+
+        void restarted();
+
+        void improved(Solution best);
+    }
+
+    private final TimetableProblem problem;
+    private final Progress progress;
+    private final AtomicBoolean stop = new AtomicBoolean();
+    private Solution best;
+
+    private TimetableSolver(TimetableProblem problem, Progress progress) {
+        this.problem = problem;
+        this.progress = progress;
+    }
+
+    /**
+     * Search with the given number of parallel workers until the deadline ({@link System#nanoTime()})
+     */
+    public static Solution solve(TimetableProblem problem, int workers, long deadlineNanos, long seed, Progress progress) {
+        TimetableSolver solver = new TimetableSolver(problem, progress);
+        if (problem.lessonCount() == 0) return new Solution(new int[0], 0, 0);
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            Worker worker = solver.new Worker(seeds.split(), deadlineNanos);
+            tasks.add(() -> {
+                worker.run();
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            pool.invokeAll(tasks).forEach(task -> {
+                try {
+                    task.get();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Timetable solver worker failed", e);
+                }
+            });
+        } finally {
+            pool.shutdownNow();
+        }
+        return solver.best;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private synchronized boolean offer(Solution candidate) {
+        if (best != null && candidate.score() >= best.score()) return false;
+        best = candidate;
+        progress.improved(candidate);
+        if (candidate.score() == 0) stop.set(true);
+        return true;
+    }
+
+    private final class Worker {
+
+        private final SplittableRandom random;
+        private final long deadlineNanos;
+        private final TimetableProblem p = problem;
+
+        private final int[] slotOf = new int[p.lessonCount()];
+        private final int[][] classCount = new int[p.classes][p.slots];
+        private final int[][] teacherCount = new int[p.teachers][p.slots];
+        private final int[][] roomCount = new int[p.rooms][p.slots];
+        private final int[][] groupDayCount = new int[p.groups][p.days];
+        private final long[] tabuUntil = new long[p.lessonCount() * p.slots];
+
+        private int hard;
+        private int soft;
+        private long iteration;
+
+        Worker(SplittableRandom random, long deadlineNanos) {
+            this.random = random;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        void run() {
+            int stallLimit = Math.max(2_000, 50 * p.lessonCount());
+            long reported = 0;
+
+            while (!stop.get() && System.nanoTime() < deadlineNanos) {
+                construct();
+                long localBest = cost();
+                long lastImprovement = iteration;
+                offer(snapshot());
+
+                while (localBest > 0 && iteration - lastImprovement < stallLimit) {
+                    if (iteration % DEADLINE_CHECK_INTERVAL == 0) {
+                        progress.iterations(iteration - reported);
+                        reported = iteration;
+                        if (stop.get() || System.nanoTime() >= deadlineNanos) break;
+                    }
+                    step(localBest);
+                    iteration++;
+
+                    long current = cost();
+                    if (current < localBest) {
+                        localBest = current;
+                        lastImprovement = iteration;
+                        offer(snapshot());
+                    }
+                }
+                if (localBest == 0 || stop.get() || System.nanoTime() >= deadlineNanos) break;
+                progress.restarted();
+            }
+            progress.iterations(iteration - reported);
+        }
+
+        // Randomized greedy: lessons in random order, each to one of its cheapest slots
+        private void construct() {
+            for (int[] counts : classCount) Arrays.fill(counts, 0);
+            for (int[] counts : teacherCount) Arrays.fill(counts, 0);
+            for (int[] counts : roomCount) Arrays.fill(counts, 0);
+            for (int[] counts : groupDayCount) Arrays.fill(counts, 0);
+            hard = 0;
+            soft = 0;
+
+            int[] order = new int[p.lessonCount()];
+            for (int l = 0; l < order.length; l++) order[l] = l;
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+            for (int lesson : order) {
+                place(lesson, cheapestSlot(lesson, Long.MIN_VALUE));
+            }
+        }
+
+        private void step(long localBest) {
+            int lesson = pickLesson();
+            int from = slotOf[lesson];
+            remove(lesson);
+
+            int to = random.nextDouble() < NOISE ? random.nextInt(p.slots) : cheapestSlot(lesson, localBest);
+            tabuUntil[lesson * p.slots + from] = iteration + TABU_TENURE;
+            place(lesson, to);
+        }
+
+        // A lesson involved in a hard violation when there is one (sampled), else any lesson
+        private int pickLesson() {
+            int count = p.lessonCount();
+            if (hard > 0) {
+                for (int attempt = 0; attempt < 32; attempt++) {
+                    int lesson = random.nextInt(count);
+                    if (hardCost(lesson, slotOf[lesson], 1) > 0) return lesson;
+                }
+            }
+            return random.nextInt(count);
+        }
+
+        /**
+         * Cheapest slot for an unplaced lesson, random among ties; tabu slots only count when the
+         * move would beat {@code aspiration} (pass Long.MIN_VALUE to ignore the tabu list)
+         */
+        private int cheapestSlot(int lesson, long aspiration) {
+            long bestCost = Long.MAX_VALUE;
+            int bestSlot = 0;
+            int ties = 0;
+            long total = cost();
+
+            for (int slot = 0; slot < p.slots; slot++) {
+                long cost = (long) hardCost(lesson, slot, 0) * HARD_WEIGHT + softCost(lesson, slot, 0);
+                if (aspiration != Long.MIN_VALUE && tabuUntil[lesson * p.slots + slot] > iteration
+                        && total + cost >= aspiration) {
+                    continue;
+                }
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestSlot = slot;
+                    ties = 1;
+                } else if (cost == bestCost && random.nextInt(++ties) == 0) {
+                    bestSlot = slot;
+                }
+            }
+            return bestCost == Long.MAX_VALUE ? random.nextInt(p.slots) : bestSlot;
+        }
+
+        /**
+         * Hard violations the lesson causes in the slot, counting occupants above {@code self}
+         * (0 while the lesson is not placed, 1 when it already is)
+         */
+        private int hardCost(int lesson, int slot, int self) {
+            int teacher = p.lessonTeacher[lesson];
+            int room = p.lessonRoom[lesson];
+
+            int cost = classCount[p.lessonClass[lesson]][slot] > self ? 1 : 0;
+            if (teacherCount[teacher][slot] > self) cost++;
+            if (p.teacherBlocked[teacher][slot]) cost++;
+            if (room >= 0) {
+                if (roomCount[room][slot] > self) cost++;
+                if (p.roomBlocked[room][slot]) cost++;
+            }
+            return cost;
+        }
+
+        private int softCost(int lesson, int slot, int self) {
+            return groupDayCount[p.lessonGroup[lesson]][p.dayOf(slot)] > self ? 1 : 0;
+        }
+
+        private void place(int lesson, int slot) {
+            hard += hardCost(lesson, slot, 0);
+            soft += softCost(lesson, slot, 0);
+            slotOf[lesson] = slot;
+            classCount[p.lessonClass[lesson]][slot]++;
+            teacherCount[p.lessonTeacher[lesson]][slot]++;
+            if (p.lessonRoom[lesson] >= 0) roomCount[p.lessonRoom[lesson]][slot]++;
+            groupDayCount[p.lessonGroup[lesson]][p.dayOf(slot)]++;
+        }
+
+        private void remove(int lesson) {
+            int slot = slotOf[lesson];
+            classCount[p.lessonClass[lesson]][slot]--;
+            teacherCount[p.lessonTeacher[lesson]][slot]--;
+            if (p.lessonRoom[lesson] >= 0) roomCount[p.lessonRoom[lesson]][slot]--;
+            groupDayCount[p.lessonGroup[lesson]][p.dayOf(slot)]--;
+            hard -= hardCost(lesson, slot, 0);
+            soft -= softCost(lesson, slot, 0);
+        }
+
+        private long cost() {
+            return (long) hard * HARD_WEIGHT + soft;
+        }
+
+        private Solution snapshot() {
+            return new Solution(slotOf.clone(), hard, soft);
+        }
+    }
+}
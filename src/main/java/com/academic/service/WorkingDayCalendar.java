@@ -0,0 +1,276 @@
+package com.academic.service;
+
+import com.academic.dto.RecurrenceException;
+import com.academic.entity.AcademicCalendarEvent;
+import com.academic.exception.CustomException;
+import com.academic.repository.AcademicCalendarEventRepository;
+import com.academic.repository.AcademicCalendarEventRepository.ClosureRow;
+import com.academic.utility.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Working days compiled into one bitset per calendar year: a day works unless it is a weekend day or
+ * falls on a live event whose type is a closure type (holidays, vacations, closures), counting every
+ * day of its duration ("3 days", "2 weeks" or ISO "P3D"; anything else is one day). Next to the
+ * bits each year keeps the working days before every 64-day word, so a lookup is one bit test, a
+ * count two ranks and an offset a scan over at most six words per year crossed.
+ *
+ * Closure events are read once; a changed event only replaces its own entry and drops the years its
+ * old and new dates touch, which are compiled again on their next use.
+ */
+@Component
+@Slf4j
+public class WorkingDayCalendar {
+
+    // Offsets never look further than this for the remaining working days
+    private static final int MAX_YEARS_SEARCHED = 10;
+    private static final int MAX_CLOSURE_DAYS = 366;
+    private static final Pattern DAYS_OR_WEEKS = Pattern.compile("(\\d{1,3})\\s*(d|days?|w|weeks?)?", Pattern.CASE_INSENSITIVE);
+
+    private final AcademicCalendarEventRepository repository;
+    private final Set<DayOfWeek> weekend;
+    private final Set<String> closureTypes;
+
+    private final Map<Long, Closure> closures = new HashMap<>(); // guarded by this
+    private boolean loaded;                                      // guarded by this
+    private final Map<Integer, YearDays> years = new ConcurrentHashMap<>();
+
+    public WorkingDayCalendar(AcademicCalendarEventRepository repository,
+                              @Value("${academic.working-days.weekend:SATURDAY,SUNDAY}") Set<DayOfWeek> weekend,
+                              @Value("${academic.working-days.closure-types:holiday,vacation,closure}") Set<String> closureTypes) {
+        this.repository = repository;
+        this.weekend = weekend.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekend);
+        Set<String> types = new HashSet<>();
+        closureTypes.forEach(type -> types.add(type.trim().toLowerCase(Locale.ROOT)));
+        this.closureTypes = Set.copyOf(types);
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return year(date.getYear()).isWorking(date.getDayOfYear());
+    }
+
+    /**
+     * Working days between the two dates, both included
+     */
+    public int countWorkingDays(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) return 0;
+        int count = 0;
+        for (int y = from.getYear(); y <= to.getYear(); y++) {
+            YearDays days = year(y);
+            int first = y == from.getYear() ? from.getDayOfYear() : 1;
+            int last = y == to.getYear() ? to.getDayOfYear() : days.length;
+            count += days.rank(last) - days.rank(first - 1);
+        }
+        return count;
+    }
+
+    /**
+     * The {@code offset}-th working day after the date (before it when negative); with 0 the date
+     * itself when it is a working day, otherwise the next one
+     */
+    public LocalDate addWorkingDays(LocalDate date, int offset) {
+        int year = date.getYear();
+        YearDays days = year(year);
+        boolean working = days.isWorking(date.getDayOfYear());
+        if (offset == 0 && working) return date;
+
+        // Rank, among the working days of the year, of the day we are looking for
+        int rank = days.rank(date.getDayOfYear());
+        long target = offset >= 0 ? rank + (long) Math.max(offset, 1)
+                : working ? rank + (long) offset : rank + (long) offset + 1;
+
+        for (int searched = 0; searched <= MAX_YEARS_SEARCHED; searched++) {
+            if (target >= 1 && target <= days.total()) {
+                return Year.of(year).atDay(days.select((int) target));
+            }
+            if (target > days.total()) {
+                target -= days.total();
+                days = year(++year);
+            } else {
+                days = year(--year);
+                target += days.total();
+            }
+        }
+        throw new CustomException(
+                "No working day found",
+                "NO_WORKING_DAY",
+                "There is no working day " + offset + " working days from " + date + " within " + MAX_YEARS_SEARCHED + " years."
+        );
+    }
+
+    /**
+     * Record an event write; applied once the transaction commits
+     */
+    public void eventChanged(AcademicCalendarEvent event) {
+        Long id = event.getId();
+        Closure closure = !event.isDeleted() && isClosureType(event.getType()) && event.getDate() != null
+                ? Closure.of(event.getDate(), event.getDuration(), event.getRecurrenceEnd(), event.getRecurrenceRule(),
+                event.getRecurrenceExceptions() == null ? null : List.copyOf(event.getRecurrenceExceptions()))
+                : null;
+        AfterCommit.run(() -> apply(id, closure));
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    /**
+     * A closure event: each occurrence closes {@code days} days from its date; end is the last day
+     * closed by the event or its series
+     */
+    private record Closure(LocalDate start, LocalDate end, int days, String recurrenceRule,
+                           List<RecurrenceException> exceptions) {
+
+        static Closure of(LocalDate date, String duration, LocalDate recurrenceEnd, String recurrenceRule,
+                          List<RecurrenceException> exceptions) {
+            int days = durationDays(duration);
+            LocalDate lastStart = recurrenceEnd != null ? recurrenceEnd : date;
+            return new Closure(date, lastStart.plusDays(days - 1L), days, recurrenceRule, exceptions);
+        }
+    }
+
+    /**
+     * One calendar year: bit (day of year - 1) is set on working days; before[w] counts the working
+     * days in the words ahead of word w
+     */
+    private record YearDays(int length, long[] bits, int[] before) {
+
+        boolean isWorking(int dayOfYear) {
+            int i = dayOfYear - 1;
+            return (bits[i >>> 6] & (1L << (i & 63))) != 0;
+        }
+
+        // Working days among the first dayOfYear days
+        int rank(int dayOfYear) {
+            if (dayOfYear <= 0) return 0;
+            int word = (dayOfYear - 1) >>> 6;
+            int bit = (dayOfYear - 1) & 63;
+            long mask = bit == 63 ? -1L : (1L << (bit + 1)) - 1;
+            return before[word] + Long.bitCount(bits[word] & mask);
+        }
+
+        int total() {
+            return before[bits.length];
+        }
+
+        // Day of year of the k-th (1-based) working day
+        int select(int k) {
+            int word = 0;
+            while (before[word + 1] < k) word++;
+            long value = bits[word];
+            for (int remaining = k - before[word]; remaining > 1; remaining--) {
+                value &= value - 1; // drop the lowest working day
+            }
+            return (word << 6) + Long.numberOfTrailingZeros(value) + 1;
+        }
+    }
+
+    private synchronized void apply(Long id, Closure closure) {
+        if (!loaded) return; // the first load reads the committed state
+        Closure previous = closure == null ? closures.remove(id) : closures.put(id, closure);
+        if (Objects.equals(previous, closure)) return;
+        invalidate(previous);
+        invalidate(closure);
+    }
+
+    private void invalidate(Closure closure) {
+        if (closure == null) return;
+        years.keySet().removeIf(y -> y >= closure.start().getYear() && y <= closure.end().getYear());
+    }
+
+    private YearDays year(int year) {
+        YearDays days = years.get(year);
+        return days != null ? days : compile(year);
+    }
+
+    private synchronized YearDays compile(int year) {
+        YearDays days = years.get(year);
+        if (days != null) return days;
+        if (!loaded) load();
+
+        LocalDate first = Year.of(year).atDay(1);
+        int length = Year.of(year).length();
+        LocalDate last = first.plusDays(length - 1L);
+        BitSet closed = new BitSet(length);
+
+        for (int i = 0; i < length; i++) {
+            if (weekend.contains(first.plusDays(i).getDayOfWeek())) closed.set(i);
+        }
+        for (Closure closure : closures.values()) {
+            if (closure.end().isBefore(first) || closure.start().isAfter(last)) continue;
+            if (closure.recurrenceRule() == null) {
+                close(closed, first, last, closure.start(), closure.days());
+            } else {
+                // Occurrences from the previous year can run into this one
+                EventOccurrences.forEach(closure.start(), closure.recurrenceRule(), closure.exceptions(),
+                        first.minusDays(closure.days() - 1L), last,
+                        (date, occurrenceOf, change) -> close(closed, first, last, date, closure.days()));
+            }
+        }
+
+        long[] bits = new long[(length + 63) >>> 6];
+        int[] before = new int[bits.length + 1];
+        for (int w = 0; w < bits.length; w++) {
+            for (int b = 0; b < 64 && (w << 6) + b < length; b++) {
+                if (!closed.get((w << 6) + b)) bits[w] |= 1L << b;
+            }
+            before[w + 1] = before[w] + Long.bitCount(bits[w]);
+        }
+        days = new YearDays(length, bits, before);
+        years.put(year, days);
+        log.info("Working days of {} compiled: {} of {} days", year, days.total(), length);
+        return days;
+    }
+
+    private void load() {
+        for (ClosureRow row : repository.findLiveClosures(closureTypes)) {
+            if (row.getDate() == null) continue;
+            closures.put(row.getId(), Closure.of(row.getDate(), row.getDuration(), row.getRecurrenceEnd(),
+                    row.getRecurrenceRule(), row.getRecurrenceExceptions()));
+        }
+        loaded = true;
+        log.info("Working day calendar loaded {} closure events", closures.size());
+    }
+
+    // Mark the days from date on, within [first, last] of the year being compiled
+    private static void close(BitSet closed, LocalDate first, LocalDate last, LocalDate date, int days) {
+        LocalDate from = date.isBefore(first) ? first : date;
+        LocalDate to = date.plusDays(days - 1L);
+        if (to.isAfter(last)) to = last;
+        if (!from.isAfter(to)) closed.set(from.getDayOfYear() - 1, to.getDayOfYear());
+    }
+
+    // Days closed by each occurrence: a count of days or weeks, or an ISO period; one day otherwise
+    private static int durationDays(String duration) {
+        if (duration == null || duration.isBlank()) return 1;
+        String value = duration.trim();
+        int days = 1;
+        Matcher matcher = DAYS_OR_WEEKS.matcher(value);
+        if (matcher.matches()) {
+            String unit = matcher.group(2);
+            days = Integer.parseInt(matcher.group(1)) * (unit != null && unit.toLowerCase(Locale.ROOT).startsWith("w") ? 7 : 1);
+        } else if (value.startsWith("P") || value.startsWith("p")) {
+            try {
+                Period period = Period.parse(value);
+                if (period.toTotalMonths() == 0) days = period.getDays();
+            } catch (DateTimeParseException e) {
+                log.debug("Duration {} is not a period, counted as one day", value);
+            }
+        }
+        return Math.min(Math.max(days, 1), MAX_CLOSURE_DAYS);
+    }
+
+    private boolean isClosureType(String type) {
+        return type != null && closureTypes.contains(type.trim().toLowerCase(Locale.ROOT));
+    }
+}
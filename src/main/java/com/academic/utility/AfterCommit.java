@@ -0,0 +1,29 @@
+package com.academic.utility;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers cache maintenance until the surrounding transaction has committed,
+ * so readers never see a cache entry for data that was rolled back
+ */
+@UtilityClass
+public class AfterCommit {
+
+    /**
+     * Run the action after the current transaction commits, or right away when there is none
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.academic.utility;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Writes an iCalendar (RFC 5545) document event by event straight to a writer, so a feed never has
+ * to be held in memory. Text values are escaped and lines folded at 75 octets; times are floating
+ * (the school's local time), which calendar apps show as-is in every time zone.
+ */
+public class ICalendarWriter {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+    private final String stamp;
+
+    /**
+     * @param stamp DTSTAMP of every event; the feed version's time keeps the output identical per version
+     */
+    public ICalendarWriter(Writer out, Instant stamp) {
+        this.out = out;
+        this.stamp = UTC_DATE_TIME.format(stamp);
+    }
+
+    public void begin(String productId, String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:" + productId);
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        text("X-WR-CALNAME", calendarName);
+    }
+
+    /**
+     * An event repeating every week from its first occurrence
+     */
+    public void weeklyEvent(String uid, LocalDateTime start, LocalDateTime end,
+                            String summary, String location, String description) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + stamp);
+        line("DTSTART:" + LOCAL_DATE_TIME.format(start));
+        line("DTEND:" + LOCAL_DATE_TIME.format(end));
+        line("RRULE:FREQ=WEEKLY");
+        text("SUMMARY", summary);
+        text("LOCATION", location);
+        text("DESCRIPTION", description);
+        line("END:VEVENT");
+    }
+
+    public void allDayEvent(String uid, LocalDate date, String summary, String category, String description)
+            throws IOException {
+        allDayEvent(uid, date, null, List.of(), null, summary, category, description);
+    }
+
+    /**
+     * An all-day event repeating by the rule from its first date, without the excluded dates
+     */
+    public void recurringAllDayEvent(String uid, LocalDate start, String rrule, Collection<LocalDate> excluded,
+                                     String summary, String category, String description) throws IOException {
+        allDayEvent(uid, start, rrule, excluded, null, summary, category, description);
+    }
+
+    /**
+     * One changed occurrence of a recurring event (same uid), replacing the one scheduled on {@code recurrenceId}
+     */
+    public void changedOccurrence(String uid, LocalDate recurrenceId, LocalDate date,
+                                  String summary, String category, String description) throws IOException {
+        allDayEvent(uid, date, null, List.of(), recurrenceId, summary, category, description);
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private void allDayEvent(String uid, LocalDate date, String rrule, Collection<LocalDate> excluded, LocalDate recurrenceId,
+                             String summary, String category, String description) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + stamp);
+        if (recurrenceId != null) line("RECURRENCE-ID;VALUE=DATE:" + DATE.format(recurrenceId));
+        line("DTSTART;VALUE=DATE:" + DATE.format(date));
+        line("DTEND;VALUE=DATE:" + DATE.format(date.plusDays(1)));
+        if (rrule != null) line("RRULE:" + rrule);
+        if (!excluded.isEmpty()) {
+            StringJoiner dates = new StringJoiner(",", "EXDATE;VALUE=DATE:", "");
+            excluded.forEach(d -> dates.add(DATE.format(d)));
+            line(dates.toString());
+        }
+        text("SUMMARY", summary);
+        text("CATEGORIES", category);
+        text("DESCRIPTION", description);
+        line("TRANSP:TRANSPARENT");
+        line("END:VEVENT");
+    }
+
+    private void text(String name, String value) throws IOException {
+        if (value == null || value.isBlank()) return;
+        StringBuilder escaped = new StringBuilder(name.length() + value.length() + 8).append(name).append(':');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { }
+                default -> escaped.append(c);
+            }
+        }
+        line(escaped.toString());
+    }
+
+    // Content lines end with CRLF; longer lines continue on lines starting with a space
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            int size = Character.isHighSurrogate(c) ? 4 : c < 0x80 ? 1 : c < 0x800 ? 2 : 3; // UTF-8 octets
+            if (octets + size > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(c);
+            if (Character.isHighSurrogate(c) && i + 1 < content.length()) {
+                out.write(content.charAt(++i));
+            }
+            octets += size;
+        }
+        out.write("\r\n");
+    }
+}
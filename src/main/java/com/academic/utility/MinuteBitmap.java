@@ -0,0 +1,65 @@
+package com.academic.utility;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * One bit per minute of a day packed into longs (23 words), for constant-time range marking and testing
+ */
+@UtilityClass
+public class MinuteBitmap {
+
+    public static final int WORDS = (SlotTimes.MINUTES_PER_DAY + 63) / 64;
+
+    public static long[] empty() {
+        return new long[WORDS];
+    }
+
+    /**
+     * Set the minutes [start, end)
+     */
+    public static void set(long[] bitmap, int start, int end) {
+        forEachWord(start, end, (word, mask) -> bitmap[word] |= mask);
+    }
+
+    /**
+     * Whether any minute in [start, end) is set
+     */
+    public static boolean any(long[] bitmap, int start, int end) {
+        if (start >= end) return false;
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        for (int word = first; word <= last; word++) {
+            if ((bitmap[word] & mask(word, first, last, start, end)) != 0) return true;
+        }
+        return false;
+    }
+
+    public static boolean isEmpty(long[] bitmap) {
+        for (long word : bitmap) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private interface WordAction {
+        void apply(int word, long mask);
+    }
+
+    private static void forEachWord(int start, int end, WordAction action) {
+        if (start >= end) return;
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        for (int word = first; word <= last; word++) {
+            action.apply(word, mask(word, first, last, start, end));
+        }
+    }
+
+    private static long mask(int word, int first, int last, int start, int end) {
+        long mask = -1L;
+        if (word == first) mask &= -1L << (start & 63);
+        if (word == last) mask &= -1L >>> (63 - ((end - 1) & 63));
+        return mask;
+    }
+}
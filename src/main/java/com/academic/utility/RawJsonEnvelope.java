@@ -0,0 +1,62 @@
+package com.academic.utility;
+
+import com.academic.response.LogContext;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes a success {@link com.academic.response.StandardResponse} around an already serialized
+ * data payload, producing the same JSON Jackson would (field order, NON_NULL, timestamp format)
+ */
+@UtilityClass
+public class RawJsonEnvelope {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+    public static void writeSuccess(HttpServletResponse response, byte[] dataJson, String message) throws IOException {
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream(64 + message.length());
+        prefix.write("{\"success\":true,\"message\":".getBytes(StandardCharsets.UTF_8));
+        writeString(prefix, message);
+        prefix.write(",\"data\":".getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream suffix = new ByteArrayOutputStream(128);
+        writeField(suffix, "logId", LogContext.getLogId());
+        writeField(suffix, "requestId", LogContext.getRequestId());
+        writeField(suffix, "timestamp", LocalDateTime.now().format(TIMESTAMP));
+        suffix.write('}');
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(prefix.size() + dataJson.length + suffix.size());
+
+        OutputStream out = response.getOutputStream();
+        prefix.writeTo(out);
+        out.write(dataJson);
+        suffix.writeTo(out);
+        out.flush();
+    }
+
+    private static void writeField(ByteArrayOutputStream out, String name, String value) throws IOException {
+        if (value == null) return;
+        out.write(',');
+        writeString(out, name);
+        out.write(':');
+        writeString(out, value);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) throws IOException {
+        out.write('"');
+        out.write(JsonStringEncoder.getInstance().quoteAsUTF8(value));
+        out.write('"');
+    }
+}
@@ -0,0 +1,39 @@
+package com.academic.utility;
+
+import com.academic.dto.RecurrenceException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+@Converter
+public class RecurrenceExceptionListConverter implements AttributeConverter<List<RecurrenceException>, String> {
+
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Override
+    public String convertToDatabaseColumn(List<RecurrenceException> attribute) {
+        if (attribute == null || attribute.isEmpty()) return null;
+        try {
+            return mapper.writeValueAsString(attribute);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Error converting recurrence exceptions to JSON", e);
+        }
+    }
+
+    @Override
+    public List<RecurrenceException> convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.isEmpty()) return List.of();
+        try {
+            return mapper.readValue(dbData, new TypeReference<List<RecurrenceException>>() {});
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Error reading recurrence exceptions JSON", e);
+        }
+    }
+}
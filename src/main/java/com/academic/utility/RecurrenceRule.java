@@ -0,0 +1,271 @@
+package com.academic.utility;
+
+import com.academic.exception.CustomException;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * The subset of iCalendar (RFC 5545) RRULEs used for all-day school events:
+ * FREQ=DAILY|WEEKLY|MONTHLY|YEARLY with optional INTERVAL, BYDAY (weekly only), BYMONTHDAY (monthly
+ * only) and one of UNTIL (yyyyMMdd) or COUNT. Dates that do not exist in a month (e.g. the 31st) are
+ * skipped, as in RFC 5545.
+ *
+ * Occurrences are computed arithmetically from the series start, so expanding a window costs the
+ * occurrences inside it, however long the series has been running.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    public static final int MAX_COUNT = 1000;
+
+    // COUNT walks stop here (the last storable date) or after 8 x COUNT x INTERVAL periods, whichever is first
+    private static final LocalDate MAX_HORIZON = LocalDate.of(9999, 12, 31);
+    private static final int PERIODS_PER_COUNT = 8;
+
+    private static final DateTimeFormatter UNTIL = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final List<String> WEEKDAYS = List.of("MO", "TU", "WE", "TH", "FR", "SA", "SU");
+
+    private final Frequency frequency;
+    private final int interval;
+    private final SortedSet<DayOfWeek> byDay;
+    private final Integer byMonthDay;
+    private final LocalDate until;
+    private final Integer count;
+
+    private RecurrenceRule(Frequency frequency, int interval, SortedSet<DayOfWeek> byDay, Integer byMonthDay,
+                           LocalDate until, Integer count) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.byMonthDay = byMonthDay;
+        this.until = until;
+        this.count = count;
+    }
+
+    /**
+     * Parse a rule such as "FREQ=WEEKLY;BYDAY=MO,TH;UNTIL=20270331" (an "RRULE:" prefix is allowed)
+     */
+    public static RecurrenceRule parse(String value) {
+        if (value == null || value.isBlank()) throw invalid(value, "The rule is empty");
+        String rule = value.trim().toUpperCase(Locale.ROOT);
+        if (rule.startsWith("RRULE:")) rule = rule.substring(6);
+
+        Map<String, String> parts = new LinkedHashMap<>();
+        for (String part : rule.split(";")) {
+            if (part.isBlank()) continue;
+            int eq = part.indexOf('=');
+            if (eq < 1 || parts.put(part.substring(0, eq).trim(), part.substring(eq + 1).trim()) != null) {
+                throw invalid(value, "Each part must be NAME=VALUE and appear once");
+            }
+        }
+
+        Frequency frequency;
+        try {
+            frequency = Frequency.valueOf(Objects.requireNonNullElse(parts.remove("FREQ"), ""));
+        } catch (IllegalArgumentException e) {
+            throw invalid(value, "FREQ must be DAILY, WEEKLY, MONTHLY or YEARLY");
+        }
+        int interval = positive(value, "INTERVAL", parts.remove("INTERVAL"), 1);
+
+        SortedSet<DayOfWeek> byDay = new TreeSet<>();
+        String days = parts.remove("BYDAY");
+        if (days != null) {
+            if (frequency != Frequency.WEEKLY) throw invalid(value, "BYDAY is only supported with FREQ=WEEKLY");
+            for (String day : days.split(",")) {
+                int index = WEEKDAYS.indexOf(day.trim());
+                if (index < 0) throw invalid(value, "BYDAY takes MO, TU, WE, TH, FR, SA or SU");
+                byDay.add(DayOfWeek.of(index + 1));
+            }
+        }
+
+        Integer byMonthDay = null;
+        String monthDay = parts.remove("BYMONTHDAY");
+        if (monthDay != null) {
+            if (frequency != Frequency.MONTHLY) throw invalid(value, "BYMONTHDAY is only supported with FREQ=MONTHLY");
+            byMonthDay = positive(value, "BYMONTHDAY", monthDay, null);
+            if (byMonthDay > 31) throw invalid(value, "BYMONTHDAY must be between 1 and 31");
+        }
+
+        LocalDate until = null;
+        String untilValue = parts.remove("UNTIL");
+        if (untilValue != null) {
+            try {
+                until = LocalDate.parse(untilValue.length() > 8 ? untilValue.substring(0, 8) : untilValue, UNTIL);
+            } catch (DateTimeParseException e) {
+                throw invalid(value, "UNTIL must be a date in yyyyMMdd format");
+            }
+        }
+        Integer count = parts.containsKey("COUNT") ? positive(value, "COUNT", parts.remove("COUNT"), null) : null;
+        if (count != null && count > MAX_COUNT) throw invalid(value, "COUNT must not exceed " + MAX_COUNT);
+        if (count != null && until != null) throw invalid(value, "Use either UNTIL or COUNT, not both");
+
+        if (!parts.isEmpty()) throw invalid(value, "Unsupported parts: " + parts.keySet());
+        return new RecurrenceRule(frequency, interval, Collections.unmodifiableSortedSet(byDay), byMonthDay, until, count);
+    }
+
+    /**
+     * Date of the last occurrence of a series starting on {@code start}, or null when it never ends
+     *
+     * @throws CustomException when COUNT occurrences do not fit before the walk's horizon (e.g. a
+     *                         yearly 31st in a month that never has one)
+     */
+    public LocalDate lastOccurrence(LocalDate start) {
+        if (until != null) {
+            LocalDate[] last = {null};
+            // Walk back from UNTIL: the first occurrence found in the year before it is the last one
+            LocalDate from = until.minusYears((long) interval).isAfter(start) ? until.minusYears((long) interval) : start;
+            forEach(start, from, until, date -> {
+                last[0] = date;
+                return true;
+            });
+            return last[0];
+        }
+        if (count != null) {
+            int[] seen = {0};
+            LocalDate[] last = {null};
+            forEach(start, start, countHorizon(start), date -> {
+                last[0] = date;
+                return ++seen[0] < count;
+            });
+            if (seen[0] < count) {
+                throw invalid(toString(), "The series has only " + seen[0] + " of its " + count + " occurrences before "
+                        + countHorizon(start));
+            }
+            return last[0];
+        }
+        return null;
+    }
+
+    /**
+     * The same series with COUNT replaced by the UNTIL of its last occurrence, so {@link #forEach}
+     * never has to count from the start
+     */
+    public RecurrenceRule withCountAsUntil(LocalDate start) {
+        if (count == null) return this;
+        return new RecurrenceRule(frequency, interval, byDay, byMonthDay, lastOccurrence(start), null);
+    }
+
+    /**
+     * Whether the series starting on {@code start} has an occurrence on the date
+     */
+    public boolean occursOn(LocalDate start, LocalDate date) {
+        boolean[] found = {false};
+        forEach(start, date, date, d -> found[0] = true);
+        if (!found[0]) return false;
+        if (!date.isAfter(start)) return true;
+        LocalDate last = lastOccurrence(start);
+        return last == null || !date.isAfter(last);
+    }
+
+    /**
+     * Visit, in date order, the occurrences of the series starting on {@code start} that fall in
+     * [from, to], until the visitor returns false. UNTIL is applied but COUNT is not: expand rules
+     * from {@link #withCountAsUntil}.
+     */
+    public void forEach(LocalDate start, LocalDate from, LocalDate to, Predicate<LocalDate> visitor) {
+        LocalDate first = from.isAfter(start) ? from : start;
+        LocalDate last = until != null && until.isBefore(to) ? until : to;
+        if (first.isAfter(last)) return;
+
+        switch (frequency) {
+            case DAILY -> {
+                long step = ceilDiv(ChronoUnit.DAYS.between(start, first), interval);
+                for (LocalDate date = start.plusDays(step * interval); !date.isAfter(last); date = date.plusDays(interval)) {
+                    if (!visitor.test(date)) return;
+                }
+            }
+            case WEEKLY -> {
+                SortedSet<DayOfWeek> days = byDay.isEmpty() ? new TreeSet<>(Set.of(start.getDayOfWeek())) : byDay;
+                LocalDate startWeek = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                long weeks = ChronoUnit.WEEKS.between(startWeek, first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+                for (LocalDate week = startWeek.plusWeeks(weeks / interval * interval); !week.isAfter(last);
+                     week = week.plusWeeks(interval)) {
+                    for (DayOfWeek day : days) {
+                        LocalDate date = week.plusDays(day.getValue() - 1L);
+                        if (date.isBefore(first)) continue;
+                        if (date.isAfter(last)) return;
+                        if (!visitor.test(date)) return;
+                    }
+                }
+            }
+            case MONTHLY, YEARLY -> {
+                int months = frequency == Frequency.MONTHLY ? interval : interval * 12;
+                int dayOfMonth = byMonthDay != null ? byMonthDay : start.getDayOfMonth();
+                YearMonth startMonth = YearMonth.from(start);
+                long elapsed = ChronoUnit.MONTHS.between(startMonth, YearMonth.from(first));
+                for (YearMonth month = startMonth.plusMonths(elapsed / months * months); !month.atDay(1).isAfter(last);
+                     month = month.plusMonths(months)) {
+                    if (!month.isValidDay(dayOfMonth)) continue;
+                    LocalDate date = month.atDay(dayOfMonth);
+                    if (date.isBefore(first)) continue;
+                    if (date.isAfter(last)) return;
+                    if (!visitor.test(date)) return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Canonical form, valid as an iCalendar RRULE value
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) rule.append(";INTERVAL=").append(interval);
+        if (!byDay.isEmpty()) {
+            StringJoiner days = new StringJoiner(",", ";BYDAY=", "");
+            byDay.forEach(day -> days.add(WEEKDAYS.get(day.getValue() - 1)));
+            rule.append(days);
+        }
+        if (byMonthDay != null) rule.append(";BYMONTHDAY=").append(byMonthDay);
+        if (until != null) rule.append(";UNTIL=").append(UNTIL.format(until));
+        if (count != null) rule.append(";COUNT=").append(count);
+        return rule.toString();
+    }
+
+    // ---------------------------------------------------------------------------------------------------
+
+    private LocalDate countHorizon(LocalDate start) {
+        long periods = (long) PERIODS_PER_COUNT * count * interval;
+        try {
+            LocalDate horizon = switch (frequency) {
+                case DAILY -> start.plusDays(periods);
+                case WEEKLY -> start.plusWeeks(periods);
+                case MONTHLY -> start.plusMonths(periods);
+                case YEARLY -> start.plusYears(periods);
+            };
+            return horizon.isAfter(MAX_HORIZON) ? MAX_HORIZON : horizon;
+        } catch (DateTimeException | ArithmeticException e) {
+            return MAX_HORIZON;
+        }
+    }
+
+    private static long ceilDiv(long value, int divisor) {
+        return Math.max(0, -Math.floorDiv(-value, divisor));
+    }
+
+    private static Integer positive(String rule, String name, String value, Integer defaultValue) {
+        if (value == null) return defaultValue;
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) return parsed;
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw invalid(rule, name + " must be a positive number");
+    }
+
+    private static CustomException invalid(String rule, String details) {
+        return new CustomException("Invalid recurrence rule: " + rule, "INVALID_RECURRENCE_RULE", details);
+    }
+}
@@ -0,0 +1,63 @@
+package com.academic.utility;
+
+import com.academic.exception.CustomException;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Conversion between the "HH:mm" slot time strings and minute-of-day integers (0..1440)
+ */
+@UtilityClass
+public class SlotTimes {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Parse "HH:mm" (or "H:mm") into minutes since midnight; "24:00" is accepted as end of day
+     */
+    public static int toMinuteOfDay(String time) {
+        Integer minute = parseOrNull(time);
+        if (minute == null) {
+            throw new CustomException(
+                    "Invalid slot time: " + time,
+                    "INVALID_SLOT_TIME",
+                    "Slot times must be in HH:mm format"
+            );
+        }
+        return minute;
+    }
+
+    /**
+     * Lenient variant for rows already stored; returns null when the value cannot be parsed
+     */
+    public static Integer parseOrNull(String time) {
+        if (time == null) return null;
+
+        String value = time.trim();
+        int colon = value.indexOf(':');
+        if (colon < 1 || colon > 2 || value.length() != colon + 3) return null;
+
+        try {
+            int hours = Integer.parseInt(value.substring(0, colon));
+            int minutes = Integer.parseInt(value.substring(colon + 1));
+            int minuteOfDay = hours * 60 + minutes;
+            if (hours < 0 || minutes < 0 || minutes > 59 || minuteOfDay > MINUTES_PER_DAY) return null;
+            return minuteOfDay;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static void requireRange(int startMinute, int endMinute) {
+        if (startMinute >= endMinute) {
+            throw new CustomException(
+                    "Invalid slot time range: " + format(startMinute) + " - " + format(endMinute),
+                    "INVALID_SLOT_TIME",
+                    "Slot start time must be before its end time"
+            );
+        }
+    }
+
+    public static String format(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
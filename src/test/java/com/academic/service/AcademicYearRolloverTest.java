@@ -0,0 +1,128 @@
+package com.academic.service;
+
+import com.academic.entity.CommonMaster;
+import com.academic.repository.CommonMasterRepository;
+import com.academic.request.AcademicYearRolloverRequest;
+import com.academic.request.TimeSlotDTO;
+import com.academic.request.TimeTableRequest;
+import com.academic.response.AcademicYearRolloverResponse;
+import com.academic.response.TimeTableResponse;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rollover commits its own transactions, so this test works on committed data and drops its
+ * context (and with it the in-memory database) afterwards
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class AcademicYearRolloverTest {
+
+    private static final int FROM_YEAR = 901;
+    private static final int TO_YEAR = 902;
+
+    @Autowired
+    private AcademicYearRolloverService rolloverService;
+
+    @Autowired
+    private TimeTableService timeTableService;
+
+    @Autowired
+    private CommonMasterRepository commonMasterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void copiesEachYearOnceAndKeepsSlotIdsFree() {
+        Long classId = commonMasterRepository.save(new CommonMaster(null, "CLASS", "Rollover Class", true)).getId().longValue();
+        Long subjectId = commonMasterRepository.save(new CommonMaster(null, "SUBJECT", "Rollover Maths", true)).getId().longValue();
+        for (String section : List.of("A", "B", "C")) {
+            timeTableService.create(request("Rollover " + section, section, classId, subjectId, FROM_YEAR));
+        }
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery("""
+                INSERT INTO exam_setup (exam_name, class_id, subject_id, exam_date, max_marks, academic_year_id, is_deleted)
+                VALUES ('Rollover Term 1', 1, 1, DATE '2025-10-06', 100, 901, FALSE)
+                """).executeUpdate());
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery("""
+                INSERT INTO teacher_assignments (teacher_name, employee_id, subject, load_hours, status, academic_year_id, is_deleted)
+                VALUES ('Rollover A0', 'RO-1', 'Rollover Maths', 10, 'Active', 901, FALSE)
+                """).executeUpdate());
+
+        AcademicYearRolloverRequest request = AcademicYearRolloverRequest.builder()
+                .fromAcademicYearId(FROM_YEAR)
+                .toAcademicYearId(TO_YEAR)
+                .timetableNameSuffix(" [next]")
+                .build();
+
+        request.setDryRun(true);
+        AcademicYearRolloverResponse preview = rolloverService.rollover(request);
+        assertEquals(3, preview.getTimetablesCopied());
+        assertEquals(3 * 10, preview.getSlotsCopied());
+        assertEquals(1, preview.getTeacherAssignmentsCopied());
+        assertEquals(1, preview.getExamSetupsCopied());
+
+        request.setDryRun(false);
+        AcademicYearRolloverResponse done = rolloverService.rollover(request);
+        assertEquals(3, done.getTimetablesCopied());
+        assertEquals(3 * 10, done.getSlotsCopied());
+        assertEquals(1, done.getTeacherAssignmentsCopied());
+        assertEquals(1, done.getExamSetupsCopied());
+
+        Object examDate = transactionTemplate.execute(status -> entityManager.createNativeQuery(
+                "SELECT exam_date FROM exam_setup WHERE academic_year_id = 902").getSingleResult());
+        assertEquals("2026-10-05", examDate.toString()); // 52 weeks later, same weekday
+
+        // Copies live in another year, so the same teachers and rooms are not reported as conflicts;
+        // Hibernate keeps allocating slot ids around the reserved block
+        TimeTableResponse copy = timeTableService.create(request("Rollover D", "A", classId, subjectId, TO_YEAR + 1));
+        assertEquals(10, copy.getSlots().size());
+
+        AcademicYearRolloverResponse again = rolloverService.rollover(request);
+        assertEquals(0, again.getTimetablesCopied());
+        assertEquals(3, again.getTimetablesSkipped());
+        assertEquals(0, again.getSlotsCopied());
+        assertEquals(1, again.getTeacherAssignmentsSkipped());
+        assertEquals(1, again.getExamSetupsSkipped());
+        assertTrue(again.getElapsedMs() >= 0);
+    }
+
+    private TimeTableRequest request(String name, String section, Long classId, Long subjectId, int year) {
+        List<TimeSlotDTO> slots = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            for (int period = 0; period < 2; period++) {
+                slots.add(TimeSlotDTO.builder()
+                        .day(day)
+                        .startTime(String.format("%02d:00", 8 + period))
+                        .endTime(String.format("%02d:00", 9 + period))
+                        .subjectId(subjectId)
+                        .teacherId("Rollover " + section + period)
+                        .roomId("Rollover Room " + section)
+                        .build());
+            }
+        }
+        return TimeTableRequest.builder()
+                .timetableName(name)
+                .classId(classId)
+                .sectionId(classId)
+                .daysCoveredId(classId)
+                .academicYearId(year)
+                .slots(slots)
+                .build();
+    }
+}
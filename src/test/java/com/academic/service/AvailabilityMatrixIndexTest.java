@@ -0,0 +1,68 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import com.academic.service.AvailabilityMatrixIndex.Cell;
+import com.academic.service.AvailabilityMatrixIndex.ResourceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AvailabilityMatrixIndexTest {
+
+    // Monday and Tuesday, periods 09:00-10:00 and 10:00-11:00: bits 0..3
+    private static final List<Cell> CELLS = List.of(
+            new Cell(1, 540, 600), new Cell(1, 600, 660),
+            new Cell(2, 540, 600), new Cell(2, 600, 660));
+
+    private AvailabilityMatrixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AvailabilityMatrixIndex();
+        index.rebuild(List.of(
+                slot(10L, null, 1, 540, 600, "Mrs A", "R-1"),
+                slot(10L, null, 2, 630, 660, "Mr B", "R-1"),
+                slot(11L, 2026, 1, 600, 660, " mrs a ", "R-2")
+        ));
+    }
+
+    @Test
+    void setsBitsForCellsOverlappingABooking() {
+        Map<String, long[]> teachers = index.busyMatrix(ResourceType.TEACHER, null, CELLS);
+        assertEquals(List.of("Mr B", "Mrs A"), List.copyOf(teachers.keySet()));
+        assertArrayEquals(new long[]{0b0011}, teachers.get("Mrs A"));
+        assertArrayEquals(new long[]{0b1000}, teachers.get("Mr B"));
+
+        assertArrayEquals(new long[]{0b1001}, index.busyMatrix(ResourceType.ROOM, null, CELLS).get("R-1"));
+        assertArrayEquals(new long[]{0b1001}, index.busyMatrix(ResourceType.CLASS, null, CELLS).get("T10"));
+    }
+
+    @Test
+    void filtersByAcademicYear() {
+        assertArrayEquals(new long[]{0b0010}, index.busyMatrix(ResourceType.TEACHER, 2026, CELLS).get("Mrs A"));
+        assertArrayEquals(new long[]{0}, index.busyMatrix(ResourceType.TEACHER, 2026, CELLS).get("Mr B"));
+    }
+
+    @Test
+    void replacingATimetableRedrawsSharedResources() {
+        index.replaceTimetable(10L, List.of(slot(10L, null, 2, 540, 600, "Mr B", "R-1")));
+
+        Map<String, long[]> teachers = index.busyMatrix(ResourceType.TEACHER, null, CELLS);
+        assertArrayEquals(new long[]{0b0010}, teachers.get("Mrs A"));
+        assertArrayEquals(new long[]{0b0100}, teachers.get("Mr B"));
+
+        index.replaceTimetable(10L, List.of());
+        assertEquals(List.of("T11"), List.copyOf(index.busyMatrix(ResourceType.CLASS, null, CELLS).keySet()));
+        assertEquals(List.of("Mrs A"), List.copyOf(index.busyMatrix(ResourceType.TEACHER, null, CELLS).keySet()));
+        assertEquals(List.of("R-2"), List.copyOf(index.busyMatrix(ResourceType.ROOM, null, CELLS).keySet()));
+    }
+
+    private static SlotEntry slot(Long timetableId, Integer year, int day, int start, int end, String teacher, String room) {
+        return new SlotEntry(null, timetableId, "T" + timetableId, year, day, start, end, 1L, teacher, room);
+    }
+}
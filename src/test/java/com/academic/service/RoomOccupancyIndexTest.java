@@ -0,0 +1,58 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoomOccupancyIndexTest {
+
+    private RoomOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomOccupancyIndex();
+        index.rebuild(List.of(
+                slot(10L, 3, 540, 585, "R-1"),
+                slot(10L, 3, 600, 645, "Lab"),
+                slot(11L, 3, 540, 600, " r-1 "),
+                slot(11L, 4, 540, 600, "R-2")
+        ));
+    }
+
+    @Test
+    void listsRoomsWithoutOverlappingBookings() {
+        assertEquals(List.of("Lab", "R-2"), index.findFreeRooms(null, 3, 540, 600));
+        assertEquals(List.of("R-1", "R-2"), index.findFreeRooms(null, 3, 600, 645));
+        // Ranges touching a booking's end (or start) are free
+        assertEquals(List.of("Lab", "R-1", "R-2"), index.findFreeRooms(null, 3, 645, 700));
+        assertEquals(List.of("Lab", "R-1"), index.findFreeRooms(null, 4, 599, 600));
+    }
+
+    @Test
+    void replacingOneTimetableKeepsOtherBookingsOfTheSameRoom() {
+        index.replaceTimetable(10L, List.of(slot(10L, 3, 700, 760, "R-3")));
+
+        // R-1 is still booked by timetable 11 until 600
+        assertEquals(List.of("Lab", "R-2", "R-3"), index.findFreeRooms(null, 3, 540, 600));
+        assertEquals(List.of("Lab", "R-1", "R-2"), index.findFreeRooms(null, 3, 700, 701));
+
+        index.replaceTimetable(11L, List.of());
+        assertEquals(List.of("Lab", "R-1", "R-2", "R-3"), index.findFreeRooms(null, 3, 540, 600));
+    }
+
+    @Test
+    void handlesRangesAcrossBitmapWords() {
+        index.replaceTimetable(12L, List.of(slot(12L, 5, 0, 1440, "Hall")));
+
+        assertEquals(List.of("Lab", "R-1", "R-2"), index.findFreeRooms(null, 5, 1439, 1440));
+        assertEquals(List.of("Hall", "Lab", "R-1", "R-2"), index.findFreeRooms(null, 6, 0, 1440));
+    }
+
+    private static SlotEntry slot(Long timetableId, int day, int start, int end, String room) {
+        return new SlotEntry(null, timetableId, "T" + timetableId, null, day, start, end, 1L, null, room);
+    }
+}
@@ -0,0 +1,120 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import com.academic.response.SlotConflictResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleConflictIndexTest {
+
+    private ScheduleConflictIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ScheduleConflictIndex();
+        index.rebuild(List.of(
+                slot(1L, 10L, 1, 540, 600, "Mr. Rao", "R-1"),
+                slot(2L, 10L, 1, 600, 660, "Ms. Iyer", "R-1"),
+                slot(3L, 11L, 2, 540, 600, "Mr. Rao", "R-2")
+        ));
+    }
+
+    @Test
+    void detectsTeacherAndRoomOverlapsAcrossTimetables() {
+        List<SlotConflictResponse> conflicts = index.findConflicts(null, List.of(
+                slot(null, null, 1, 570, 630, " mr. rao ", "R-1")
+        ));
+
+        assertEquals(3, conflicts.size());
+        assertTrue(conflicts.stream().anyMatch(c -> c.getType().equals("TEACHER") && c.getConflictingSlotId() == 1L));
+        assertTrue(conflicts.stream().anyMatch(c -> c.getType().equals("ROOM") && c.getConflictingSlotId() == 2L));
+    }
+
+    @Test
+    void touchingSlotsAndOtherDaysDoNotConflict() {
+        assertTrue(index.findConflicts(null, List.of(
+                slot(null, null, 1, 660, 720, "Mr. Rao", "R-1"),
+                slot(null, null, 3, 540, 600, "Mr. Rao", "R-2")
+        )).isEmpty());
+    }
+
+    @Test
+    void ignoresOwnStoredSlotsAndTracksReplacements() {
+        assertTrue(index.findConflicts(10L, List.of(slot(null, 10L, 1, 540, 660, "Mr. Rao", "R-1"))).isEmpty());
+
+        index.replaceTimetable(10L, List.of());
+        assertTrue(index.findConflicts(null, List.of(slot(null, null, 1, 540, 600, "Mr. Rao", "R-1"))).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void detectsClashesWithinTheRequest() {
+        List<SlotConflictResponse> conflicts = index.findConflicts(null, List.of(
+                slot(null, null, 4, 540, 600, "Ms. Das", "R-9"),
+                slot(null, null, 4, 570, 630, "Ms. Das", "R-8")
+        ));
+
+        assertEquals(1, conflicts.size());
+        assertEquals("TEACHER", conflicts.get(0).getType());
+    }
+
+    @Test
+    void bookingLocksAreHeldUntilTheTransactionCompletes() throws Exception {
+        List<SlotEntry> booking = List.of(slot(null, null, 5, 540, 600, "Ms. Das", "R-9"));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch complete = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            index.lockUntilCompletion(booking);
+            locked.countDown();
+            await(complete);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch secondLocked = new CountDownLatch(1);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            index.lockUntilCompletion(List.of(slot(null, null, 5, 570, 630, " ms. das ", "R-7")));
+            secondLocked.countDown();
+        }));
+        assertFalse(secondLocked.await(200, TimeUnit.MILLISECONDS));
+
+        complete.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(0, secondLocked.getCount());
+    }
+
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SlotEntry slot(Long slotId, Long timetableId, int day, int start, int end, String teacher, String room) {
+        return new SlotEntry(slotId, timetableId, "TT-" + timetableId, null, day, start, end, 1L, teacher, room);
+    }
+}
@@ -0,0 +1,48 @@
+package com.academic.service;
+
+import com.academic.dto.SlotEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TeacherWorkloadIndexTest {
+
+    private TeacherWorkloadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TeacherWorkloadIndex();
+        index.rebuild(List.of(
+                slot(10L, 2026, 540, 600, "Mrs A"),
+                slot(10L, 2026, 600, 645, "Mr B"),
+                slot(11L, 2026, 540, 600, " mrs a "),
+                slot(11L, 2027, 600, 660, "Mrs A")
+        ));
+    }
+
+    @Test
+    void sumsMinutesPerTeacherAndYearAcrossTimetables() {
+        assertEquals(120, index.minutes(List.of("MRS A"), 2026, null));
+        assertEquals(60, index.minutes(List.of("Mrs A"), 2027, null));
+        assertEquals(60, index.minutes(List.of("Mrs A"), 2026, 11L));
+    }
+
+    @Test
+    void replacingATimetableSwapsOnlyItsContribution() {
+        index.replaceTimetable(10L, List.of(slot(10L, 2026, 540, 660, "Mr B")));
+        assertEquals(60, index.minutes(List.of("Mrs A"), 2026, null));
+        assertEquals(120, index.minutes(List.of("Mr B"), 2026, null));
+
+        index.replaceTimetable(10L, List.of());
+        assertEquals(0, index.minutes(List.of("Mr B"), 2026, null));
+        assertTrue(index.workloads(2026).stream().noneMatch(w -> w.teacher().equals("Mr B")));
+    }
+
+    private static SlotEntry slot(Long timetableId, Integer year, int start, int end, String teacher) {
+        return new SlotEntry(null, timetableId, "T" + timetableId, year, 1, start, end, 1L, teacher, "R-1");
+    }
+}
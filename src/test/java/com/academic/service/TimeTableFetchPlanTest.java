@@ -0,0 +1,115 @@
+package com.academic.service;
+
+import com.academic.entity.CommonMaster;
+import com.academic.repository.CommonMasterRepository;
+import com.academic.request.TimeSlotDTO;
+import com.academic.request.TimeTableRequest;
+import com.academic.response.TimeTableResponse;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TimeTableFetchPlanTest {
+
+    private static final int TIMETABLES = 30;
+
+    @Autowired
+    private TimeTableService timeTableService;
+
+    @Autowired
+    private CommonMasterRepository commonMasterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Integer classId = commonMasterRepository.save(new CommonMaster(null, "CLASS", "Class 1", true)).getId();
+        Integer sectionId = commonMasterRepository.save(new CommonMaster(null, "SECTION", "A", true)).getId();
+        Integer daysId = commonMasterRepository.save(new CommonMaster(null, "DAYS", "Mon-Fri", true)).getId();
+        List<Long> subjectIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            subjectIds.add(commonMasterRepository.save(new CommonMaster(null, "SUBJECT", "Subject " + i, true)).getId().longValue());
+        }
+
+        for (int t = 0; t < TIMETABLES; t++) {
+            List<TimeSlotDTO> slots = new ArrayList<>();
+            for (int day = 1; day <= 5; day++) {
+                for (int period = 0; period < 4; period++) {
+                    slots.add(TimeSlotDTO.builder()
+                            .day(day)
+                            .startTime(String.format("%02d:00", 9 + period))
+                            .endTime(String.format("%02d:00", 10 + period))
+                            .subjectId(subjectIds.get(period))
+                            .teacherId("T-" + t + "-" + period)
+                            .roomId("R-" + t)
+                            .build());
+                }
+            }
+            timeTableService.create(TimeTableRequest.builder()
+                    .timetableName("Timetable " + t)
+                    .classId(classId.longValue())
+                    .sectionId(sectionId.longValue())
+                    .daysCoveredId(daysId.longValue())
+                    .slots(slots)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listAllCostsConstantRoundTripsRegardlessOfPageSize() {
+        long smallPage = statementsFor(() -> timeTableService.listAll(1, 5, null, null, null));
+        long largePage = statementsFor(() -> timeTableService.listAll(1, 20, null, null, null));
+
+        // id page + count + timetables with slots
+        assertEquals(3, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void listAllReturnsSlotsForEveryTimetable() {
+        Map<String, Object> data = timeTableService.listAll(1, 20, null, null, null).getData();
+
+        List<?> content = (List<?>) data.get("content");
+        assertEquals(20, content.size());
+        content.forEach(row -> assertEquals(20, ((TimeTableResponse) row).getSlots().size()));
+    }
+
+    @Test
+    void getByIdLoadsTimetableAndSlotsInOneQuery() {
+        List<?> content = (List<?>) timeTableService.listAll(1, 1, null, null, null).getData().get("content");
+        Long id = ((TimeTableResponse) content.get(0)).getId();
+        entityManager.clear();
+
+        assertEquals(1, statementsFor(() -> timeTableService.get(id)));
+    }
+
+    private long statementsFor(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,127 @@
+package com.academic.service;
+
+import com.academic.entity.CommonMaster;
+import com.academic.exception.CustomException;
+import com.academic.repository.CommonMasterRepository;
+import com.academic.request.TimeSlotDTO;
+import com.academic.request.TimeTableRequest;
+import com.academic.response.TimeTableResponse;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips of saving a 48-slot timetable. With IDENTITY slot ids this was 51 statements
+ * (one INSERT per slot); with pooled ids and JDBC batching the slots go out as one batch.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TimeTableSaveBatchingTest {
+
+    private static final int DAYS = 6;
+    private static final int PERIODS = 8;
+
+    @Autowired
+    private TimeTableService timeTableService;
+
+    @Autowired
+    private CommonMasterRepository commonMasterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long classId;
+    private Long subjectId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        classId = commonMasterRepository.save(new CommonMaster(null, "CLASS", "Class 1", true)).getId().longValue();
+        subjectId = commonMasterRepository.save(new CommonMaster(null, "SUBJECT", "Maths", true)).getId().longValue();
+
+        // Warm-up save so the measured ones don't include one-off lookups
+        timeTableService.create(request("Warm-up", "W"));
+        entityManager.flush();
+    }
+
+    @Test
+    void createWritesSlotsInOneBatch() {
+        long statements = statementsFor(() -> timeTableService.create(request("Class 1 - A", "A")));
+
+        assertEquals(DAYS * PERIODS + 1, statistics.getEntityInsertCount());
+        // A handful of lookups, the timetable insert, one id block and one slot batch
+        assertTrue(statements <= 10, "statements: " + statements);
+    }
+
+    @Test
+    void updatingEverySlotIsBatchedToo() {
+        Long id = timeTableService.create(request("Class 1 - B", "B")).getId();
+        entityManager.flush();
+
+        TimeTableRequest changed = request("Class 1 - B", "B2");
+        long statements = statementsFor(() -> timeTableService.update(id, changed));
+
+        assertEquals(DAYS * PERIODS, statistics.getEntityUpdateCount());
+        assertTrue(statements <= 10, "statements: " + statements);
+    }
+
+    @Test
+    void aSlotIdSentTwiceIsRejected() {
+        TimeTableResponse created = timeTableService.create(request("Class 1 - C", "C"));
+        entityManager.flush();
+
+        TimeTableRequest changed = request("Class 1 - C", "C");
+        Long slotId = created.getSlots().get(0).getId();
+        changed.getSlots().get(0).setId(slotId);
+        changed.getSlots().get(1).setId(slotId);
+
+        CustomException error = assertThrows(CustomException.class, () -> timeTableService.update(created.getId(), changed));
+        assertEquals("INVALID_SLOT", error.getErrorCode());
+    }
+
+    private long statementsFor(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private TimeTableRequest request(String name, String teacherPrefix) {
+        List<TimeSlotDTO> slots = new ArrayList<>();
+        for (int day = 1; day <= DAYS; day++) {
+            for (int period = 0; period < PERIODS; period++) {
+                slots.add(TimeSlotDTO.builder()
+                        .day(day)
+                        .startTime(String.format("%02d:00", 8 + period))
+                        .endTime(String.format("%02d:00", 9 + period))
+                        .subjectId(subjectId)
+                        .teacherId(teacherPrefix + "-" + period)
+                        .roomId("Room " + teacherPrefix)
+                        .build());
+            }
+        }
+        return TimeTableRequest.builder()
+                .timetableName(name)
+                .classId(classId)
+                .sectionId(classId)
+                .daysCoveredId(classId)
+                .slots(slots)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.academic.service;
+
+import com.academic.entity.BellPeriod;
+import com.academic.entity.ClassSection;
+import com.academic.entity.CommonMaster;
+import com.academic.repository.BellPeriodRepository;
+import com.academic.repository.ClassSectionRepository;
+import com.academic.repository.CommonMasterRepository;
+import com.academic.request.AcademicYearRolloverRequest;
+import com.academic.request.TimetableGenerationRequest;
+import com.academic.response.TimetableGenerationJobResponse;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rollover commits its own transactions, so this test works on committed data and drops its
+ * context (and with it the in-memory database) afterwards
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class TimetableGenerationAfterRolloverTest {
+
+    private static final int CLASS_ID = 77;
+
+    @Autowired
+    private TimetableGenerationService generationService;
+
+    @Autowired
+    private AcademicYearRolloverService rolloverService;
+
+    @Autowired
+    private CommonMasterRepository commonMasterRepository;
+
+    @Autowired
+    private ClassSectionRepository classSectionRepository;
+
+    @Autowired
+    private BellPeriodRepository bellPeriodRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void plansOnlyTheAssignmentsOfTheRequestedYear() {
+        commonMasterRepository.save(new CommonMaster(null, "SUBJECT", "Generated Maths", true));
+        commonMasterRepository.save(new CommonMaster(null, "SUBJECT", "Generated Science", true));
+        for (int section = 1; section <= 2; section++) {
+            classSectionRepository.save(ClassSection.builder()
+                    .classId(CLASS_ID).section(section).classTeacher("Teacher " + section).roomNo("G-" + section)
+                    .isDeleted(false).build());
+        }
+        for (int period = 0; period < 8; period++) {
+            bellPeriodRepository.save(BellPeriod.builder()
+                    .periodName("Period " + (period + 1)).sequenceNo(period + 1)
+                    .startMinute(540 + period * 45).endMinute(585 + period * 45).build());
+        }
+        // Maths is taught in year 901 (and copied into 902 below); Science has no year
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery("""
+                INSERT INTO teacher_assignments (teacher_name, employee_id, subject, classes_involved, load_hours, status,
+                                                 academic_year_id, is_deleted)
+                VALUES ('Year Teacher', 'GEN-1', 'Generated Maths', '[77]' FORMAT JSON, 8, 'Active', 901, FALSE),
+                       ('Legacy Teacher', 'GEN-2', 'Generated Science', '[77]' FORMAT JSON, 4, 'Active', NULL, FALSE)
+                """).executeUpdate());
+
+        rolloverService.rollover(AcademicYearRolloverRequest.builder()
+                .fromAcademicYearId(901)
+                .toAcademicYearId(902)
+                .build());
+
+        // Per section: 8 Maths hours over two sections and 4 Science hours over two sections
+        TimetableGenerationJobResponse job = generationService.start(TimetableGenerationRequest.builder()
+                .daysCoveredId(1L)
+                .academicYearId(902)
+                .timeBudgetSeconds(1)
+                .persist(false)
+                .build());
+        assertEquals(2, job.getSections());
+        assertEquals(2 * (4 + 2), job.getLessons());
+    }
+}
@@ -0,0 +1,84 @@
+package com.academic.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimetableSolverTest {
+
+    private static final int DAYS = 5;
+    private static final int PERIODS = 8;
+
+    @Test
+    void findsClashFreeTimetablesForSharedTeachers() {
+        // 12 sections x 6 subjects x 6 periods a week = 36 of 40 slots per section; each teacher takes 3 sections
+        TimetableProblem.Builder builder = TimetableProblem.builder(DAYS, PERIODS);
+        for (int section = 0; section < 12; section++) {
+            for (int subject = 0; subject < 6; subject++) {
+                String teacher = "T" + subject + "-" + section / 3;
+                for (int n = 0; n < 6; n++) {
+                    builder.addLesson(section, teacher, "Room " + section, subject);
+                }
+            }
+        }
+        // Teacher T0-0 is already booked on Monday morning elsewhere
+        for (int period = 0; period < 4; period++) {
+            builder.blockTeacher("T0-0", 0, period);
+        }
+        TimetableProblem problem = builder.build();
+
+        AtomicLong iterations = new AtomicLong();
+        TimetableSolver.Solution solution = TimetableSolver.solve(problem, 4,
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(2), 42L, progress(iterations));
+
+        assertEquals(0, solution.hardViolations(), "score " + solution.score());
+        assertTrue(iterations.get() > 0);
+
+        Set<String> used = new HashSet<>();
+        for (int lesson = 0; lesson < problem.lessonCount(); lesson++) {
+            int slot = solution.slotOf()[lesson];
+            assertTrue(used.add("C" + problem.lessonClass[lesson] + "@" + slot));
+            assertTrue(used.add("T" + problem.lessonTeacher[lesson] + "@" + slot));
+            assertTrue(!problem.teacherBlocked[problem.lessonTeacher[lesson]][slot]);
+        }
+    }
+
+    @Test
+    void reportsViolationsWhenOverbooked() {
+        // 41 lessons for one class in 40 slots can never be clash-free
+        TimetableProblem.Builder builder = TimetableProblem.builder(DAYS, PERIODS);
+        for (int n = 0; n < 41; n++) {
+            builder.addLesson("C", "T" + n, null, n % 8);
+        }
+
+        TimetableSolver.Solution solution = TimetableSolver.solve(builder.build(), 2,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300), 7L, progress(new AtomicLong()));
+
+        assertEquals(1, solution.hardViolations());
+        assertNotEquals(0, solution.score());
+    }
+
+    private static TimetableSolver.Progress progress(AtomicLong iterations) {
+        return new TimetableSolver.Progress() {
+            @Override
+            public void iterations(long count) {
+                iterations.addAndGet(count);
+            }
+
+            @Override
+            public void restarted() {
+            }
+
+            @Override
+            public void improved(TimetableSolver.Solution best) {
+            }
+        };
+    }
+}
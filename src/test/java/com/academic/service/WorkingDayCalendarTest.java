@@ -0,0 +1,87 @@
+package com.academic.service;
+
+import com.academic.request.AcademicCalendarEventRequest;
+import com.academic.response.AcademicCalendarEventResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Events are written through the service so the calendar sees their commits; the context (and the
+ * in-memory database) is dropped afterwards
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class WorkingDayCalendarTest {
+
+    @Autowired
+    private AcademicCalendarEventService eventService;
+
+    @Autowired
+    private WorkingDayCalendar calendar;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void skipsWeekendsAndClosureEventsAndFollowsTheirChanges() {
+        AcademicCalendarEventResponse holiday = eventService.create(event("Holi", LocalDate.of(2026, 3, 2), "Holiday", null));
+        eventService.create(event("Mid-week break", LocalDate.of(2026, 3, 4), "Vacation", "FREQ=WEEKLY;BYDAY=WE;COUNT=2"));
+        eventService.create(event("Sports day", LocalDate.of(2026, 3, 6), "Activity", null));
+
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2026, 3, 2)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2026, 3, 6)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2026, 3, 7)));
+        // Ten weekdays minus the holiday and both Wednesdays of the break
+        assertEquals(7, calendar.countWorkingDays(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 13)));
+
+        assertEquals(LocalDate.of(2026, 3, 3), calendar.addWorkingDays(LocalDate.of(2026, 3, 2), 0));
+        assertEquals(LocalDate.of(2026, 3, 5), calendar.addWorkingDays(LocalDate.of(2026, 3, 3), 1));
+        assertEquals(LocalDate.of(2026, 3, 3), calendar.addWorkingDays(LocalDate.of(2026, 3, 5), -1));
+        assertEquals(LocalDate.of(2027, 1, 4), calendar.addWorkingDays(LocalDate.of(2026, 12, 31), 2));
+
+        deleteThroughService(holiday.id());
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2026, 3, 2)));
+        assertEquals(8, calendar.countWorkingDays(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 13)));
+    }
+
+    @Test
+    void closesEveryDayOfAMultiDayClosureAcrossTheYearEnd() {
+        AcademicCalendarEventResponse winterBreak = eventService.create(
+                event("Winter break", LocalDate.of(2026, 12, 28), "Vacation", "2 weeks", null));
+
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2026, 12, 28)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2027, 1, 8)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2027, 1, 11)));
+        assertEquals(LocalDate.of(2027, 1, 11), calendar.addWorkingDays(LocalDate.of(2026, 12, 25), 1));
+
+        deleteThroughService(winterBreak.id());
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2027, 1, 8)));
+        assertEquals(LocalDate.of(2026, 12, 28), calendar.addWorkingDays(LocalDate.of(2026, 12, 25), 1));
+    }
+
+    // H2 stores the class list as a JSON string the converter cannot read back, so it is cleared first
+    private void deleteThroughService(Long id) {
+        jdbcTemplate.update("UPDATE academic_calendar_events SET classes_involved = NULL WHERE id = ?", id);
+        eventService.delete(id);
+    }
+
+    private static AcademicCalendarEventRequest event(String name, LocalDate date, String type, String rule) {
+        return event(name, date, type, null, rule);
+    }
+
+    private static AcademicCalendarEventRequest event(String name, LocalDate date, String type, String duration, String rule) {
+        return new AcademicCalendarEventRequest(name, date, type, List.of(1L), duration, "Active", rule, null);
+    }
+}
@@ -0,0 +1,66 @@
+package com.academic.utility;
+
+import com.academic.exception.CustomException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void expandsOnlyTheRequestedWindow() {
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:FREQ=WEEKLY;BYDAY=TH,MO");
+        assertEquals("FREQ=WEEKLY;BYDAY=MO,TH", rule.toString());
+        assertEquals(List.of(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 9)),
+                expand(rule, MONDAY, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 10)));
+
+        RecurrenceRule fortnightly = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2");
+        assertEquals(List.of(LocalDate.of(2026, 1, 19), LocalDate.of(2026, 2, 2)),
+                expand(fortnightly, MONDAY, LocalDate.of(2026, 1, 6), LocalDate.of(2026, 2, 10)));
+    }
+
+    @Test
+    void countBecomesTheUntilOfTheLastOccurrence() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,TH;COUNT=3").withCountAsUntil(MONDAY);
+        assertEquals(LocalDate.of(2026, 1, 12), rule.lastOccurrence(MONDAY));
+        assertEquals("FREQ=WEEKLY;BYDAY=MO,TH;UNTIL=20260112", rule.toString());
+        assertFalse(rule.occursOn(MONDAY, LocalDate.of(2026, 1, 15)));
+    }
+
+    @Test
+    void countThatIsNeverReachedIsRejectedQuickly() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=31;INTERVAL=12;COUNT=2");
+        LocalDate start = LocalDate.of(2025, 4, 15);
+        assertFalse(rule.occursOn(start, start));
+        assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> assertThrows(CustomException.class, () -> rule.withCountAsUntil(start)));
+    }
+
+    @Test
+    void monthlySkipsMonthsWithoutTheDay() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY");
+        LocalDate start = LocalDate.of(2026, 1, 31);
+        assertEquals(List.of(start, LocalDate.of(2026, 3, 31), LocalDate.of(2026, 5, 31)),
+                expand(rule, start, start, LocalDate.of(2026, 6, 15)));
+    }
+
+    @Test
+    void rejectsUnsupportedRules() {
+        assertThrows(CustomException.class, () -> RecurrenceRule.parse("FREQ=HOURLY"));
+        assertThrows(CustomException.class, () -> RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO"));
+        assertThrows(CustomException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20270101"));
+    }
+
+    private static List<LocalDate> expand(RecurrenceRule rule, LocalDate start, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        rule.forEach(start, from, to, dates::add);
+        return dates;
+    }
+}